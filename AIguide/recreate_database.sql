@@ -206,6 +206,7 @@ CREATE TABLE appointments (
     cancelled_at DATETIME2,
     cancelled_by BIGINT,
     cancellation_reason NVARCHAR(500) COLLATE SQL_Latin1_General_CP1_CI_AS,
+    reminder_sent_at DATETIME2,
     FOREIGN KEY (client_id) REFERENCES users(id),
     FOREIGN KEY (consultant_id) REFERENCES users(id),
     FOREIGN KEY (cancelled_by) REFERENCES users(id)
@@ -230,9 +231,16 @@ CREATE TABLE payments (
     paid_at DATETIME2,
     refunded_at DATETIME2,
     refund_reason NVARCHAR(500),
+    txn_ref NVARCHAR(40),
+    order_type NVARCHAR(20),
+    target_id BIGINT,
     FOREIGN KEY (appointment_id) REFERENCES appointments(id),
     FOREIGN KEY (user_id) REFERENCES users(id)
 );
+-- Filtered, so payments without a txn_ref do not collide on NULL
+CREATE UNIQUE INDEX ux_payments_txn_ref ON payments(txn_ref) WHERE txn_ref IS NOT NULL;
+-- Order numbers for txn_ref, handed out in blocks of 50
+CREATE SEQUENCE payment_order_seq AS BIGINT START WITH 1 INCREMENT BY 50;
 
 -- 13. BLOGS
 CREATE TABLE blogs (
@@ -273,6 +281,44 @@ CREATE TABLE recommendations (
     FOREIGN KEY (assessment_result_id) REFERENCES assessment_results(id)
 );
 
+-- 15. NOTIFICATIONS
+CREATE TABLE notifications (
+    id BIGINT IDENTITY(1,1) PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    type NVARCHAR(50) NOT NULL,
+    title NVARCHAR(255),
+    message NVARCHAR(1000),
+    reference_id BIGINT,
+    is_read BIT DEFAULT 0,
+    created_at DATETIME2,
+    read_at DATETIME2
+);
+CREATE INDEX idx_notifications_user_created ON notifications(user_id, created_at);
+
+-- 16. APPOINTMENT SLOTS (one row per consultant hour held by a PENDING, CONFIRMED or RESCHEDULED appointment)
+CREATE TABLE appointment_slots (
+    id BIGINT IDENTITY(1,1) PRIMARY KEY,
+    consultant_id BIGINT NOT NULL,
+    slot_start DATETIME2 NOT NULL,
+    appointment_id BIGINT NOT NULL,
+    created_at DATETIME2,
+    CONSTRAINT uk_appointment_slots_consultant_slot UNIQUE (consultant_id, slot_start),
+    CONSTRAINT uk_appointment_slots_appointment UNIQUE (appointment_id)
+);
+
+-- 17. PAYMENT IPN EVENTS (one row per applied VNPay event; replays hit the unique key)
+CREATE TABLE payment_ipn_events (
+    id BIGINT IDENTITY(1,1) PRIMARY KEY,
+    txn_ref NVARCHAR(100) NOT NULL,
+    transaction_no NVARCHAR(100) NOT NULL,
+    response_code NVARCHAR(10),
+    status NVARCHAR(20), -- APPLIED, IGNORED, REFUND_REQUIRED
+    gateway_response NVARCHAR(MAX),
+    received_at DATETIME2,
+    processed_at DATETIME2,
+    CONSTRAINT uk_payment_ipn_events_txn UNIQUE (txn_ref, transaction_no)
+);
+
 -- =============================================
 -- CREATE TRIGGERS FOR UPDATED_AT TIMESTAMPS
 -- =============================================
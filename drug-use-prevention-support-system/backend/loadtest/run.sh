@@ -0,0 +1,80 @@
+#!/usr/bin/env bash
+# Runs scenario.js against the backend once with platform request threads and once with virtual
+# threads, at the same fixed Hikari pool size and heap, and prints throughput and p99 latency.
+# See README.md for the required environment.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+: "${SPRING_DATASOURCE_URL:?set SPRING_DATASOURCE_URL (and _USERNAME/_PASSWORD) to the test database}"
+: "${LOADTEST_USERNAME:?set LOADTEST_USERNAME to an existing USER account}"
+: "${LOADTEST_PASSWORD:?set LOADTEST_PASSWORD}"
+
+POOL_SIZE="${POOL_SIZE:-20}"
+VUS="${VUS:-200}"
+DURATION="${DURATION:-2m}"
+WARMUP="${WARMUP:-30s}"
+PORT="${PORT:-8080}"
+JAVA_OPTS="${JAVA_OPTS:--Xms1g -Xmx1g}"
+RESULTS="loadtest/results"
+
+if ! ls target/drug-be-*.jar >/dev/null 2>&1; then
+    ./mvnw -q -DskipTests package
+fi
+JAR="$(ls target/drug-be-*.jar | head -n 1)"
+mkdir -p "$RESULTS"
+
+APP_PID=""
+stop_app() {
+    if [ -n "$APP_PID" ]; then
+        kill "$APP_PID" 2>/dev/null || true
+        wait "$APP_PID" 2>/dev/null || true
+        APP_PID=""
+    fi
+}
+trap stop_app EXIT
+
+for VIRTUAL in false true; do
+    MODE="$([ "$VIRTUAL" = true ] && echo virtual || echo platform)"
+    echo "== $MODE threads, Hikari pool $POOL_SIZE, $VUS VUs for $DURATION"
+
+    # minimum-idle = maximum-pool-size keeps the pool at a fixed size for the whole run
+    java $JAVA_OPTS -jar "$JAR" \
+        --server.port="$PORT" \
+        --spring.threads.virtual.enabled="$VIRTUAL" \
+        --spring.datasource.hikari.maximum-pool-size="$POOL_SIZE" \
+        --spring.datasource.hikari.minimum-idle="$POOL_SIZE" \
+        > "$RESULTS/app-$MODE.log" 2>&1 &
+    APP_PID=$!
+
+    for _ in $(seq 1 120); do
+        if curl -fs "http://localhost:$PORT/api/courses/health" >/dev/null; then
+            break
+        fi
+        sleep 1
+    done
+    curl -fs "http://localhost:$PORT/api/courses/health" >/dev/null \
+        || { echo "backend did not start, see $RESULTS/app-$MODE.log"; exit 1; }
+
+    # Warm up the JIT and caches; these numbers are discarded
+    k6 run --quiet -e BASE_URL="http://localhost:$PORT" -e VUS=20 -e DURATION="$WARMUP" \
+        loadtest/scenario.js > /dev/null || true
+
+    # A failed threshold exits non-zero; the summary is still written and compared below
+    k6 run -e BASE_URL="http://localhost:$PORT" -e VUS="$VUS" -e DURATION="$DURATION" \
+        --summary-export "$RESULTS/summary-$MODE.json" \
+        loadtest/scenario.js | tee "$RESULTS/k6-$MODE.txt" || true
+
+    stop_app
+done
+
+echo
+printf '%-10s %12s %12s %12s %10s\n' mode 'req/s' 'p50 ms' 'p99 ms' failed
+for MODE in platform virtual; do
+    jq -r --arg mode "$MODE" '[$mode,
+            (.metrics.http_reqs.rate | . * 10 | round / 10),
+            (.metrics.http_req_duration["p(50)"] | . * 10 | round / 10),
+            (.metrics.http_req_duration["p(99)"] | . * 10 | round / 10),
+            (.metrics.http_req_failed.value * 100 | tostring + "%")] | @tsv' \
+        "$RESULTS/summary-$MODE.json" | awk -F'\t' '{ printf "%-10s %12s %12s %12s %10s\n", $1, $2, $3, $4, $5 }'
+done
@@ -0,0 +1,85 @@
+// k6 scenario for comparing platform and virtual request threads (see README.md).
+// A fixed number of virtual users loop over a mix of catalogue reads, search, assessment
+// questions, a user's upcoming appointments and assessment submissions, with no think time,
+// so throughput is bounded by the server and its connection pool.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const ASSESSMENT_ID = __ENV.ASSESSMENT_ID || '1';
+const SEARCH_TERMS = ['ma tuy', 'phong ngua', 'tu van', 'cai nghien', 'thanh thieu nien'];
+
+export const options = {
+    scenarios: {
+        load: {
+            executor: 'constant-vus',
+            vus: Number(__ENV.VUS || 200),
+            duration: __ENV.DURATION || '2m',
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+    // Thresholds on each request name also make k6 report per-endpoint latency in the summary
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+        'http_req_duration{name:courses}': ['p(99)<2000'],
+        'http_req_duration{name:search}': ['p(99)<2000'],
+        'http_req_duration{name:questions}': ['p(99)<2000'],
+        'http_req_duration{name:upcoming}': ['p(99)<2000'],
+        'http_req_duration{name:submit}': ['p(99)<2000'],
+    },
+};
+
+// Logs in once and loads the question ids used for submissions
+export function setup() {
+    const login = http.post(`${BASE_URL}/api/auth/login`, JSON.stringify({
+        username: __ENV.LOADTEST_USERNAME,
+        password: __ENV.LOADTEST_PASSWORD,
+    }), { headers: { 'Content-Type': 'application/json' } });
+    if (login.status !== 200) {
+        throw new Error(`Login failed with status ${login.status}: ${login.body}`);
+    }
+
+    const questions = http.get(`${BASE_URL}/api/assessments/${ASSESSMENT_ID}/questions`);
+    if (questions.status !== 200) {
+        throw new Error(`Assessment ${ASSESSMENT_ID} has no questions (status ${questions.status})`);
+    }
+    const body = questions.json();
+    const list = Array.isArray(body) ? body : body.questions;
+
+    return {
+        token: login.json('token'),
+        userId: login.json('user.id'),
+        questionIds: list.map((question) => question.id),
+    };
+}
+
+export default function (data) {
+    const auth = { headers: { Authorization: `Bearer ${data.token}`, 'Content-Type': 'application/json' } };
+    const pick = Math.random();
+
+    let response;
+    if (pick < 0.30) {
+        response = http.get(`${BASE_URL}/api/courses?limit=20`, { tags: { name: 'courses' } });
+    } else if (pick < 0.55) {
+        const term = SEARCH_TERMS[Math.floor(Math.random() * SEARCH_TERMS.length)];
+        response = http.get(`${BASE_URL}/api/search?q=${encodeURIComponent(term)}`, { tags: { name: 'search' } });
+    } else if (pick < 0.75) {
+        response = http.get(`${BASE_URL}/api/assessments/${ASSESSMENT_ID}/questions`, { tags: { name: 'questions' } });
+    } else if (pick < 0.90) {
+        response = http.get(`${BASE_URL}/api/appointments/client/${data.userId}/upcoming`,
+            Object.assign({ tags: { name: 'upcoming' } }, auth));
+    } else {
+        const submission = {
+            assessmentId: Number(ASSESSMENT_ID),
+            userId: data.userId,
+            answers: data.questionIds.map((questionId) => {
+                const value = Math.floor(Math.random() * 4);
+                return { questionId: questionId, answerValue: value, answerText: `Option ${value}` };
+            }),
+        };
+        response = http.post(`${BASE_URL}/api/assessments/submit`, JSON.stringify(submission),
+            Object.assign({ tags: { name: 'submit' } }, auth));
+    }
+
+    check(response, { 'status is 200': (r) => r.status === 200 });
+}
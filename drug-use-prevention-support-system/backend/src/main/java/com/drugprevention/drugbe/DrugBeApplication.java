@@ -7,11 +7,13 @@ import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @ComponentScan(basePackages = "com.drugprevention.drugbe")
 @EntityScan("com.drugprevention.drugbe.entity")
 @EnableJpaRepositories("com.drugprevention.drugbe.repository")
+@EnableScheduling
 public class DrugBeApplication {
 
     public static void main(String[] args) {
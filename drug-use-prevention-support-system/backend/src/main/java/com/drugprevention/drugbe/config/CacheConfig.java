@@ -0,0 +1,83 @@
+package com.drugprevention.drugbe.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.util.OptionalLong;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate second-level and query cache for reference data, held in bounded in-process
+ * Caffeine caches. Only entities marked @Cacheable use it: roles, categories, assessment types
+ * and assessments. Entity regions expire after a TTL, so writes made by another instance are
+ * picked up at the latest then; the update-timestamps region never expires, as the query cache
+ * relies on it to detect stale results.
+ */
+@Configuration
+public class CacheConfig {
+
+    public static final String ROLES = "roles";
+    public static final String CATEGORIES = "categories";
+    public static final String ASSESSMENT_TYPES = "assessmentTypes";
+    public static final String ASSESSMENTS = "assessments";
+
+    public static final String QUERY_RESULTS = "default-query-results-region";
+    public static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+
+    public static final String[] ENTITY_REGIONS = {ROLES, CATEGORIES, ASSESSMENT_TYPES, ASSESSMENTS};
+
+    @Value("${cache.reference.max-entries:1000}")
+    private long referenceMaxEntries;
+
+    @Value("${cache.reference.ttl-seconds:3600}")
+    private long referenceTtlSeconds;
+
+    @Value("${cache.query.max-entries:2000}")
+    private long queryMaxEntries;
+
+    @Value("${cache.query.ttl-seconds:600}")
+    private long queryTtlSeconds;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(),
+                CacheConfig.class.getClassLoader(), new Properties());
+        for (String region : ENTITY_REGIONS) {
+            cacheManager.createCache(region, region(referenceMaxEntries, referenceTtlSeconds));
+        }
+        cacheManager.createCache(QUERY_RESULTS, region(queryMaxEntries, queryTtlSeconds));
+        // Unbounded by design: one entry per table, and losing one could serve stale query results
+        cacheManager.createCache(UPDATE_TIMESTAMPS, new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheProperties(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put("hibernate.cache.use_second_level_cache", true);
+            properties.put("hibernate.cache.use_query_cache", true);
+            properties.put("hibernate.cache.region.factory_class", "jcache");
+            properties.put("hibernate.javax.cache.cache_manager", hibernateCacheManager);
+            properties.put("hibernate.javax.cache.missing_cache_strategy", "fail");
+            // Per-region hit and miss counts for the admin cache endpoint
+            properties.put("hibernate.generate_statistics", true);
+            properties.put("hibernate.session.events.log", false);
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maxEntries, long ttlSeconds) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        return configuration;
+    }
+}
@@ -2,6 +2,7 @@ package com.drugprevention.drugbe.config;
 
 import com.drugprevention.drugbe.entity.Role;
 import com.drugprevention.drugbe.repository.RoleRepository;
+import com.drugprevention.drugbe.service.AppointmentSlotReservationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,10 +17,14 @@ public class DataInitializer implements CommandLineRunner {
     @Autowired
     private RoleRepository roleRepository;
     
+    @Autowired
+    private AppointmentSlotReservationService appointmentSlotReservationService;
+    
     @Override
     public void run(String... args) throws Exception {
         logger.info("Initializing basic data...");
         createRolesIfNotExist();
+        appointmentSlotReservationService.backfillReservations();
         logger.info("Data initialization completed.");
     }
     
@@ -1,6 +1,8 @@
 package com.drugprevention.drugbe.config;
 
+import com.drugprevention.drugbe.service.JwtPrincipalCache;
 import com.drugprevention.drugbe.service.JwtService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -27,10 +29,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final JwtPrincipalCache principalCache;
 
-    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService,
+                                   JwtPrincipalCache principalCache) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.principalCache = principalCache;
     }
 
     @Override
@@ -41,7 +46,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     ) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String username;
         
         String requestPath = request.getRequestURI();
         logger.debug("Processing request: {} {}", request.getMethod(), requestPath);
@@ -60,33 +64,50 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         
         jwt = authHeader.substring(7);
-        logger.debug("JWT token found, extracting username...");
+        
+        if (SecurityContextHolder.getContext().getAuthentication() != null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
         
         try {
-            username = jwtService.extractUsername(jwt);
-            logger.debug("Username extracted from token: {}", username);
-            
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-                logger.debug("User details loaded: username={}, authorities={}", 
-                    userDetails.getUsername(), userDetails.getAuthorities());
+            // Fast path: token already verified and principal resolved by an earlier request
+            UserDetails userDetails = principalCache.get(jwt);
+            if (userDetails != null) {
+                logger.debug("Using cached principal for user: {}", userDetails.getUsername());
+            } else {
+                logger.debug("JWT token found, validating...");
+                Claims claims = jwtService.validateToken(jwt);
+                String username = claims.getSubject();
+                logger.debug("Username extracted from token: {}", username);
                 
-                if (jwtService.isTokenValid(jwt, userDetails.getUsername())) {
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities()
-                    );
-                    authToken.setDetails(
-                            new WebAuthenticationDetailsSource().buildDetails(request)
-                    );
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                    logger.debug("Authentication set successfully for user: {} with authorities: {}", 
-                        username, userDetails.getAuthorities());
-                } else {
-                    logger.warn("Token validation failed for user: {}", username);
+                if (username != null) {
+                    userDetails = this.userDetailsService.loadUserByUsername(username);
+                    logger.debug("User details loaded: username={}, authorities={}", 
+                        userDetails.getUsername(), userDetails.getAuthorities());
+                    
+                    if (username.equals(userDetails.getUsername())) {
+                        principalCache.put(jwt, userDetails, claims.getExpiration());
+                    } else {
+                        logger.warn("Token validation failed for user: {}", username);
+                        userDetails = null;
+                    }
                 }
             }
+            
+            if (userDetails != null) {
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                        userDetails,
+                        null,
+                        userDetails.getAuthorities()
+                );
+                authToken.setDetails(
+                        new WebAuthenticationDetailsSource().buildDetails(request)
+                );
+                SecurityContextHolder.getContext().setAuthentication(authToken);
+                logger.debug("Authentication set successfully for user: {} with authorities: {}", 
+                    userDetails.getUsername(), userDetails.getAuthorities());
+            }
         } catch (Exception e) {
             logger.error("JWT authentication error for request: {} - {}", requestPath, e.getMessage());
         }
@@ -0,0 +1,46 @@
+package com.drugprevention.drugbe.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Thread mode of the application.
+ * With spring.threads.virtual.enabled=true Spring Boot serves Tomcat requests and runs @Scheduled
+ * tasks on virtual threads; the background writers and timers created through this class follow
+ * the same setting. Otherwise they are named daemon platform threads. In virtual mode, blocking
+ * JDBC calls are limited by the connection pool rather than the request thread pool, and code
+ * that blocks must not hold a monitor (synchronized) while it waits, as that pins the carrier.
+ */
+@Component
+public class ThreadingConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThreadingConfig.class);
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @PostConstruct
+    void logMode() {
+        logger.info("Request and background threads run on {} threads", virtualThreads ? "virtual" : "platform");
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public ThreadFactory threadFactory(String name) {
+        if (virtualThreads) {
+            return Thread.ofVirtual().name(name).factory();
+        }
+        return Thread.ofPlatform().name(name).daemon(true).factory();
+    }
+
+    public Thread newThread(String name, Runnable task) {
+        return threadFactory(name).newThread(task);
+    }
+}
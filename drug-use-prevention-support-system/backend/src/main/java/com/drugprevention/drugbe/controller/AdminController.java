@@ -5,6 +5,8 @@ import com.drugprevention.drugbe.service.UserService;
 import com.drugprevention.drugbe.service.CourseService;
 import com.drugprevention.drugbe.service.AppointmentService;
 import com.drugprevention.drugbe.service.AssessmentResultService;
+import com.drugprevention.drugbe.service.StatisticsService;
+import com.drugprevention.drugbe.service.ReferenceDataCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -34,6 +36,12 @@ public class AdminController {
     
     @Autowired
     private AssessmentResultService assessmentResultService;
+    
+    @Autowired
+    private StatisticsService statisticsService;
+    
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
 
     @GetMapping("/health")
     public ResponseEntity<String> health() {
@@ -47,36 +55,11 @@ public class AdminController {
             Map<String, Object> stats = new HashMap<>();
             
             // User statistics
-            List<com.drugprevention.drugbe.dto.UserDTO> allUsers = userService.getAllUsersDTO();
-            List<com.drugprevention.drugbe.dto.UserDTO> consultants = userService.getConsultantsDTO();
-            
-            long totalUsers = allUsers.size();
-            long totalConsultants = consultants.size();
-            long totalRegularUsers = allUsers.stream()
-                .filter(user -> "USER".equals(user.getRole().getName()))
-                .count();
-            
-            stats.put("userStats", Map.of(
-                "totalUsers", totalUsers,
-                "totalConsultants", totalConsultants,
-                "totalRegularUsers", totalRegularUsers,
-                "activeUsers", allUsers.stream().count() // All users since we're using DTOs of active users
-            ));
+            stats.put("userStats", statisticsService.getUserStatistics());
             
             // Course statistics
             try {
-                List<com.drugprevention.drugbe.entity.Course> allCourses = courseService.getAllCourses();
-                List<com.drugprevention.drugbe.entity.Course> activeCourses = courseService.getActiveCourses();
-                
-                stats.put("courseStats", Map.of(
-                    "totalCourses", allCourses.size(),
-                    "activeCourses", activeCourses.size(),
-                    "inactiveCourses", allCourses.size() - activeCourses.size(),
-                    "averageParticipants", activeCourses.stream()
-                        .mapToInt(course -> course.getCurrentParticipants() != null ? course.getCurrentParticipants() : 0)
-                        .average()
-                        .orElse(0.0)
-                ));
+                stats.put("courseStats", statisticsService.getCourseStatistics());
             } catch (Exception e) {
                 stats.put("courseStats", Map.of(
                     "error", "Unable to fetch course statistics",
@@ -87,22 +70,7 @@ public class AdminController {
             
             // Appointment statistics
             try {
-                List<com.drugprevention.drugbe.dto.AppointmentDTO> allAppointments = appointmentService.getAllAppointments();
-                long completedAppointments = allAppointments.stream()
-                    .filter(apt -> "COMPLETED".equals(apt.getStatus()))
-                    .count();
-                long pendingAppointments = allAppointments.stream()
-                    .filter(apt -> "PENDING".equals(apt.getStatus()))
-                    .count();
-                
-                stats.put("appointmentStats", Map.of(
-                    "totalAppointments", allAppointments.size(),
-                    "completedAppointments", completedAppointments,
-                    "pendingAppointments", pendingAppointments,
-                    "cancelledAppointments", allAppointments.stream()
-                        .filter(apt -> "CANCELLED".equals(apt.getStatus()))
-                        .count()
-                ));
+                stats.put("appointmentStats", statisticsService.getAppointmentStatistics());
             } catch (Exception e) {
                 stats.put("appointmentStats", Map.of(
                     "error", "Unable to fetch appointment statistics",
@@ -112,15 +80,7 @@ public class AdminController {
             
             // Assessment statistics
             try {
-                List<com.drugprevention.drugbe.dto.AssessmentResultDTO> allResults = assessmentResultService.getAllResults();
-                stats.put("assessmentStats", Map.of(
-                    "totalAssessments", allResults.size(),
-                    "completedToday", 0, // Would need date filtering
-                    "averageScore", allResults.stream()
-                        .mapToDouble(result -> result.getTotalScore() != null ? result.getTotalScore().doubleValue() : 0.0)
-                        .average()
-                        .orElse(0.0)
-                ));
+                stats.put("assessmentStats", statisticsService.getAssessmentStatistics());
             } catch (Exception e) {
                 stats.put("assessmentStats", Map.of(
                     "error", "Unable to fetch assessment statistics",
@@ -211,13 +171,7 @@ public class AdminController {
     @GetMapping("/statistics/users/by-role")
     public ResponseEntity<?> getUserStatsByRole() {
         try {
-            List<com.drugprevention.drugbe.dto.UserDTO> allUsers = userService.getAllUsersDTO();
-            Map<String, Long> roleStats = new HashMap<>();
-            
-            allUsers.forEach(user -> {
-                String roleName = user.getRole() != null ? user.getRole().getName() : "UNKNOWN";
-                roleStats.merge(roleName, 1L, Long::sum);
-            });
+            Map<String, Long> roleStats = statisticsService.getUsersByRole();
             
             return ResponseEntity.ok(Map.of(
                 "success", true,
@@ -236,30 +190,10 @@ public class AdminController {
     @GetMapping("/statistics/courses/performance")
     public ResponseEntity<?> getCoursePerformanceStats() {
         try {
-            List<com.drugprevention.drugbe.entity.Course> courses = courseService.getAllCourses();
-            
-            // Calculate various course metrics
-            Map<String, Object> performanceStats = new HashMap<>();
-            performanceStats.put("totalCourses", courses.size());
-            performanceStats.put("averageParticipants", courses.stream()
-                .filter(course -> course.getCurrentParticipants() != null)
-                .mapToInt(com.drugprevention.drugbe.entity.Course::getCurrentParticipants)
-                .average()
-                .orElse(0.0));
-            performanceStats.put("highestEnrollment", courses.stream()
-                .filter(course -> course.getCurrentParticipants() != null)
-                .mapToInt(com.drugprevention.drugbe.entity.Course::getCurrentParticipants)
-                .max()
-                .orElse(0));
+            // Course totals are maintained incrementally by StatisticsService
+            Map<String, Object> performanceStats = statisticsService.getCoursePerformanceStatistics();
             // Full courses count - UPDATED: Always 0 since unlimited enrollment
             int fullCoursesCount = 0; // No longer tracking full courses
-            /* OLD LOGIC:
-            int fullCoursesCount = (int) courses.stream()
-                .filter(course -> course.getCurrentParticipants() != null &&
-                        course.getMaxParticipants() != null &&
-                        course.getCurrentParticipants().equals(course.getMaxParticipants()))
-                .count();
-            */
             performanceStats.put("coursesWithFullCapacity", fullCoursesCount);
             
             return ResponseEntity.ok(Map.of(
@@ -279,13 +213,7 @@ public class AdminController {
     @GetMapping("/statistics/appointments/status")
     public ResponseEntity<?> getAppointmentStatusStats() {
         try {
-            List<com.drugprevention.drugbe.dto.AppointmentDTO> appointments = appointmentService.getAllAppointments();
-            Map<String, Long> statusStats = new HashMap<>();
-            
-            appointments.forEach(appointment -> {
-                String status = appointment.getStatus() != null ? appointment.getStatus() : "UNKNOWN";
-                statusStats.merge(status, 1L, Long::sum);
-            });
+            Map<String, Long> statusStats = statisticsService.getAppointmentsByStatus();
             
             return ResponseEntity.ok(Map.of(
                 "success", true,
@@ -300,4 +228,22 @@ public class AdminController {
             ));
         }
     }
+
+    // Hit rates of the second-level cache for roles, categories, assessment types and assessments
+    @GetMapping("/statistics/cache")
+    public ResponseEntity<?> getCacheStats() {
+        try {
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "data", referenceDataCache.getStatistics(),
+                "message", "Cache statistics retrieved successfully"
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(Map.of(
+                "success", false,
+                "error", "Failed to retrieve cache statistics",
+                "details", e.getMessage()
+            ));
+        }
+    }
 } 
\ No newline at end of file
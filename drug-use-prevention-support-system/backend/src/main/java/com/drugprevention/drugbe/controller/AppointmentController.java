@@ -4,6 +4,7 @@ import com.drugprevention.drugbe.dto.AppointmentDTO;
 import com.drugprevention.drugbe.dto.CreateAppointmentRequest;
 import com.drugprevention.drugbe.dto.RescheduleRequest;
 import com.drugprevention.drugbe.service.AppointmentService;
+import com.drugprevention.drugbe.service.AppointmentSweeper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -33,6 +34,9 @@ public class AppointmentController {
     @Autowired
     private AuthService authService;
 
+    @Autowired
+    private AppointmentSweeper appointmentSweeper;
+
     // ===== HEALTH CHECK =====
 
     @GetMapping("/health")
@@ -371,8 +375,12 @@ public class AppointmentController {
     @GetMapping("/admin/all")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     @Operation(summary = "Get all appointments (Admin)", description = "Get all appointments in system")
-    public ResponseEntity<?> getAllAppointments() {
+    public ResponseEntity<?> getAllAppointments(@RequestParam(required = false) Integer limit,
+                                                @RequestParam(required = false) String cursor) {
         try {
+            if (limit != null || cursor != null) {
+                return ResponseEntity.ok(appointmentService.getAppointmentsPage(cursor, limit));
+            }
             List<AppointmentDTO> appointments = appointmentService.getAllAppointments();
             return ResponseEntity.ok(appointments);
         } catch (Exception e) {
@@ -508,8 +516,8 @@ public class AppointmentController {
     @Operation(summary = "Auto complete past appointments", description = "Automatically complete past appointments")
     public ResponseEntity<?> autoCompletePastAppointments() {
         try {
-            appointmentService.autoCompletePastAppointments();
-            return ResponseEntity.ok(Map.of("message", "Automatically completed overdue appointments"));
+            int completed = appointmentService.autoCompletePastAppointments();
+            return ResponseEntity.ok(Map.of("message", "Automatically completed overdue appointments", "completed", completed));
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body(Map.of("error", "Error auto-completing: " + e.getMessage()));
         }
@@ -522,12 +530,19 @@ public class AppointmentController {
     @Operation(summary = "Send appointment reminders", description = "Send reminders for upcoming appointments")
     public ResponseEntity<?> sendAppointmentReminders() {
         try {
-            appointmentService.sendAppointmentReminders();
-            return ResponseEntity.ok(Map.of("message", "Appointment reminders sent"));
+            int sent = appointmentService.sendAppointmentReminders();
+            return ResponseEntity.ok(Map.of("message", "Appointment reminders sent", "sent", sent));
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body(Map.of("error", "Error sending reminders: " + e.getMessage()));
         }
     }
+
+    @GetMapping("/admin/sweeps")
+    @PreAuthorize("hasAnyRole('ADMIN', 'STAFF')")
+    @Operation(summary = "Appointment sweep metrics", description = "Run counts, row counts and timings of the scheduled appointment sweeps")
+    public ResponseEntity<?> getSweepMetrics() {
+        return ResponseEntity.ok(appointmentSweeper.getSweepMetrics());
+    }
     
     // ===== SIMPLE BOOKING API =====
     
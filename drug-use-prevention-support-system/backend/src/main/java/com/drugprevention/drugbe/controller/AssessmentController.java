@@ -2,10 +2,13 @@ package com.drugprevention.drugbe.controller;
 
 import com.drugprevention.drugbe.dto.*;
 import com.drugprevention.drugbe.entity.*;
+import com.drugprevention.drugbe.service.AssessmentQuestionCache;
 import com.drugprevention.drugbe.service.AssessmentService;
 import com.drugprevention.drugbe.repository.UserRepository;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -52,10 +55,18 @@ public class AssessmentController {
     // ===== ASSESSMENT QUESTIONS =====
 
     @GetMapping("/{id}/questions")
-    public ResponseEntity<List<AssessmentQuestionDTO>> getAssessmentQuestions(@PathVariable Long id) {
+    public ResponseEntity<byte[]> getAssessmentQuestions(@PathVariable Long id,
+                                                         @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
         try {
-            List<AssessmentQuestionDTO> questions = assessmentService.getAssessmentQuestionsDTO(id);
-            return ResponseEntity.ok(questions);
+            // Serve the pre-serialized body; unchanged question sets are answered with 304
+            AssessmentQuestionCache.QuestionSet questions = assessmentService.getAssessmentQuestionSet(id);
+            if (questions.matches(ifNoneMatch)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(questions.getEtag()).build();
+            }
+            return ResponseEntity.ok()
+                    .eTag(questions.getEtag())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(questions.getJson());
         } catch (Exception e) {
             return ResponseEntity.notFound().build();
         }
@@ -3,6 +3,8 @@ package com.drugprevention.drugbe.controller;
 import com.drugprevention.drugbe.dto.AssessmentResultDTO;
 import com.drugprevention.drugbe.service.AssessmentResultService;
 import com.drugprevention.drugbe.service.AuthService;
+import com.drugprevention.drugbe.dto.CursorPage;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
@@ -10,7 +12,10 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -181,8 +186,19 @@ public class AssessmentResultController {
     
     @GetMapping("/all")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'CONSULTANT')")
-    public ResponseEntity<?> getAllAssessmentResults() {
+    public ResponseEntity<?> getAllAssessmentResults(@RequestParam(required = false) Integer limit,
+                                                     @RequestParam(required = false) String cursor) {
         try {
+            if (limit != null || cursor != null) {
+                CursorPage<AssessmentResultDTO> page = assessmentResultService.getAllResultsPage(cursor, limit);
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", true);
+                response.put("data", page.getItems());
+                response.put("nextCursor", page.getNextCursor());
+                response.put("hasMore", page.isHasMore());
+                response.put("message", "All assessment results retrieved successfully");
+                return ResponseEntity.ok(response);
+            }
             List<AssessmentResultDTO> results = assessmentResultService.getAllResults();
             return ResponseEntity.ok(Map.of(
                 "success", true,
@@ -227,6 +243,38 @@ public class AssessmentResultController {
         }
     }
 
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'CONSULTANT')")
+    public void exportResults(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String riskLevel,
+            @RequestParam(required = false) Long assessmentId,
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response) throws IOException {
+        if (!"ndjson".equalsIgnoreCase(format) && !"csv".equalsIgnoreCase(format)) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Format must be ndjson or csv");
+            return;
+        }
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Start date must be before end date");
+            return;
+        }
+
+        boolean csv = "csv".equalsIgnoreCase(format);
+        response.setCharacterEncoding("UTF-8");
+        response.setContentType(csv ? "text/csv" : "application/x-ndjson");
+        response.setHeader("Content-Disposition",
+                "attachment; filename=\"assessment-results." + (csv ? "csv" : "ndjson") + "\"");
+
+        // endDate is inclusive; the query takes an exclusive upper bound
+        assessmentResultService.exportResults(
+                startDate != null ? startDate.atStartOfDay() : null,
+                endDate != null ? endDate.plusDays(1).atStartOfDay() : null,
+                riskLevel != null && !riskLevel.isBlank() ? riskLevel.trim().toUpperCase() : null,
+                assessmentId, format, response.getOutputStream());
+    }
+
     @GetMapping("/risk-level/{riskLevel}")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'CONSULTANT')")
     public ResponseEntity<?> getResultsByRiskLevel(@PathVariable String riskLevel) {
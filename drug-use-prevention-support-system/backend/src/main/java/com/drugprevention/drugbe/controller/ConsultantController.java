@@ -270,11 +270,18 @@ public class ConsultantController {
                 "days", List.of("MONDAY", "TUESDAY", "WEDNESDAY", "THURSDAY", "FRIDAY")
             ));
             
+            // Slots of the next 7 days, from one range computation for the consultant loaded above
+            LocalDate today = LocalDate.now();
+            Map<LocalDate, List<Map<String, Object>>> weeklySlots =
+                    appointmentService.getAvailableTimeSlotsForDateRange(consultant, today, today.plusDays(6));
+            
             // Available slots for specific date if provided
             if (date != null && !date.trim().isEmpty()) {
                 try {
                     LocalDate appointmentDate = LocalDate.parse(date);
-                    List<Map<String, Object>> availableSlots = appointmentService.getAvailableTimeSlotsForDate(consultantId, appointmentDate);
+                    List<Map<String, Object>> availableSlots = weeklySlots.containsKey(appointmentDate)
+                            ? weeklySlots.get(appointmentDate)
+                            : appointmentService.getAvailableTimeSlotsForDate(consultant, appointmentDate);
                     bookingInfo.put("availableSlots", availableSlots);
                     bookingInfo.put("requestedDate", date);
                     bookingInfo.put("totalAvailableSlots", availableSlots.size());
@@ -289,10 +296,9 @@ public class ConsultantController {
             
             // Next 7 days availability summary
             List<Map<String, Object>> weeklyAvailability = new ArrayList<>();
-            LocalDate today = LocalDate.now();
-            for (int i = 0; i < 7; i++) {
-                LocalDate checkDate = today.plusDays(i);
-                List<Map<String, Object>> slots = appointmentService.getAvailableTimeSlotsForDate(consultantId, checkDate);
+            for (Map.Entry<LocalDate, List<Map<String, Object>>> entry : weeklySlots.entrySet()) {
+                LocalDate checkDate = entry.getKey();
+                List<Map<String, Object>> slots = entry.getValue();
                 
                 Map<String, Object> dayInfo = new HashMap<>();
                 dayInfo.put("date", checkDate.toString());
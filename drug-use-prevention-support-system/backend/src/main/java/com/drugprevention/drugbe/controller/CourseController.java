@@ -8,6 +8,8 @@ import com.drugprevention.drugbe.service.CourseRegistrationService;
 import com.drugprevention.drugbe.service.AuthService;
 import com.drugprevention.drugbe.entity.CourseContent;
 import com.drugprevention.drugbe.service.CourseContentService;
+import com.drugprevention.drugbe.service.CourseProgressTracker;
+import com.drugprevention.drugbe.dto.ProgressEventDTO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,6 +23,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.HashMap;
 import com.drugprevention.drugbe.entity.CourseLesson;
+import com.drugprevention.drugbe.dto.CursorPage;
 import java.util.ArrayList;
 import java.util.stream.Collectors;
 
@@ -42,6 +45,9 @@ public class CourseController {
     @Autowired
     private CourseContentService courseContentService;
 
+    @Autowired
+    private CourseProgressTracker courseProgressTracker;
+
     // ===== HEALTH CHECK =====
 
     @GetMapping("/health")
@@ -53,9 +59,20 @@ public class CourseController {
     // ===== PUBLIC COURSE ENDPOINTS (NO AUTH REQUIRED) =====
 
     @GetMapping
-    @Operation(summary = "Get all courses", description = "Retrieve all available courses (public access)")
-    public ResponseEntity<?> getAllCourses() {
+    @Operation(summary = "Get all courses", description = "Retrieve all available courses (public access); pass limit/cursor to page through them")
+    public ResponseEntity<?> getAllCourses(@RequestParam(required = false) Integer limit,
+                                           @RequestParam(required = false) String cursor) {
         try {
+            if (limit != null || cursor != null) {
+                CursorPage<Course> page = courseService.getActiveCoursesPage(cursor, limit);
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", true);
+                response.put("data", page.getItems());
+                response.put("nextCursor", page.getNextCursor());
+                response.put("hasMore", page.isHasMore());
+                response.put("message", "Courses retrieved successfully");
+                return ResponseEntity.ok(response);
+            }
             List<Course> courses = courseService.getActiveCourses(); // Only show active courses to public
             return ResponseEntity.ok(Map.of(
                 "success", true,
@@ -75,8 +92,8 @@ public class CourseController {
     @Operation(summary = "Get course by ID", description = "Retrieve a specific course by its ID (public access)")
     public ResponseEntity<?> getCourseById(@PathVariable Long id) {
         try {
-            Optional<Course> courseOpt = courseService.getCourseById(id);
-            if (courseOpt.isPresent() && courseOpt.get().getIsActive()) {
+            Optional<Course> courseOpt = courseService.getActiveCourseById(id);
+            if (courseOpt.isPresent()) {
                 return ResponseEntity.ok(Map.of(
                     "success", true,
                     "data", courseOpt.get(),
@@ -174,11 +191,8 @@ public class CourseController {
     @Operation(summary = "Get courses by category", description = "Retrieve all courses in a specific category (public access)")
     public ResponseEntity<?> getCoursesByCategory(@PathVariable Long categoryId) {
         try {
-            List<Course> courses = courseService.getCoursesByCategory(categoryId);
-            // Filter only active courses for public
-            courses = courses.stream()
-                    .filter(course -> course.getIsActive() && "open".equals(course.getStatus()))
-                    .toList();
+            // Only active, open courses for public
+            List<Course> courses = courseService.getPublishedCoursesByCategory(categoryId);
             return ResponseEntity.ok(Map.of(
                 "success", true,
                 "data", courses,
@@ -426,6 +440,64 @@ public class CourseController {
         }
     }
 
+    // ===== PROGRESS TRACKING =====
+
+    @PostMapping("/{courseId}/progress")
+    @PreAuthorize("hasAnyRole('USER', 'CONSULTANT', 'STAFF', 'ADMIN')")
+    @Operation(summary = "Record a progress event", description = "Record a content view, video heartbeat or content completion; writes are batched")
+    public ResponseEntity<?> recordProgress(@PathVariable Long courseId, @RequestBody ProgressEventDTO event) {
+        try {
+            Long userId = authService.getCurrentUserId();
+            if (userId == null) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Authentication required"));
+            }
+
+            CourseProgressTracker.RecordResult result = courseProgressTracker.record(userId, courseId, event);
+            if (result == CourseProgressTracker.RecordResult.NOT_ENROLLED) {
+                return ResponseEntity.status(403).body(Map.of(
+                    "success", false,
+                    "error", "You must be enrolled in this course to track progress"
+                ));
+            }
+            if (result == CourseProgressTracker.RecordResult.BUSY) {
+                return ResponseEntity.status(503).body(Map.of(
+                    "success", false,
+                    "error", "Progress tracking is busy, please retry"
+                ));
+            }
+            return ResponseEntity.accepted().body(Map.of("success", true));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "success", false,
+                "error", e.getMessage()
+            ));
+        }
+    }
+
+    @GetMapping("/{courseId}/progress")
+    @PreAuthorize("hasAnyRole('USER', 'CONSULTANT', 'STAFF', 'ADMIN')")
+    @Operation(summary = "Get course progress", description = "Completion percentage of the course and of each lesson for the current user")
+    public ResponseEntity<?> getProgress(@PathVariable Long courseId) {
+        try {
+            Long userId = authService.getCurrentUserId();
+            if (userId == null) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Authentication required"));
+            }
+
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "courseCompletion", courseProgressTracker.getCourseCompletionPercentage(userId, courseId),
+                "lessonCompletion", courseProgressTracker.getLessonCompletionPercentages(userId, courseId)
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(Map.of(
+                "success", false,
+                "error", "Failed to get course progress",
+                "details", e.getMessage()
+            ));
+        }
+    }
+
     // ========== LESSON CONTENT ENDPOINTS FOR USERS ==========
     
     // Get published content for a lesson (enrolled users only)
@@ -1,8 +1,16 @@
 package com.drugprevention.drugbe.controller;
 
+import com.drugprevention.drugbe.entity.Notification;
+import com.drugprevention.drugbe.entity.User;
+import com.drugprevention.drugbe.repository.UserRepository;
+import com.drugprevention.drugbe.service.AuthService;
+import com.drugprevention.drugbe.service.NotificationService;
+import com.drugprevention.drugbe.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -16,32 +24,32 @@ import java.util.Map;
 @Tag(name = "Notification Controller", description = "APIs for notification management")
 public class NotificationController {
 
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuthService authService;
+
     @GetMapping
     @PreAuthorize("hasAnyRole('USER', 'CONSULTANT', 'ADMIN', 'STAFF')")
     @Operation(summary = "Get user notifications", description = "Get all notifications for current user")
-    public ResponseEntity<?> getUserNotifications(@RequestParam Long userId) {
+    public ResponseEntity<?> getUserNotifications(@RequestParam(required = false) Integer limit,
+                                                  @RequestParam(required = false) String cursor) {
         try {
-            // Mock response for now
-            List<Map<String, Object>> notifications = List.of(
-                Map.of(
-                    "id", 1,
-                    "userId", userId,
-                    "type", "APPOINTMENT_CONFIRMED",
-                    "title", "Lịch hẹn đã được xác nhận",
-                    "message", "Dr. Nguyễn Văn A đã xác nhận lịch hẹn ngày 15/01/2024",
-                    "isRead", false,
-                    "createdAt", "2024-01-10T10:30:00Z"
-                ),
-                Map.of(
-                    "id", 2,
-                    "userId", userId,
-                    "type", "PAYMENT_SUCCESS",
-                    "title", "Thanh toán thành công",
-                    "message", "Thanh toán lịch hẹn #123 đã thành công",
-                    "isRead", false,
-                    "createdAt", "2024-01-10T09:15:00Z"
-                )
-            );
+            // Always the caller's own notifications
+            Long userId = authService.getCurrentUserId();
+            if (userId == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "User not authenticated"));
+            }
+            if (limit != null || cursor != null) {
+                return ResponseEntity.ok(notificationService.getNotificationsPage(userId, cursor, limit));
+            }
+            // Without paging parameters: the newest notifications as a plain list, as before
+            List<Notification> notifications = notificationService
+                    .getNotificationsPage(userId, null, KeysetCursor.MAX_LIMIT).getItems();
             return ResponseEntity.ok(notifications);
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body(Map.of("error", "Error getting notifications: " + e.getMessage()));
@@ -51,8 +59,13 @@ public class NotificationController {
     @PutMapping("/{id}/read")
     @PreAuthorize("hasAnyRole('USER', 'CONSULTANT', 'ADMIN', 'STAFF')")
     @Operation(summary = "Mark notification as read", description = "Mark a notification as read")
-    public ResponseEntity<?> markAsRead(@PathVariable Long id) {
+    public ResponseEntity<?> markAsRead(@PathVariable Long id, Authentication authentication) {
         try {
+            User user = userRepository.findByUsername(authentication.getName())
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+            if (!notificationService.markAsRead(id, user.getId())) {
+                return ResponseEntity.ok(Map.of("message", "Notification already read or not found"));
+            }
             return ResponseEntity.ok(Map.of("message", "Notification marked as read"));
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body(Map.of("error", "Error marking notification as read: " + e.getMessage()));
@@ -62,11 +75,15 @@ public class NotificationController {
     @GetMapping("/unread-count")
     @PreAuthorize("hasAnyRole('USER', 'CONSULTANT', 'ADMIN', 'STAFF')")
     @Operation(summary = "Get unread notification count", description = "Get count of unread notifications")
-    public ResponseEntity<?> getUnreadCount(@RequestParam Long userId) {
+    public ResponseEntity<?> getUnreadCount() {
         try {
-            return ResponseEntity.ok(Map.of("unreadCount", 2));
+            Long userId = authService.getCurrentUserId();
+            if (userId == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "User not authenticated"));
+            }
+            return ResponseEntity.ok(Map.of("unreadCount", notificationService.getUnreadCount(userId)));
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body(Map.of("error", "Error getting unread count: " + e.getMessage()));
         }
     }
-} 
\ No newline at end of file
+}
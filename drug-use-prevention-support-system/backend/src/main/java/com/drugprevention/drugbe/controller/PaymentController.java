@@ -5,10 +5,15 @@ import com.drugprevention.drugbe.entity.User;
 import com.drugprevention.drugbe.entity.Appointment;
 import com.drugprevention.drugbe.dto.AppointmentPaymentRequest;
 import com.drugprevention.drugbe.dto.AppointmentDTO;
+import com.drugprevention.drugbe.service.PaymentOrderRegistry;
 import com.drugprevention.drugbe.service.PaymentService;
 import com.drugprevention.drugbe.service.VnPayService;
 import com.drugprevention.drugbe.service.AppointmentService;
+import com.drugprevention.drugbe.service.VnPayIpnProcessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -24,12 +29,18 @@ import java.util.Optional;
 @RequestMapping("/api/payments")
 @CrossOrigin(origins = "*")
 public class PaymentController {
+    private static final Logger logger = LoggerFactory.getLogger(PaymentController.class);
+
     @Autowired
     private PaymentService paymentService;
     @Autowired
     private VnPayService vnPayService;
     @Autowired
     private AppointmentService appointmentService;
+    @Autowired
+    private VnPayIpnProcessor vnPayIpnProcessor;
+    @Autowired
+    private PaymentOrderRegistry paymentOrderRegistry;
 
     // Tạo payment VNPay và trả về paymentUrl
     @PostMapping("/vnpay/create")
@@ -65,9 +76,6 @@ public class PaymentController {
             payment.setStatus("PENDING");
             payment.setDescription(description);
             payment.setCreatedAt(LocalDateTime.now());
-            payment = paymentService.createPayment(payment);
-
-            System.out.println("Payment created with ID: " + payment.getId());
 
             // Tạo params cho VNPay
             Map<String, String> vnpParams = new HashMap<>();
@@ -83,15 +91,23 @@ public class PaymentController {
             
             vnpParams.put("vnp_OrderInfo", orderInfo);
             vnpParams.put("vnp_OrderType", paymentType.toLowerCase());
-            vnpParams.put("vnp_TxnRef", payment.getId().toString());
+            if (courseId != null) {
+                vnpParams.put("vnp_TxnRef", paymentOrderRegistry.register(payment, PaymentOrderRegistry.OrderType.COURSE, courseId));
+            } else if (appointmentId != null) {
+                vnpParams.put("vnp_TxnRef", paymentOrderRegistry.register(payment, PaymentOrderRegistry.OrderType.APPOINTMENT, appointmentId));
+            } else {
+                vnpParams.put("vnp_TxnRef", paymentOrderRegistry.register(payment, PaymentOrderRegistry.OrderType.OTHER, null));
+            }
 
-            System.out.println("VNPay params: " + vnpParams);
+            logger.debug("VNPay params: {}", vnpParams);
 
+            // Payment URL is known before insert, so the payment is written once
             String paymentUrl = vnPayService.createPaymentUrl(vnpParams);
             payment.setPaymentUrl(paymentUrl);
-            paymentService.createPayment(payment); // update lại paymentUrl
+            payment = paymentService.createPayment(payment);
 
-            System.out.println("Payment URL: " + paymentUrl);
+            logger.debug("Payment created with ID: {}", payment.getId());
+            logger.debug("Payment URL: {}", paymentUrl);
 
             Map<String, Object> response = new HashMap<>();
             response.put("paymentId", payment.getId());
@@ -150,24 +166,23 @@ public class PaymentController {
             payment.setStatus("PENDING");
             payment.setDescription(request.getDescription());
             payment.setCreatedAt(LocalDateTime.now());
-            payment = paymentService.createPayment(payment);
-
-            System.out.println("Payment created with ID: " + payment.getId());
 
             // Tạo params cho VNPay
             Map<String, String> vnpParams = new HashMap<>();
             vnpParams.put("vnp_Amount", String.valueOf((long)(request.getAmount().doubleValue() * 100))); // VNPay requires amount * 100
             vnpParams.put("vnp_OrderInfo", request.getDescription() + " - Appointment ID: " + request.getAppointmentId());
             vnpParams.put("vnp_OrderType", "appointment");
-            vnpParams.put("vnp_TxnRef", payment.getId().toString());
+            vnpParams.put("vnp_TxnRef", paymentOrderRegistry.register(payment, PaymentOrderRegistry.OrderType.APPOINTMENT, appointment.getId()));
 
-            System.out.println("VNPay params: " + vnpParams);
+            logger.debug("VNPay params: {}", vnpParams);
 
+            // Payment URL is known before insert, so the payment is written once
             String paymentUrl = vnPayService.createPaymentUrl(vnpParams);
             payment.setPaymentUrl(paymentUrl);
-            paymentService.createPayment(payment); // update lại paymentUrl
+            payment = paymentService.createPayment(payment);
 
-            System.out.println("Payment URL: " + paymentUrl);
+            logger.debug("Payment created with ID: {}", payment.getId());
+            logger.debug("Payment URL: {}", paymentUrl);
 
             Map<String, Object> response = new HashMap<>();
             response.put("paymentId", payment.getId());
@@ -188,15 +203,11 @@ public class PaymentController {
     @PostMapping("/vnpay/return")
     public ResponseEntity<?> handleVnPayReturn(@RequestBody Map<String, String> params) {
         try {
-            String vnpSecureHash = params.get("vnp_SecureHash");
-            if (vnpSecureHash != null) {
-                params.remove("vnp_SecureHash");
-            }
-            
-            boolean isValid = vnPayService.validateVnPayResponse(params, vnpSecureHash);
+            // Validate and queue the result; the payment is updated by VnPayIpnProcessor
+            VnPayIpnProcessor.IngestResult result = vnPayIpnProcessor.ingest(params);
+            boolean isValid = result != VnPayIpnProcessor.IngestResult.INVALID_SIGNATURE;
             String responseCode = params.get("vnp_ResponseCode");
             String txnRef = params.get("vnp_TxnRef");
-            String orderInfo = params.get("vnp_OrderInfo");
             
             Map<String, Object> response = new HashMap<>();
             response.put("isValid", isValid);
@@ -204,62 +215,35 @@ public class PaymentController {
             response.put("transactionId", txnRef);
             
             if (isValid && "00".equals(responseCode)) {
-                // Payment successful - extract courseId or appointmentId from orderInfo
+                // VNPay reports success, but the payment is updated asynchronously: until the queued
+                // event is applied the client is told to poll GET /api/payments/{paymentId}
+                Payment payment = txnRef != null ? paymentService.getPaymentByTxnRef(txnRef).orElse(null) : null;
+                boolean applied = payment != null && "SUCCESS".equals(payment.getStatus());
+                PaymentOrderRegistry.OrderReference reference = paymentOrderRegistry.resolve(txnRef);
                 Long courseId = null;
                 Long appointmentId = null;
-                
-                if (orderInfo != null) {
-                    if (orderInfo.contains("Course ID: ")) {
-                        try {
-                            String courseIdStr = orderInfo.substring(orderInfo.indexOf("Course ID: ") + 11);
-                            if (courseIdStr.contains(" ")) {
-                                courseIdStr = courseIdStr.substring(0, courseIdStr.indexOf(" "));
-                            }
-                            courseId = Long.valueOf(courseIdStr);
-                        } catch (Exception e) {
-                            System.err.println("Error extracting courseId from orderInfo: " + e.getMessage());
-                        }
-                    } else if (orderInfo.contains("Appointment ID: ")) {
-                        try {
-                            String appointmentIdStr = orderInfo.substring(orderInfo.indexOf("Appointment ID: ") + 16);
-                            if (appointmentIdStr.contains(" ")) {
-                                appointmentIdStr = appointmentIdStr.substring(0, appointmentIdStr.indexOf(" "));
-                            }
-                            appointmentId = Long.valueOf(appointmentIdStr);
-                        } catch (Exception e) {
-                            System.err.println("Error extracting appointmentId from orderInfo: " + e.getMessage());
-                        }
-                    }
-                }
-                
-                // Update payment status
-                try {
-                    Long paymentId = Long.valueOf(txnRef);
-                    paymentService.updatePaymentStatus(paymentId, "SUCCESS");
-                    
-                    // Update appointment status if this is an appointment payment
-                    if (appointmentId != null) {
-                        appointmentService.updateAppointmentStatus(appointmentId, "CONFIRMED");
-                    }
-                } catch (Exception e) {
-                    System.err.println("Error updating payment/appointment status: " + e.getMessage());
+                if (reference != null && reference.getType() == PaymentOrderRegistry.OrderType.COURSE) {
+                    courseId = reference.getTargetId();
+                } else if (reference != null && reference.getType() == PaymentOrderRegistry.OrderType.APPOINTMENT) {
+                    appointmentId = reference.getTargetId();
                 }
                 
                 response.put("success", true);
-                response.put("message", "Payment successful");
+                if (applied && payment.getRefundReason() != null && payment.getRefundedAt() == null) {
+                    // Paid, but the appointment could not be confirmed any more
+                    response.put("status", "REFUND_REQUIRED");
+                    response.put("message", "Payment received, but the booking is no longer available; it will be refunded");
+                } else {
+                    response.put("status", applied ? "SUCCESS" : "PROCESSING");
+                    response.put("message", applied ? "Payment successful" : "Payment received, confirmation is being processed");
+                }
+                response.put("paymentId", payment != null ? payment.getId() : null);
                 response.put("courseId", courseId);
                 response.put("appointmentId", appointmentId);
                 
             } else {
-                // Payment failed
-                try {
-                    Long paymentId = Long.valueOf(txnRef);
-                    paymentService.updatePaymentStatus(paymentId, "FAILED");
-                } catch (Exception e) {
-                    System.err.println("Error updating payment status: " + e.getMessage());
-                }
-                
                 response.put("success", false);
+                response.put("status", "FAILED");
                 response.put("message", "Payment failed or invalid");
             }
             
@@ -276,22 +260,17 @@ public class PaymentController {
     @PostMapping("/vnpay/callback")
     public ResponseEntity<?> handleVnPayCallback(@RequestParam Map<String, String> params) {
         try {
-            String vnpSecureHash = params.get("vnp_SecureHash");
-            if (!vnPayService.validateVnPayResponse(params, vnpSecureHash)) {
+            VnPayIpnProcessor.IngestResult result = vnPayIpnProcessor.ingest(params);
+            if (result == VnPayIpnProcessor.IngestResult.INVALID_SIGNATURE) {
                 return ResponseEntity.badRequest().body(Map.of("error", "Invalid VNPay signature!"));
             }
-            String txnRef = params.get("vnp_TxnRef");
-            String status = params.get("vnp_ResponseCode").equals("00") ? "SUCCESS" : "FAILED";
-            Payment payment = paymentService.getPaymentById(Long.valueOf(txnRef)).orElse(null);
-            if (payment == null) {
-                return ResponseEntity.badRequest().body(Map.of("error", "Payment not found!"));
+            if (result == VnPayIpnProcessor.IngestResult.BUSY) {
+                // VNPay retries the notification later
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", "Payment queue is full, retry later"));
             }
-            payment.setStatus(status);
-            payment.setTransactionId(params.get("vnp_TransactionNo"));
-            payment.setGatewayResponse(params.toString());
-            if (status.equals("SUCCESS")) payment.setPaidAt(LocalDateTime.now());
-            paymentService.createPayment(payment);
-            return ResponseEntity.ok(Map.of("message", "Payment status updated", "status", status));
+            String status = "00".equals(params.get("vnp_ResponseCode")) ? "SUCCESS" : "FAILED";
+            String message = result == VnPayIpnProcessor.IngestResult.DUPLICATE ? "Payment notification already received" : "Payment notification accepted";
+            return ResponseEntity.ok(Map.of("message", message, "status", status));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", "Error processing VNPay callback: " + e.getMessage()));
         }
@@ -67,8 +67,13 @@ public class ReviewController {
     @GetMapping("/consultant/{consultantId}")
     @PreAuthorize("hasAnyRole('CONSULTANT', 'ADMIN', 'STAFF')")
     @Operation(summary = "Get reviews by consultant", description = "Get all reviews for a consultant")
-    public ResponseEntity<?> getReviewsByConsultantId(@PathVariable Long consultantId) {
+    public ResponseEntity<?> getReviewsByConsultantId(@PathVariable Long consultantId,
+                                                      @RequestParam(required = false) Integer limit,
+                                                      @RequestParam(required = false) String cursor) {
         try {
+            if (limit != null || cursor != null) {
+                return ResponseEntity.ok(reviewService.getReviewsByConsultantIdPage(consultantId, cursor, limit));
+            }
             List<ReviewDTO> reviews = reviewService.getReviewsByConsultantId(consultantId);
             return ResponseEntity.ok(reviews);
         } catch (Exception e) {
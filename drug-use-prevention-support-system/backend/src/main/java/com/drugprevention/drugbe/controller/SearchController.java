@@ -0,0 +1,50 @@
+package com.drugprevention.drugbe.controller;
+
+import com.drugprevention.drugbe.dto.SearchResultDTO;
+import com.drugprevention.drugbe.service.SearchIndex;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/search")
+@CrossOrigin(origins = "*")
+@Tag(name = "Search Controller", description = "Unified search over courses, blogs, lessons and course content")
+public class SearchController {
+
+    private static final Set<String> TYPES = Set.of(SearchIndex.COURSE, SearchIndex.BLOG, SearchIndex.LESSON, SearchIndex.CONTENT);
+
+    private static final int MAX_LIMIT = 100;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @GetMapping
+    @Operation(summary = "Search published content",
+               description = "Diacritic-insensitive search with prefix matching; type is one of COURSE, BLOG, LESSON, CONTENT")
+    public ResponseEntity<?> search(@RequestParam("q") String query,
+                                    @RequestParam(required = false) String type,
+                                    @RequestParam(defaultValue = "20") int limit) {
+        try {
+            String normalizedType = type != null && !type.isBlank() ? type.trim().toUpperCase(Locale.ROOT) : null;
+            if (normalizedType != null && !TYPES.contains(normalizedType)) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Unknown search type: " + type));
+            }
+            List<SearchResultDTO> results = searchIndex.search(query, normalizedType, Math.max(1, Math.min(limit, MAX_LIMIT)));
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "data", results,
+                "total", results.size()
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(Map.of("error", "Error searching: " + e.getMessage()));
+        }
+    }
+}
@@ -8,6 +8,7 @@ import com.drugprevention.drugbe.service.AuthService;
 import com.drugprevention.drugbe.repository.CourseLessonRepository;
 import com.drugprevention.drugbe.entity.CourseContent;
 import com.drugprevention.drugbe.service.CourseContentService;
+import com.drugprevention.drugbe.service.SearchIndex;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -42,6 +43,9 @@ public class StaffCourseControllerSimple {
     @Autowired
     private CourseContentService courseContentService;
 
+    @Autowired
+    private SearchIndex searchIndex;
+
     // Test endpoint
     @GetMapping("/test")
     @Operation(summary = "Test staff course API")
@@ -285,6 +289,7 @@ public class StaffCourseControllerSimple {
             lesson.setUpdatedAt(LocalDateTime.now());
             
             CourseLesson createdLesson = courseLessonRepository.save(lesson);
+            searchIndex.indexLesson(createdLesson);
             return ResponseEntity.ok(createdLesson);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", "Error creating lesson: " + e.getMessage()));
@@ -310,6 +315,7 @@ public class StaffCourseControllerSimple {
             lesson.setUpdatedAt(LocalDateTime.now());
             
             CourseLesson updatedLesson = courseLessonRepository.save(lesson);
+            searchIndex.indexLesson(updatedLesson);
             return ResponseEntity.ok(updatedLesson);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", "Error updating lesson: " + e.getMessage()));
@@ -329,6 +335,7 @@ public class StaffCourseControllerSimple {
             }
             
             courseLessonRepository.delete(lesson);
+            searchIndex.remove(SearchIndex.LESSON, lessonId);
             return ResponseEntity.ok(Map.of("message", "Lesson deleted successfully"));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", "Error deleting lesson: " + e.getMessage()));
@@ -4,12 +4,14 @@ import com.drugprevention.drugbe.dto.UserDTO;
 import com.drugprevention.drugbe.entity.User;
 import com.drugprevention.drugbe.service.UserService;
 import com.drugprevention.drugbe.service.AuthService;
+import com.drugprevention.drugbe.dto.CursorPage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -33,8 +35,19 @@ public class UserController {
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
-    public ResponseEntity<?> getAllUsers() {
+    public ResponseEntity<?> getAllUsers(@RequestParam(required = false) Integer limit,
+                                         @RequestParam(required = false) String cursor) {
         try {
+            if (limit != null || cursor != null) {
+                CursorPage<UserDTO> page = userService.getUsersDTOPage(cursor, limit);
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", true);
+                response.put("data", page.getItems());
+                response.put("nextCursor", page.getNextCursor());
+                response.put("hasMore", page.isHasMore());
+                response.put("message", "Users retrieved successfully");
+                return ResponseEntity.ok(response);
+            }
             List<UserDTO> users = userService.getAllUsersDTO();
             return ResponseEntity.ok(Map.of(
                 "success", true,
@@ -0,0 +1,37 @@
+package com.drugprevention.drugbe.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated list. nextCursor is null on the last page.
+ */
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasMore;
+
+    // Constructors
+    public CursorPage() {}
+
+    public CursorPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+    }
+
+    // Convert the items, e.g. entities to DTOs, keeping the cursor
+    public <R> CursorPage<R> map(Function<List<T>, List<R>> converter) {
+        return new CursorPage<>(converter.apply(items), nextCursor);
+    }
+
+    // Getters and Setters
+    public List<T> getItems() { return items; }
+    public void setItems(List<T> items) { this.items = items; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
@@ -0,0 +1,36 @@
+package com.drugprevention.drugbe.dto;
+
+public class ProgressEventDTO {
+    private Long contentId;
+    private String eventType; // CONTENT_VIEWED, VIDEO_HEARTBEAT, VIDEO_WATCHED, CONTENT_COMPLETED
+    private Integer position; // Video position in seconds
+    private Integer duration; // Video length in seconds, if the player knows it
+    private Integer timeSpent; // Seconds spent since the previous event
+
+    // Constructors
+    public ProgressEventDTO() {}
+
+    public ProgressEventDTO(Long contentId, String eventType, Integer position, Integer duration, Integer timeSpent) {
+        this.contentId = contentId;
+        this.eventType = eventType;
+        this.position = position;
+        this.duration = duration;
+        this.timeSpent = timeSpent;
+    }
+
+    // Getters and Setters
+    public Long getContentId() { return contentId; }
+    public void setContentId(Long contentId) { this.contentId = contentId; }
+
+    public String getEventType() { return eventType; }
+    public void setEventType(String eventType) { this.eventType = eventType; }
+
+    public Integer getPosition() { return position; }
+    public void setPosition(Integer position) { this.position = position; }
+
+    public Integer getDuration() { return duration; }
+    public void setDuration(Integer duration) { this.duration = duration; }
+
+    public Integer getTimeSpent() { return timeSpent; }
+    public void setTimeSpent(Integer timeSpent) { this.timeSpent = timeSpent; }
+}
@@ -0,0 +1,41 @@
+package com.drugprevention.drugbe.dto;
+
+public class SearchResultDTO {
+    private String type; // COURSE, BLOG, LESSON, CONTENT
+    private Long id;
+    private Long courseId; // owning course for lessons and content
+    private String title;
+    private String snippet;
+    private double score;
+
+    // Constructors
+    public SearchResultDTO() {}
+
+    public SearchResultDTO(String type, Long id, Long courseId, String title, String snippet, double score) {
+        this.type = type;
+        this.id = id;
+        this.courseId = courseId;
+        this.title = title;
+        this.snippet = snippet;
+        this.score = score;
+    }
+
+    // Getters and Setters
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getCourseId() { return courseId; }
+    public void setCourseId(Long courseId) { this.courseId = courseId; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getSnippet() { return snippet; }
+    public void setSnippet(String snippet) { this.snippet = snippet; }
+
+    public double getScore() { return score; }
+    public void setScore(double score) { this.score = score; }
+}
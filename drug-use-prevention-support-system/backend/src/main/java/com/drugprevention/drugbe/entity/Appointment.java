@@ -82,6 +82,9 @@ public class Appointment {
     @Column(name = "payment_method", length = 50)
     private String paymentMethod; // VNPAY, CASH, BANK_TRANSFER, etc.
 
+    @Column(name = "reminder_sent_at")
+    private LocalDateTime reminderSentAt; // When the payment reminder went out
+
     // Relationships
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "client_id", insertable = false, updatable = false)
@@ -317,6 +320,9 @@ public class Appointment {
     
     public LocalDateTime getPaidAt() { return paidAt; }
     public void setPaidAt(LocalDateTime paidAt) { this.paidAt = paidAt; }
+
+    public LocalDateTime getReminderSentAt() { return reminderSentAt; }
+    public void setReminderSentAt(LocalDateTime reminderSentAt) { this.reminderSentAt = reminderSentAt; }
     
     public String getPaymentMethod() { return paymentMethod; }
     public void setPaymentMethod(String paymentMethod) { this.paymentMethod = paymentMethod; }
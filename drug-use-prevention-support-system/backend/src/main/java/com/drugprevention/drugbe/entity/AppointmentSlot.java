@@ -0,0 +1,82 @@
+package com.drugprevention.drugbe.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// One row per consultant hour held by a PENDING, CONFIRMED or RESCHEDULED appointment.
+// The unique key makes the database reject a second booking of the same slot.
+@Entity
+@Table(name = "appointment_slots",
+       uniqueConstraints = @UniqueConstraint(name = "uk_appointment_slots_consultant_slot",
+                                             columnNames = {"consultant_id", "slot_start"}))
+public class AppointmentSlot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "consultant_id", nullable = false)
+    private Long consultantId;
+
+    @Column(name = "slot_start", nullable = false)
+    private LocalDateTime slotStart;
+
+    @Column(name = "appointment_id", nullable = false, unique = true)
+    private Long appointmentId;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public AppointmentSlot() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public AppointmentSlot(Long consultantId, LocalDateTime slotStart, Long appointmentId) {
+        this();
+        this.consultantId = consultantId;
+        this.slotStart = slotStart;
+        this.appointmentId = appointmentId;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getConsultantId() {
+        return consultantId;
+    }
+
+    public void setConsultantId(Long consultantId) {
+        this.consultantId = consultantId;
+    }
+
+    public LocalDateTime getSlotStart() {
+        return slotStart;
+    }
+
+    public void setSlotStart(LocalDateTime slotStart) {
+        this.slotStart = slotStart;
+    }
+
+    public Long getAppointmentId() {
+        return appointmentId;
+    }
+
+    public void setAppointmentId(Long appointmentId) {
+        this.appointmentId = appointmentId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
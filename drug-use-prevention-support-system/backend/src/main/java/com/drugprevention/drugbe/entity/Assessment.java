@@ -1,10 +1,15 @@
 package com.drugprevention.drugbe.entity;
 
+import com.drugprevention.drugbe.config.CacheConfig;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.ASSESSMENTS)
 @Table(name = "assessments")
 public class Assessment {
     @Id
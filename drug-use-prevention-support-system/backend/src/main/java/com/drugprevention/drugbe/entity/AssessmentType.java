@@ -1,9 +1,14 @@
 package com.drugprevention.drugbe.entity;
 
+import com.drugprevention.drugbe.config.CacheConfig;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.ASSESSMENT_TYPES)
 @Table(name = "assessment_types")
 public class AssessmentType {
     @Id
@@ -1,9 +1,14 @@
 package com.drugprevention.drugbe.entity;
 
+import com.drugprevention.drugbe.config.CacheConfig;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.CATEGORIES)
 @Table(name = "categories")
 public class Category {
     @Id
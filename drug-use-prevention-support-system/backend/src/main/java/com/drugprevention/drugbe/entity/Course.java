@@ -36,7 +36,8 @@ public class Course {
     @Column(name = "max_participants")
     private Integer maxParticipants;
 
-    @Column(name = "current_participants")
+    // Written on insert only; changes go through CourseParticipantCounter
+    @Column(name = "current_participants", updatable = false)
     private Integer currentParticipants;
 
     @Column(name = "start_date")
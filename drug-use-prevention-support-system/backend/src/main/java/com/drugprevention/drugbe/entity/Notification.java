@@ -0,0 +1,79 @@
+package com.drugprevention.drugbe.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_user_created", columnList = "user_id, created_at")
+})
+public class Notification {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "type", length = 50, nullable = false)
+    private String type; // APPOINTMENT_CONFIRMED, PAYMENT_SUCCESS, RECOMMENDATION, ...
+
+    @Column(name = "title", columnDefinition = "NVARCHAR(255)")
+    private String title;
+
+    @Column(name = "message", columnDefinition = "NVARCHAR(1000)")
+    private String message;
+
+    @Column(name = "reference_id")
+    private Long referenceId; // ID of the related appointment, payment or recommendation
+
+    @Column(name = "is_read")
+    private Boolean isRead = false;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "read_at")
+    private LocalDateTime readAt;
+
+    // Constructors
+    public Notification() {}
+
+    public Notification(Long userId, String type, String title, String message, Long referenceId) {
+        this.userId = userId;
+        this.type = type;
+        this.title = title;
+        this.message = message;
+        this.referenceId = referenceId;
+        this.isRead = false;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+
+    public Long getReferenceId() { return referenceId; }
+    public void setReferenceId(Long referenceId) { this.referenceId = referenceId; }
+
+    public Boolean getIsRead() { return isRead; }
+    public void setIsRead(Boolean isRead) { this.isRead = isRead; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getReadAt() { return readAt; }
+    public void setReadAt(LocalDateTime readAt) { this.readAt = readAt; }
+}
@@ -34,6 +34,11 @@ public class Payment {
     @Column(name = "transaction_id", length = 100)
     private String transactionId;
 
+    // vnp_TxnRef sent to VNPay; allocated before insert. Unique among non-null values through a
+    // filtered index (see PaymentRepositoryImpl): rows older than the column have none
+    @Column(name = "txn_ref", length = 40)
+    private String txnRef;
+
     @Column(name = "payment_url", length = 1000)
     private String paymentUrl;
 
@@ -61,6 +66,14 @@ public class Payment {
     @Column(name = "refund_reason", length = 500)
     private String refundReason;
 
+    // What the payment is for: APPOINTMENT, COURSE or OTHER
+    @Column(name = "order_type", length = 20)
+    private String orderType;
+
+    // Appointment or course id, depending on orderType
+    @Column(name = "target_id")
+    private Long targetId;
+
     // Getters and setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -86,6 +99,9 @@ public class Payment {
     public String getTransactionId() { return transactionId; }
     public void setTransactionId(String transactionId) { this.transactionId = transactionId; }
 
+    public String getTxnRef() { return txnRef; }
+    public void setTxnRef(String txnRef) { this.txnRef = txnRef; }
+
     public String getPaymentUrl() { return paymentUrl; }
     public void setPaymentUrl(String paymentUrl) { this.paymentUrl = paymentUrl; }
 
@@ -112,4 +128,10 @@ public class Payment {
 
     public String getRefundReason() { return refundReason; }
     public void setRefundReason(String refundReason) { this.refundReason = refundReason; }
+
+    public String getOrderType() { return orderType; }
+    public void setOrderType(String orderType) { this.orderType = orderType; }
+
+    public Long getTargetId() { return targetId; }
+    public void setTargetId(Long targetId) { this.targetId = targetId; }
 } 
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.drugprevention.drugbe.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// One row per VNPay payment event applied; the unique key makes replays of the same event no-ops
+@Entity
+@Table(name = "payment_ipn_events",
+       uniqueConstraints = @UniqueConstraint(name = "uk_payment_ipn_events_txn",
+                                             columnNames = {"txn_ref", "transaction_no"}))
+public class PaymentIpnEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "txn_ref", length = 100, nullable = false)
+    private String txnRef; // vnp_TxnRef
+
+    @Column(name = "transaction_no", length = 100, nullable = false)
+    private String transactionNo; // vnp_TransactionNo, empty when VNPay sends none
+
+    @Column(name = "response_code", length = 10)
+    private String responseCode;
+
+    @Column(name = "status", length = 20)
+    private String status; // APPLIED, IGNORED, REFUND_REQUIRED
+
+    @Column(name = "gateway_response", columnDefinition = "NVARCHAR(MAX)")
+    private String gatewayResponse;
+
+    @Column(name = "received_at")
+    private LocalDateTime receivedAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    // Constructors
+    public PaymentIpnEvent() {}
+
+    public PaymentIpnEvent(String txnRef, String transactionNo, String responseCode, String gatewayResponse, LocalDateTime receivedAt) {
+        this.txnRef = txnRef;
+        this.transactionNo = transactionNo;
+        this.responseCode = responseCode;
+        this.gatewayResponse = gatewayResponse;
+        this.receivedAt = receivedAt;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getTxnRef() { return txnRef; }
+    public void setTxnRef(String txnRef) { this.txnRef = txnRef; }
+
+    public String getTransactionNo() { return transactionNo; }
+    public void setTransactionNo(String transactionNo) { this.transactionNo = transactionNo; }
+
+    public String getResponseCode() { return responseCode; }
+    public void setResponseCode(String responseCode) { this.responseCode = responseCode; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getGatewayResponse() { return gatewayResponse; }
+    public void setGatewayResponse(String gatewayResponse) { this.gatewayResponse = gatewayResponse; }
+
+    public LocalDateTime getReceivedAt() { return receivedAt; }
+    public void setReceivedAt(LocalDateTime receivedAt) { this.receivedAt = receivedAt; }
+
+    public LocalDateTime getProcessedAt() { return processedAt; }
+    public void setProcessedAt(LocalDateTime processedAt) { this.processedAt = processedAt; }
+}
@@ -1,10 +1,15 @@
 package com.drugprevention.drugbe.entity;
 
+import com.drugprevention.drugbe.config.CacheConfig;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.ROLES)
 @Table(name = "roles")
 public class Role {
     @Id
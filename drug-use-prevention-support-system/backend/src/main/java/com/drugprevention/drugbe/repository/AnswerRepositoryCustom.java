@@ -0,0 +1,12 @@
+package com.drugprevention.drugbe.repository;
+
+import com.drugprevention.drugbe.entity.Answer;
+
+import java.util.List;
+
+public interface AnswerRepositoryCustom {
+
+    // Insert answers with multi-row INSERT statements instead of one round trip per row.
+    // Generated ids are not read back into the entities.
+    int insertAll(List<Answer> answers);
+}
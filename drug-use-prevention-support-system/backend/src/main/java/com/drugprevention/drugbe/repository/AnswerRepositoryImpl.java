@@ -0,0 +1,47 @@
+package com.drugprevention.drugbe.repository;
+
+import com.drugprevention.drugbe.entity.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class AnswerRepositoryImpl implements AnswerRepositoryCustom {
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO answers (assessment_result_id, assessment_question_id, answer_text, answer_value, created_at) VALUES ";
+
+    private static final int COLUMNS = 5;
+
+    // SQL Server accepts at most 2100 parameters per statement
+    private static final int MAX_ROWS_PER_STATEMENT = 2000 / COLUMNS;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int insertAll(List<Answer> answers) {
+        int inserted = 0;
+        for (int from = 0; from < answers.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<Answer> chunk = answers.subList(from, Math.min(from + MAX_ROWS_PER_STATEMENT, answers.size()));
+
+            StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+            List<Object> params = new ArrayList<>(chunk.size() * COLUMNS);
+            for (int i = 0; i < chunk.size(); i++) {
+                Answer answer = chunk.get(i);
+                sql.append(i == 0 ? "(?, ?, ?, ?, ?)" : ", (?, ?, ?, ?, ?)");
+                LocalDateTime createdAt = answer.getCreatedAt() != null ? answer.getCreatedAt() : LocalDateTime.now();
+                params.add(answer.getAssessmentResultId());
+                params.add(answer.getAssessmentQuestionId());
+                params.add(answer.getAnswerText());
+                params.add(answer.getAnswerValue());
+                params.add(Timestamp.valueOf(createdAt));
+            }
+            inserted += jdbcTemplate.update(sql.toString(), params.toArray());
+        }
+        return inserted;
+    }
+}
@@ -1,16 +1,20 @@
 package com.drugprevention.drugbe.repository;
 
 import com.drugprevention.drugbe.entity.Appointment;
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
+public interface AppointmentRepository extends JpaRepository<Appointment, Long>, AppointmentRepositoryCustom {
 
     // Find appointments by client ID
     List<Appointment> findByClientIdOrderByAppointmentDateDesc(Long clientId);
@@ -27,6 +31,11 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     // Find appointments by consultant and status
     List<Appointment> findByConsultantIdAndStatusOrderByAppointmentDateDesc(Long consultantId, String status);
 
+    // Read and lock the row, so a concurrent guarded status update waits for the caller's transaction
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Appointment a WHERE a.id = :id")
+    Optional<Appointment> findByIdForUpdate(@Param("id") Long id);
+
     // Find appointments in date range
     List<Appointment> findByAppointmentDateBetweenOrderByAppointmentDateAsc(
             LocalDateTime startDate, LocalDateTime endDate);
@@ -49,7 +58,7 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
 
     // Check for conflicting appointments (same consultant, overlapping time)
     @Query("SELECT a FROM Appointment a WHERE a.consultantId = :consultantId " +
-           "AND a.status IN ('PENDING', 'CONFIRMED') " +
+           "AND a.status IN ('PENDING', 'CONFIRMED', 'RESCHEDULED') " +
            "AND a.appointmentDate < :endTime " +
            "AND DATEADD(minute, a.durationMinutes, a.appointmentDate) > :startTime")
     List<Appointment> findConflictingAppointments(
@@ -57,11 +66,6 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
             @Param("startTime") LocalDateTime startTime,
             @Param("endTime") LocalDateTime endTime);
 
-    // Find appointments that need payment reminder
-    @Query("SELECT a FROM Appointment a WHERE a.paymentStatus = 'UNPAID' " +
-           "AND a.status = 'CONFIRMED' AND a.appointmentDate < :reminderTime")
-    List<Appointment> findAppointmentsNeedingPaymentReminder(@Param("reminderTime") LocalDateTime reminderTime);
-
     // Statistics queries
     @Query("SELECT COUNT(a) FROM Appointment a WHERE a.consultantId = :consultantId " +
            "AND a.status = 'COMPLETED' " +
@@ -82,17 +86,12 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     // Find available time slots for a consultant on a specific date
     @Query("SELECT a FROM Appointment a WHERE a.consultantId = :consultantId " +
            "AND CAST(a.appointmentDate AS DATE) = CAST(:date AS DATE) " +
-           "AND a.status IN ('PENDING', 'CONFIRMED') " +
+           "AND a.status IN ('PENDING', 'CONFIRMED', 'RESCHEDULED') " +
            "ORDER BY a.appointmentDate ASC")
     List<Appointment> findConsultantAppointmentsByDate(
             @Param("consultantId") Long consultantId,
             @Param("date") LocalDateTime date);
 
-    // Find appointments that can be auto-completed (past appointments still in CONFIRMED status)
-    @Query("SELECT a FROM Appointment a WHERE a.status = 'CONFIRMED' " +
-           "AND DATEADD(minute, a.durationMinutes, a.appointmentDate) < :now")
-    List<Appointment> findAppointmentsToAutoComplete(@Param("now") LocalDateTime now);
-
     // Find appointments by multiple statuses
     @Query("SELECT a FROM Appointment a WHERE a.clientId = :clientId " +
            "AND a.status IN :statuses ORDER BY a.appointmentDate DESC")
@@ -100,6 +99,21 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
             @Param("clientId") Long clientId, 
             @Param("statuses") List<String> statuses);
 
+    // Consultant and start time of every slot-blocking appointment in a window, for the availability index
+    @Query("SELECT a.consultantId, a.appointmentDate FROM Appointment a " +
+           "WHERE a.status IN ('PENDING', 'CONFIRMED', 'RESCHEDULED') " +
+           "AND a.appointmentDate >= :startDate AND a.appointmentDate < :endDate")
+    List<Object[]> findBookedSlotsBetween(
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+
+    // Upcoming slot-blocking appointments that hold no row in appointment_slots yet
+    @Query("SELECT a FROM Appointment a WHERE a.status IN ('PENDING', 'CONFIRMED', 'RESCHEDULED') " +
+           "AND a.appointmentDate >= :now " +
+           "AND NOT EXISTS (SELECT s.id FROM AppointmentSlot s WHERE s.appointmentId = a.id) " +
+           "ORDER BY a.id ASC")
+    List<Appointment> findUpcomingAppointmentsWithoutSlot(@Param("now") LocalDateTime now);
+
     // Find appointments by consultant and date range
     @Query("SELECT a FROM Appointment a WHERE a.consultantId = :consultantId " +
            "AND a.appointmentDate BETWEEN :startDate AND :endDate " +
@@ -109,10 +123,10 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate);
 
-    // Find appointments that need rescheduling (past appointments in PENDING status)
-    @Query("SELECT a FROM Appointment a WHERE a.status = 'PENDING' " +
-           "AND a.appointmentDate < :now")
-    List<Appointment> findAppointmentsNeedingRescheduling(@Param("now") LocalDateTime now);
+    // Id, start, duration, status, payment status and reminder time of appointments that can still change state
+    @Query("SELECT a.id, a.appointmentDate, a.durationMinutes, a.status, a.paymentStatus, a.reminderSentAt " +
+           "FROM Appointment a WHERE a.status IN ('PENDING', 'CONFIRMED', 'RESCHEDULED')")
+    List<Object[]> findLifecycleDeadlines();
 
     // Get appointment statistics by period
     @Query("SELECT COUNT(a) FROM Appointment a WHERE a.clientId = :clientId " +
@@ -124,4 +138,11 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     
     // Find pending appointments by consultant
     List<Appointment> findByConsultantIdAndStatusOrderByAppointmentDateAsc(Long consultantId, String status);
-} 
\ No newline at end of file
+
+    // Count appointments grouped by status
+    @Query("SELECT a.status, COUNT(a) FROM Appointment a GROUP BY a.status")
+    List<Object[]> countAppointmentsByStatus();
+
+    // Keyset page, newest first
+    List<Appointment> findByIdLessThanOrderByIdDesc(Long id, Pageable pageable);
+}
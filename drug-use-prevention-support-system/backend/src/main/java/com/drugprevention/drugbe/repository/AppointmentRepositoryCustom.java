@@ -0,0 +1,42 @@
+package com.drugprevention.drugbe.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface AppointmentRepositoryCustom {
+
+    // Mark up to limit CONFIRMED appointments that ended before now as COMPLETED; returns the changed rows
+    List<SweptAppointment> completePastAppointments(LocalDateTime now, int limit);
+
+    // Stamp reminder_sent_at on up to limit unpaid CONFIRMED appointments before reminderTime
+    // that have not been reminded yet; returns the stamped rows
+    List<SweptAppointment> claimPaymentReminders(LocalDateTime reminderTime, LocalDateTime now, int limit);
+
+    // The same transitions for the given appointments, applied only where they are still due
+    List<SweptAppointment> completeAppointments(Collection<Long> ids, LocalDateTime now);
+
+    List<SweptAppointment> claimPaymentReminders(Collection<Long> ids, LocalDateTime reminderTime, LocalDateTime now);
+
+    // Cancel unpaid PENDING appointments among ids whose start time passed without confirmation
+    List<SweptAppointment> expirePendingAppointments(Collection<Long> ids, LocalDateTime now);
+
+    final class SweptAppointment {
+        private final Long id;
+        private final Long clientId;
+        private final Long consultantId;
+        private final LocalDateTime appointmentDate;
+
+        public SweptAppointment(Long id, Long clientId, Long consultantId, LocalDateTime appointmentDate) {
+            this.id = id;
+            this.clientId = clientId;
+            this.consultantId = consultantId;
+            this.appointmentDate = appointmentDate;
+        }
+
+        public Long getId() { return id; }
+        public Long getClientId() { return clientId; }
+        public Long getConsultantId() { return consultantId; }
+        public LocalDateTime getAppointmentDate() { return appointmentDate; }
+    }
+}
@@ -0,0 +1,90 @@
+package com.drugprevention.drugbe.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+public class AppointmentRepositoryImpl implements AppointmentRepositoryCustom {
+
+    // Set-based sweeps: one UPDATE per chunk, OUTPUT returns the rows it changed for follow-up work
+    private static final String COMPLETE_PAST =
+            "UPDATE TOP (?) appointments SET status = 'COMPLETED', updated_at = ? "
+            + "OUTPUT inserted.id, inserted.client_id, inserted.consultant_id, inserted.appointment_date "
+            + "WHERE status = 'CONFIRMED' AND DATEADD(minute, duration_minutes, appointment_date) < ?";
+
+    private static final String CLAIM_REMINDERS =
+            "UPDATE TOP (?) appointments SET reminder_sent_at = ? "
+            + "OUTPUT inserted.id, inserted.client_id, inserted.consultant_id, inserted.appointment_date "
+            + "WHERE payment_status = 'UNPAID' AND status = 'CONFIRMED' AND appointment_date < ? "
+            + "AND reminder_sent_at IS NULL";
+
+    private static final String COMPLETE_BY_ID =
+            "UPDATE appointments SET status = 'COMPLETED', updated_at = ? "
+            + "OUTPUT inserted.id, inserted.client_id, inserted.consultant_id, inserted.appointment_date "
+            + "WHERE id IN (%s) AND status = 'CONFIRMED' AND DATEADD(minute, duration_minutes, appointment_date) <= ?";
+
+    private static final String REMIND_BY_ID =
+            "UPDATE appointments SET reminder_sent_at = ? "
+            + "OUTPUT inserted.id, inserted.client_id, inserted.consultant_id, inserted.appointment_date "
+            + "WHERE id IN (%s) AND payment_status = 'UNPAID' AND status = 'CONFIRMED' AND appointment_date <= ? "
+            + "AND reminder_sent_at IS NULL";
+
+    private static final String EXPIRE_BY_ID =
+            "UPDATE appointments SET status = 'CANCELLED', cancelled_at = ?, updated_at = ?, "
+            + "cancellation_reason = 'Not confirmed before the appointment time' "
+            + "OUTPUT inserted.id, inserted.client_id, inserted.consultant_id, inserted.appointment_date "
+            + "WHERE id IN (%s) AND status = 'PENDING' AND payment_status = 'UNPAID' AND appointment_date <= ?";
+
+    private static final RowMapper<SweptAppointment> SWEPT_ROW = (rs, rowNum) -> new SweptAppointment(
+            rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getTimestamp(4).toLocalDateTime());
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<SweptAppointment> completePastAppointments(LocalDateTime now, int limit) {
+        return jdbcTemplate.query(COMPLETE_PAST, SWEPT_ROW, limit, Timestamp.valueOf(now), Timestamp.valueOf(now));
+    }
+
+    @Override
+    public List<SweptAppointment> claimPaymentReminders(LocalDateTime reminderTime, LocalDateTime now, int limit) {
+        return jdbcTemplate.query(CLAIM_REMINDERS, SWEPT_ROW, limit, Timestamp.valueOf(now), Timestamp.valueOf(reminderTime));
+    }
+
+    @Override
+    public List<SweptAppointment> completeAppointments(Collection<Long> ids, LocalDateTime now) {
+        Timestamp at = Timestamp.valueOf(now);
+        return byIds(COMPLETE_BY_ID, ids, List.of(at), List.of(at));
+    }
+
+    @Override
+    public List<SweptAppointment> claimPaymentReminders(Collection<Long> ids, LocalDateTime reminderTime, LocalDateTime now) {
+        return byIds(REMIND_BY_ID, ids, List.of(Timestamp.valueOf(now)), List.of(Timestamp.valueOf(reminderTime)));
+    }
+
+    @Override
+    public List<SweptAppointment> expirePendingAppointments(Collection<Long> ids, LocalDateTime now) {
+        Timestamp at = Timestamp.valueOf(now);
+        return byIds(EXPIRE_BY_ID, ids, List.of(at, at), List.of(at));
+    }
+
+    // Bind leading parameters, the ids of the IN list, then trailing parameters
+    private List<SweptAppointment> byIds(String sql, Collection<Long> ids, List<Object> before, List<Object> after) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Object> args = new ArrayList<>(before.size() + ids.size() + after.size());
+        args.addAll(before);
+        args.addAll(ids);
+        args.addAll(after);
+        String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+        return jdbcTemplate.query(String.format(sql, placeholders), SWEPT_ROW, args.toArray());
+    }
+}
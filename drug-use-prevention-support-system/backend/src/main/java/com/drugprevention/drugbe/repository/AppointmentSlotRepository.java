@@ -0,0 +1,24 @@
+package com.drugprevention.drugbe.repository;
+
+import com.drugprevention.drugbe.entity.AppointmentSlot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+@Repository
+public interface AppointmentSlotRepository extends JpaRepository<AppointmentSlot, Long> {
+
+    // Release the slot held by an appointment
+    @Modifying
+    @Query("DELETE FROM AppointmentSlot s WHERE s.appointmentId = :appointmentId")
+    int deleteByAppointmentId(@Param("appointmentId") Long appointmentId);
+
+    // Release the slots held by a set of appointments
+    @Modifying
+    @Query("DELETE FROM AppointmentSlot s WHERE s.appointmentId IN :appointmentIds")
+    int deleteByAppointmentIdIn(@Param("appointmentIds") Collection<Long> appointmentIds);
+}
@@ -1,8 +1,11 @@
 package com.drugprevention.drugbe.repository;
 
 import com.drugprevention.drugbe.entity.Assessment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -11,10 +14,15 @@ import java.util.List;
 @Repository
 public interface AssessmentRepository extends JpaRepository<Assessment, Long> {
     
+    // Reference data: results are kept in the query cache
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Assessment> findAll();
+    
     // Find assessment by type ID
     List<Assessment> findByAssessmentTypeId(Long assessmentTypeId);
     
     // Find active assessment
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Assessment> findByIsActiveTrue();
     
     // Find assessment by title
@@ -25,6 +33,7 @@ public interface AssessmentRepository extends JpaRepository<Assessment, Long> {
     List<Assessment> findByKeyword(@Param("keyword") String keyword);
     
     // Find assessment by type and active status
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Assessment> findByAssessmentTypeIdAndIsActiveTrue(Long assessmentTypeId);
     
     // Count assessments by type
@@ -5,11 +5,15 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface AssessmentResultRepository extends JpaRepository<AssessmentResult, Long> {
@@ -50,4 +54,25 @@ public interface AssessmentResultRepository extends JpaRepository<AssessmentResu
     // Find top 10 by order by created at desc (alias for findTop10ByOrderByCompletedAtDesc)
     @Query("SELECT ar FROM AssessmentResult ar ORDER BY ar.createdAt DESC LIMIT 10")
     List<AssessmentResult> findTop10ByOrderByCreatedAtDesc();
-}
\ No newline at end of file
+    
+    // Count results and sum scores grouped by risk level
+    @Query("SELECT ar.riskLevel, COUNT(ar), COALESCE(SUM(ar.totalScore), 0) FROM AssessmentResult ar GROUP BY ar.riskLevel")
+    List<Object[]> summarizeByRiskLevel();
+
+    // Keyset page, newest first
+    List<AssessmentResult> findByIdLessThanOrderByIdDesc(Long id, Pageable pageable);
+
+    // Flat rows for export, in id order; filters are optional. Columns: id, userId, assessmentId,
+    // assessment title, totalScore, riskLevel, completedAt, createdAt. Must be consumed inside a transaction.
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT ar.id, ar.userId, ar.assessmentId, a.title, ar.totalScore, ar.riskLevel, ar.completedAt, ar.createdAt " +
+           "FROM AssessmentResult ar LEFT JOIN ar.assessment a " +
+           "WHERE (:start IS NULL OR ar.completedAt >= :start) AND (:end IS NULL OR ar.completedAt < :end) " +
+           "AND (:riskLevel IS NULL OR ar.riskLevel = :riskLevel) AND (:assessmentId IS NULL OR ar.assessmentId = :assessmentId) " +
+           "ORDER BY ar.id")
+    Stream<Object[]> streamForExport(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end,
+                                     @Param("riskLevel") String riskLevel, @Param("assessmentId") Long assessmentId);
+}
@@ -1,8 +1,11 @@
 package com.drugprevention.drugbe.repository;
 
 import com.drugprevention.drugbe.entity.AssessmentType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -12,6 +15,10 @@ import java.util.Optional;
 @Repository
 public interface AssessmentTypeRepository extends JpaRepository<AssessmentType, Long> {
     
+    // Reference data: results are kept in the query cache
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<AssessmentType> findAll();
+    
     // Find assessment type by name
     Optional<AssessmentType> findByName(String name);
     
@@ -19,6 +26,7 @@ public interface AssessmentTypeRepository extends JpaRepository<AssessmentType,
     boolean existsByName(String name);
     
     // Find assessment types by active status
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<AssessmentType> findByIsActiveTrue();
     
     // Find by target age group
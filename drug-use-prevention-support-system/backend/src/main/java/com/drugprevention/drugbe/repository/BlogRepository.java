@@ -63,4 +63,7 @@ public interface BlogRepository extends JpaRepository<Blog, Long> {
     // Count blogs by author
     @Query("SELECT COUNT(b) FROM Blog b WHERE b.authorId = :authorId")
     Long countByAuthorId(@Param("authorId") Long authorId);
-} 
\ No newline at end of file
+
+    // Keyset page, newest first
+    List<Blog> findByIdLessThanOrderByIdDesc(Long id, Pageable pageable);
+}
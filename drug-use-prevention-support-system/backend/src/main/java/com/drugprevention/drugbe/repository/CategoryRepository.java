@@ -1,8 +1,11 @@
 package com.drugprevention.drugbe.repository;
 
 import com.drugprevention.drugbe.entity.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -12,6 +15,10 @@ import java.util.Optional;
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
     
+    // Reference data: results are kept in the query cache
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Category> findAll();
+    
     // Find Category by exact name
     Optional<Category> findByName(String name);
     
@@ -26,6 +33,7 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     List<Category> findByKeyword(@Param("keyword") String keyword);
     
     // Find active Category
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Category> findByIsActiveTrue();
     
     // Find Category by keyword in name or description
@@ -10,7 +10,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface CourseProgressRepository extends JpaRepository<CourseProgress, Long> {
+public interface CourseProgressRepository extends JpaRepository<CourseProgress, Long>, CourseProgressRepositoryCustom {
     
     // Find progress by user and course
     List<CourseProgress> findByUserIdAndCourseIdOrderByCreatedAtDesc(Long userId, Long courseId);
@@ -41,6 +41,11 @@ public interface CourseProgressRepository extends JpaRepository<CourseProgress,
     @Query("SELECT COUNT(p) > 0 FROM CourseProgress p WHERE p.userId = :userId AND p.courseId = :courseId AND p.progressType = 'COURSE_COMPLETED'")
     boolean hasCompletedCourse(@Param("userId") Long userId, @Param("courseId") Long courseId);
     
+    // Content the user completed in a course
+    @Query("SELECT DISTINCT p.contentId FROM CourseProgress p WHERE p.userId = :userId AND p.courseId = :courseId " +
+           "AND p.isCompleted = true AND p.contentId IS NOT NULL")
+    List<Long> findCompletedContentIds(@Param("userId") Long userId, @Param("courseId") Long courseId);
+
     // Get course completion percentage for user
     @Query("SELECT " +
            "CASE WHEN COUNT(required_content) = 0 THEN 100.0 " +
@@ -0,0 +1,59 @@
+package com.drugprevention.drugbe.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface CourseProgressRepositoryCustom {
+
+    // Merge coalesced content progress into course_progress, one row per (user, content)
+    void upsertContentProgress(List<ContentProgressUpdate> updates);
+
+    final class ContentProgressUpdate {
+        private final Long userId;
+        private final Long courseId;
+        private final Long lessonId;
+        private final Long contentId;
+        private final String progressType;
+        private final int completionPercentage;
+        private final int timeSpentMinutes;
+        private final Integer videoWatchDuration;
+        private final Integer videoTotalDuration;
+        private final boolean completed;
+        private final int attempts;
+        private final LocalDateTime firstAccessedAt;
+        private final LocalDateTime lastAccessedAt;
+
+        public ContentProgressUpdate(Long userId, Long courseId, Long lessonId, Long contentId, String progressType,
+                                     int completionPercentage, int timeSpentMinutes, Integer videoWatchDuration,
+                                     Integer videoTotalDuration, boolean completed, int attempts,
+                                     LocalDateTime firstAccessedAt, LocalDateTime lastAccessedAt) {
+            this.userId = userId;
+            this.courseId = courseId;
+            this.lessonId = lessonId;
+            this.contentId = contentId;
+            this.progressType = progressType;
+            this.completionPercentage = completionPercentage;
+            this.timeSpentMinutes = timeSpentMinutes;
+            this.videoWatchDuration = videoWatchDuration;
+            this.videoTotalDuration = videoTotalDuration;
+            this.completed = completed;
+            this.attempts = attempts;
+            this.firstAccessedAt = firstAccessedAt;
+            this.lastAccessedAt = lastAccessedAt;
+        }
+
+        public Long getUserId() { return userId; }
+        public Long getCourseId() { return courseId; }
+        public Long getLessonId() { return lessonId; }
+        public Long getContentId() { return contentId; }
+        public String getProgressType() { return progressType; }
+        public int getCompletionPercentage() { return completionPercentage; }
+        public int getTimeSpentMinutes() { return timeSpentMinutes; }
+        public Integer getVideoWatchDuration() { return videoWatchDuration; }
+        public Integer getVideoTotalDuration() { return videoTotalDuration; }
+        public boolean isCompleted() { return completed; }
+        public int getAttempts() { return attempts; }
+        public LocalDateTime getFirstAccessedAt() { return firstAccessedAt; }
+        public LocalDateTime getLastAccessedAt() { return lastAccessedAt; }
+    }
+}
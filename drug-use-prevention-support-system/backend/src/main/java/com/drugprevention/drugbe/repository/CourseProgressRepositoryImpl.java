@@ -0,0 +1,64 @@
+package com.drugprevention.drugbe.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CourseProgressRepositoryImpl implements CourseProgressRepositoryCustom {
+
+    // Completion is sticky, watch position and percentage only grow, time and attempts accumulate.
+    // Older data can hold one row per progress type for a (user, content); only the oldest of them
+    // is merged into, so time and attempts are not added to each of those rows
+    private static final String UPSERT_CONTENT_PROGRESS =
+            "MERGE course_progress WITH (HOLDLOCK) AS t "
+            + "USING (SELECT ? AS user_id, ? AS course_id, ? AS lesson_id, ? AS content_id, ? AS progress_type, "
+            + "? AS completion_percentage, ? AS time_spent, ? AS video_watch_duration, ? AS video_total_duration, "
+            + "? AS is_completed, ? AS attempts_count, ? AS first_accessed_at, ? AS last_accessed_at) AS s "
+            + "ON t.id = (SELECT MIN(x.id) FROM course_progress x WHERE x.user_id = s.user_id AND x.content_id = s.content_id) "
+            + "WHEN MATCHED THEN UPDATE SET "
+            + "progress_type = CASE WHEN t.is_completed = 1 THEN t.progress_type ELSE s.progress_type END, "
+            + "completion_percentage = CASE WHEN t.completion_percentage >= s.completion_percentage "
+            + "THEN t.completion_percentage ELSE s.completion_percentage END, "
+            + "time_spent = COALESCE(t.time_spent, 0) + s.time_spent, "
+            + "video_watch_duration = CASE WHEN s.video_watch_duration IS NULL "
+            + "OR t.video_watch_duration >= s.video_watch_duration "
+            + "THEN t.video_watch_duration ELSE s.video_watch_duration END, "
+            + "video_total_duration = COALESCE(s.video_total_duration, t.video_total_duration), "
+            + "completed_at = CASE WHEN t.is_completed = 1 THEN t.completed_at "
+            + "WHEN s.is_completed = 1 THEN s.last_accessed_at ELSE t.completed_at END, "
+            + "is_completed = CASE WHEN t.is_completed = 1 OR s.is_completed = 1 THEN 1 ELSE 0 END, "
+            + "attempts_count = COALESCE(t.attempts_count, 0) + s.attempts_count, "
+            + "last_accessed_at = s.last_accessed_at, "
+            + "updated_at = s.last_accessed_at "
+            + "WHEN NOT MATCHED THEN INSERT (user_id, course_id, lesson_id, content_id, progress_type, "
+            + "completion_percentage, time_spent, video_watch_duration, video_total_duration, is_completed, "
+            + "completed_at, attempts_count, first_accessed_at, last_accessed_at, created_at, updated_at) "
+            + "VALUES (s.user_id, s.course_id, s.lesson_id, s.content_id, s.progress_type, "
+            + "s.completion_percentage, s.time_spent, s.video_watch_duration, s.video_total_duration, s.is_completed, "
+            + "CASE WHEN s.is_completed = 1 THEN s.last_accessed_at END, s.attempts_count, "
+            + "s.first_accessed_at, s.last_accessed_at, s.first_accessed_at, s.last_accessed_at);";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void upsertContentProgress(List<ContentProgressUpdate> updates) {
+        if (updates.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(updates.size());
+        for (ContentProgressUpdate update : updates) {
+            rows.add(new Object[] {
+                update.getUserId(), update.getCourseId(), update.getLessonId(), update.getContentId(),
+                update.getProgressType(), update.getCompletionPercentage(), update.getTimeSpentMinutes(),
+                update.getVideoWatchDuration(), update.getVideoTotalDuration(), update.isCompleted(),
+                update.getAttempts(), Timestamp.valueOf(update.getFirstAccessedAt()),
+                Timestamp.valueOf(update.getLastAccessedAt())
+            });
+        }
+        jdbcTemplate.batchUpdate(UPSERT_CONTENT_PROGRESS, rows);
+    }
+}
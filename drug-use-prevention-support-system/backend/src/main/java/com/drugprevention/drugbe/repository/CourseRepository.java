@@ -12,7 +12,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface CourseRepository extends JpaRepository<Course, Long> {
+public interface CourseRepository extends JpaRepository<Course, Long>, CourseRepositoryCustom {
     
     // Find courses by instructor ID
     List<Course> findByInstructorId(Long instructorId);
@@ -43,6 +43,10 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
     List<Course> findByStartDateBetween(LocalDateTime startDate, LocalDateTime endDate);
     List<Course> findByStartDateAfter(LocalDateTime startDate);
     
+    // All courses with instructor and category in one query, for the catalogue snapshot
+    @Query("SELECT c FROM Course c LEFT JOIN FETCH c.instructor LEFT JOIN FETCH c.category")
+    List<Course> findAllWithInstructorAndCategory();
+
     // Find courses with available spots - UPDATED: No participant limits
     @Query("SELECT c FROM Course c WHERE c.status = 'open'")
     List<Course> findAvailableCourses();
@@ -67,4 +71,15 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
     
     // Get courses by instructor and status
     List<Course> findByInstructorIdAndStatus(Long instructorId, String status);
-} 
\ No newline at end of file
+    
+    // Course totals for statistics: total, active, participants in active courses,
+    // courses with a participant count, total participants, highest enrollment
+    @Query("SELECT COUNT(c), " +
+           "COALESCE(SUM(CASE WHEN c.isActive = true THEN 1 ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN c.isActive = true THEN COALESCE(c.currentParticipants, 0) ELSE 0 END), 0), " +
+           "COUNT(c.currentParticipants), " +
+           "COALESCE(SUM(c.currentParticipants), 0), " +
+           "COALESCE(MAX(c.currentParticipants), 0) " +
+           "FROM Course c")
+    List<Object[]> summarizeCourses();
+}
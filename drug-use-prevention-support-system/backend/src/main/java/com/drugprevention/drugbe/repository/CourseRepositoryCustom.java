@@ -0,0 +1,21 @@
+package com.drugprevention.drugbe.repository;
+
+public interface CourseRepositoryCustom {
+
+    // Atomically add delta to current_participants without going below zero;
+    // null if the course does not exist or the count would become negative
+    ParticipantCount adjustParticipants(Long courseId, int delta);
+
+    final class ParticipantCount {
+        private final int count;
+        private final boolean active;
+
+        public ParticipantCount(int count, boolean active) {
+            this.count = count;
+            this.active = active;
+        }
+
+        public int getCount() { return count; }
+        public boolean isActive() { return active; }
+    }
+}
@@ -0,0 +1,27 @@
+package com.drugprevention.drugbe.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+public class CourseRepositoryImpl implements CourseRepositoryCustom {
+
+    // One statement reads and writes the counter, so concurrent enrolments cannot lose increments
+    // and no other column of the row is rewritten
+    private static final String ADJUST_PARTICIPANTS =
+            "UPDATE courses SET current_participants = COALESCE(current_participants, 0) + ? "
+            + "OUTPUT inserted.current_participants, inserted.is_active "
+            + "WHERE id = ? AND COALESCE(current_participants, 0) + ? >= 0";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public ParticipantCount adjustParticipants(Long courseId, int delta) {
+        List<ParticipantCount> rows = jdbcTemplate.query(ADJUST_PARTICIPANTS,
+                (rs, rowNum) -> new ParticipantCount(rs.getInt(1), rs.getBoolean(2)),
+                delta, courseId, delta);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+}
@@ -0,0 +1,29 @@
+package com.drugprevention.drugbe.repository;
+
+import com.drugprevention.drugbe.entity.Notification;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface NotificationRepository extends JpaRepository<Notification, Long>, NotificationRepositoryCustom {
+
+    // One keyset page of a user's notifications, newest first
+    List<Notification> findByUserIdAndIdLessThanOrderByIdDesc(Long userId, Long id, Pageable pageable);
+
+    // Count unread notifications grouped by user
+    @Query("SELECT n.userId, COUNT(n) FROM Notification n WHERE n.isRead = false GROUP BY n.userId")
+    List<Object[]> countUnreadByUser();
+
+    // Mark one notification of a user as read; returns 0 if it was already read or belongs to someone else
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true, n.readAt = :readAt " +
+           "WHERE n.id = :id AND n.userId = :userId AND n.isRead = false")
+    int markAsRead(@Param("id") Long id, @Param("userId") Long userId, @Param("readAt") LocalDateTime readAt);
+}
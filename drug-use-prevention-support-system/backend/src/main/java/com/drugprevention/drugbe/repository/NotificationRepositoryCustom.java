@@ -0,0 +1,12 @@
+package com.drugprevention.drugbe.repository;
+
+import com.drugprevention.drugbe.entity.Notification;
+
+import java.util.List;
+
+public interface NotificationRepositoryCustom {
+
+    // Insert notifications with multi-row INSERT statements instead of one round trip per row.
+    // Generated ids are not read back into the entities.
+    int insertAll(List<Notification> notifications);
+}
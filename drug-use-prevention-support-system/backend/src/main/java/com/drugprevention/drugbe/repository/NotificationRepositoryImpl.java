@@ -0,0 +1,49 @@
+package com.drugprevention.drugbe.repository;
+
+import com.drugprevention.drugbe.entity.Notification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class NotificationRepositoryImpl implements NotificationRepositoryCustom {
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO notifications (user_id, type, title, message, reference_id, is_read, created_at) VALUES ";
+
+    private static final int COLUMNS = 7;
+
+    // SQL Server accepts at most 2100 parameters per statement
+    private static final int MAX_ROWS_PER_STATEMENT = 2000 / COLUMNS;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int insertAll(List<Notification> notifications) {
+        int inserted = 0;
+        for (int from = 0; from < notifications.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<Notification> chunk = notifications.subList(from, Math.min(from + MAX_ROWS_PER_STATEMENT, notifications.size()));
+
+            StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+            List<Object> params = new ArrayList<>(chunk.size() * COLUMNS);
+            for (int i = 0; i < chunk.size(); i++) {
+                Notification notification = chunk.get(i);
+                sql.append(i == 0 ? "(?, ?, ?, ?, ?, ?, ?)" : ", (?, ?, ?, ?, ?, ?, ?)");
+                LocalDateTime createdAt = notification.getCreatedAt() != null ? notification.getCreatedAt() : LocalDateTime.now();
+                params.add(notification.getUserId());
+                params.add(notification.getType());
+                params.add(notification.getTitle());
+                params.add(notification.getMessage());
+                params.add(notification.getReferenceId());
+                params.add(Boolean.TRUE.equals(notification.getIsRead()));
+                params.add(Timestamp.valueOf(createdAt));
+            }
+            inserted += jdbcTemplate.update(sql.toString(), params.toArray());
+        }
+        return inserted;
+    }
+}
@@ -0,0 +1,15 @@
+package com.drugprevention.drugbe.repository;
+
+import com.drugprevention.drugbe.entity.PaymentIpnEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PaymentIpnEventRepository extends JpaRepository<PaymentIpnEvent, Long> {
+
+    // Find recorded events for a batch of transaction references
+    List<PaymentIpnEvent> findByTxnRefIn(Collection<String> txnRefs);
+}
@@ -4,11 +4,15 @@ import com.drugprevention.drugbe.entity.Payment;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface PaymentRepository extends JpaRepository<Payment, Long> {
+public interface PaymentRepository extends JpaRepository<Payment, Long>, PaymentRepositoryCustom {
     List<Payment> findByUserId(Long userId);
     List<Payment> findByAppointmentId(Long appointmentId);
     Payment findByTransactionId(String transactionId);
-} 
\ No newline at end of file
+    List<Payment> findByTxnRefIn(Collection<String> txnRefs);
+    Optional<Payment> findFirstByTxnRef(String txnRef);
+}
@@ -0,0 +1,13 @@
+package com.drugprevention.drugbe.repository;
+
+public interface PaymentRepositoryCustom {
+
+    // Create the order number sequence if it does not exist yet
+    void createOrderSequenceIfMissing(int blockSize);
+
+    // Create the filtered unique index on payments.txn_ref if it does not exist yet
+    void createTxnRefIndexIfMissing();
+
+    // First value of the next block of blockSize order numbers
+    long nextOrderNumberBlock();
+}
@@ -0,0 +1,37 @@
+package com.drugprevention.drugbe.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public class PaymentRepositoryImpl implements PaymentRepositoryCustom {
+
+    private static final String SEQUENCE = "payment_order_seq";
+
+    private static final String TXN_REF_INDEX = "ux_payments_txn_ref";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void createOrderSequenceIfMissing(int blockSize) {
+        jdbcTemplate.execute("IF NOT EXISTS (SELECT 1 FROM sys.sequences WHERE name = '" + SEQUENCE + "') "
+                + "EXEC('CREATE SEQUENCE " + SEQUENCE + " AS BIGINT START WITH 1 INCREMENT BY " + blockSize + "')");
+    }
+
+    // A plain UNIQUE constraint admits a single NULL in SQL Server, and legacy rows have no txn_ref
+    @Override
+    public void createTxnRefIndexIfMissing() {
+        jdbcTemplate.execute("IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = '" + TXN_REF_INDEX + "' "
+                + "AND object_id = OBJECT_ID('payments')) "
+                + "CREATE UNIQUE INDEX " + TXN_REF_INDEX + " ON payments(txn_ref) WHERE txn_ref IS NOT NULL");
+    }
+
+    @Override
+    public long nextOrderNumberBlock() {
+        Long value = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + SEQUENCE, Long.class);
+        if (value == null) {
+            throw new RuntimeException("Could not allocate payment order numbers");
+        }
+        return value;
+    }
+}
@@ -1,6 +1,7 @@
 package com.drugprevention.drugbe.repository;
 
 import com.drugprevention.drugbe.entity.Review;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -38,4 +39,7 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     // Get recent reviews
     @Query("SELECT r FROM Review r WHERE r.consultantId = :consultantId ORDER BY r.createdAt DESC LIMIT :limit")
     List<Review> findRecentReviewsByConsultantId(@Param("consultantId") Long consultantId, @Param("limit") int limit);
-} 
\ No newline at end of file
+
+    // Keyset page of a consultant's reviews, newest first
+    List<Review> findByConsultantIdAndIdLessThanOrderByIdDesc(Long consultantId, Long id, Pageable pageable);
+}
@@ -1,6 +1,7 @@
 package com.drugprevention.drugbe.repository;
 
 import com.drugprevention.drugbe.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -71,9 +72,16 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT r.name, COUNT(u) FROM User u JOIN u.role r GROUP BY r.name")
     List<Object[]> countUsersByRole();
     
+    // Count active consultants
+    @Query("SELECT COUNT(u) FROM User u JOIN u.role r WHERE r.name = 'CONSULTANT' AND u.isActive = true")
+    Long countActiveConsultants();
+    
     // Check if username exists
     boolean existsByUsername(String username);
     
     // Check if email exists
     boolean existsByEmail(String email);
-} 
\ No newline at end of file
+
+    // Keyset page, newest first
+    List<User> findByIdLessThanOrderByIdDesc(Long id, Pageable pageable);
+}
@@ -0,0 +1,221 @@
+package com.drugprevention.drugbe.service;
+
+import com.drugprevention.drugbe.config.ThreadingConfig;
+import com.drugprevention.drugbe.entity.Appointment;
+import com.drugprevention.drugbe.repository.AppointmentRepository;
+import com.drugprevention.drugbe.util.TimingWheel;
+import com.drugprevention.drugbe.util.TransactionUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-appointment lifecycle deadlines held in a hierarchical timing wheel: the end of the
+ * appointment (auto-completion), 24 hours before it (payment reminder) and its start (expiry of an
+ * appointment never confirmed). The wheel is loaded at startup and kept current by
+ * AppointmentService after create, confirm, reschedule and cancel commit; a single thread advances
+ * it every tick and hands due appointments to AppointmentSweeper. The sweeper's guarded updates
+ * decide whether a transition still applies, so a stale timer is harmless and a failed one is
+ * retried. A timer that fires before its transition applies (a reminder for an appointment not yet
+ * confirmed) is re-armed on confirmation, and a low-frequency reload from the table re-arms
+ * anything still open as a safety net, e.g. for changes made on another instance.
+ */
+@Service
+public class AppointmentLifecycleTimers {
+
+    private static final Logger logger = LoggerFactory.getLogger(AppointmentLifecycleTimers.class);
+
+    private static final int WHEEL_SIZE = 512;
+
+    private static final long REMINDER_LEAD_HOURS = 24;
+
+    private enum Kind { END, PAYMENT_REMINDER, PENDING_EXPIRY }
+
+    private static final int KINDS = Kind.values().length;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private AppointmentSweeper appointmentSweeper;
+
+    @Autowired
+    private ThreadingConfig threadingConfig;
+
+    @Value("${appointments.timers.tick-ms:1000}")
+    private long tickMs;
+
+    @Value("${appointments.timers.retry-delay-ms:60000}")
+    private long retryDelayMs;
+
+    @Value("${appointments.timers.reload-interval-ms:1800000}")
+    private long reloadIntervalMs;
+
+    // Keyed by appointmentId * KINDS + kind; guarded by itself
+    private TimingWheel<Long> wheel;
+
+    private ScheduledExecutorService executor;
+
+    @PostConstruct
+    void start() {
+        wheel = new TimingWheel<>(tickMs, WHEEL_SIZE, System.currentTimeMillis());
+        executor = Executors.newSingleThreadScheduledExecutor(threadingConfig.threadFactory("appointment-timers"));
+        executor.execute(this::load);
+        executor.scheduleWithFixedDelay(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+        executor.scheduleWithFixedDelay(this::load, reloadIntervalMs, reloadIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ===== SCHEDULING =====
+
+    // The appointment was created or rescheduled; its timers are (re)set after commit
+    public void scheduleAppointment(Appointment appointment) {
+        Long id = appointment.getId();
+        LocalDateTime start = appointment.getAppointmentDate();
+        Integer duration = appointment.getDurationMinutes();
+        TransactionUtils.afterCommit(() -> {
+            synchronized (wheel) {
+                if (duration != null) {
+                    wheel.schedule(key(id, Kind.END), epochMs(start.plusMinutes(duration)));
+                }
+                wheel.schedule(key(id, Kind.PAYMENT_REMINDER), epochMs(start.minusHours(REMINDER_LEAD_HOURS)));
+                wheel.schedule(key(id, Kind.PENDING_EXPIRY), epochMs(start));
+            }
+        });
+    }
+
+    // The appointment became CONFIRMED; a reminder or end timer that fired while it was still
+    // PENDING matched no rows, so both are armed again (a passed deadline fires on the next tick)
+    public void appointmentConfirmed(Appointment appointment) {
+        Long id = appointment.getId();
+        LocalDateTime start = appointment.getAppointmentDate();
+        Integer duration = appointment.getDurationMinutes();
+        boolean unpaid = !appointment.isPaid();
+        TransactionUtils.afterCommit(() -> {
+            synchronized (wheel) {
+                if (duration != null) {
+                    wheel.schedule(key(id, Kind.END), epochMs(start.plusMinutes(duration)));
+                }
+                if (unpaid) {
+                    wheel.schedule(key(id, Kind.PAYMENT_REMINDER), epochMs(start.minusHours(REMINDER_LEAD_HOURS)));
+                }
+                wheel.cancel(key(id, Kind.PENDING_EXPIRY));
+            }
+        });
+    }
+
+    public void cancelAppointment(Long appointmentId) {
+        TransactionUtils.afterCommit(() -> {
+            synchronized (wheel) {
+                for (Kind kind : Kind.values()) {
+                    wheel.cancel(key(appointmentId, kind));
+                }
+            }
+        });
+    }
+
+    public int getScheduledTimerCount() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    // ===== TIMER THREAD =====
+
+    // Timers set by live changes while loading win over the rows read here; also run periodically
+    // to re-arm timers of appointments still open
+    private void load() {
+        try {
+            int loaded = 0;
+            for (Object[] row : appointmentRepository.findLifecycleDeadlines()) {
+                Long id = (Long) row[0];
+                LocalDateTime start = (LocalDateTime) row[1];
+                Integer duration = (Integer) row[2];
+                String status = (String) row[3];
+                String paymentStatus = (String) row[4];
+                LocalDateTime reminderSentAt = (LocalDateTime) row[5];
+                synchronized (wheel) {
+                    if (duration != null) {
+                        wheel.scheduleIfAbsent(key(id, Kind.END), epochMs(start.plusMinutes(duration)));
+                    }
+                    if ("UNPAID".equals(paymentStatus) && reminderSentAt == null) {
+                        wheel.scheduleIfAbsent(key(id, Kind.PAYMENT_REMINDER),
+                                epochMs(start.minusHours(REMINDER_LEAD_HOURS)));
+                    }
+                    if ("PENDING".equals(status)) {
+                        wheel.scheduleIfAbsent(key(id, Kind.PENDING_EXPIRY), epochMs(start));
+                    }
+                }
+                loaded++;
+            }
+            logger.info("Appointment timers loaded for {} appointments", loaded);
+        } catch (Exception e) {
+            logger.error("Loading appointment timers failed, retrying: {}", e.getMessage());
+            executor.schedule(this::load, retryDelayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void tick() {
+        List<Long> due;
+        synchronized (wheel) {
+            due = wheel.advance(System.currentTimeMillis());
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+
+        Map<Kind, List<Long>> idsByKind = new EnumMap<>(Kind.class);
+        for (Long key : due) {
+            idsByKind.computeIfAbsent(Kind.values()[(int) (key % KINDS)], kind -> new ArrayList<>()).add(key / KINDS);
+        }
+        idsByKind.forEach((kind, ids) -> {
+            try {
+                switch (kind) {
+                    case END -> appointmentSweeper.completeAppointments(ids);
+                    case PAYMENT_REMINDER -> appointmentSweeper.sendPaymentReminders(ids);
+                    case PENDING_EXPIRY -> appointmentSweeper.expirePendingAppointments(ids);
+                }
+            } catch (Exception e) {
+                logger.error("Appointment {} timers failed for {} appointments, retrying: {}",
+                        kind, ids.size(), e.getMessage());
+                long retryAt = System.currentTimeMillis() + retryDelayMs;
+                synchronized (wheel) {
+                    for (Long id : ids) {
+                        wheel.scheduleIfAbsent(key(id, kind), retryAt);
+                    }
+                }
+            }
+        });
+    }
+
+    private static long key(Long appointmentId, Kind kind) {
+        return appointmentId * KINDS + kind.ordinal();
+    }
+
+    private static long epochMs(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
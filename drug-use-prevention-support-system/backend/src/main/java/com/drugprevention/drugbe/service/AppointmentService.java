@@ -9,21 +9,27 @@ import com.drugprevention.drugbe.repository.AppointmentRepository;
 import com.drugprevention.drugbe.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 
 import java.time.LocalDateTime;
 import java.time.DayOfWeek;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import java.util.ArrayList;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.HashSet;
+import java.util.Set;
 import java.time.LocalDate;
 import com.drugprevention.drugbe.service.VnPayService;
 import com.drugprevention.drugbe.service.PaymentService;
 import com.drugprevention.drugbe.entity.Payment;
+import com.drugprevention.drugbe.dto.CursorPage;
+import com.drugprevention.drugbe.util.KeysetCursor;
 
 @Service
 @Transactional
@@ -41,8 +47,30 @@ public class AppointmentService {
     @Autowired
     private PaymentService paymentService;
 
+    @Autowired
+    private PaymentOrderRegistry paymentOrderRegistry;
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Autowired
+    private ConsultantAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private AppointmentSlotReservationService slotReservationService;
+
+    @Autowired
+    private AppointmentSweeper appointmentSweeper;
+
+    @Autowired
+    private AppointmentLifecycleTimers lifecycleTimers;
+
+    @Autowired
+    private NotificationService notificationService;
+
     // ===== CREATE APPOINTMENT WITH PAYMENT =====
     
+    // Appointment, slot and payment are written in one transaction; a failure rolls back all of them
     public Map<String, Object> createAppointmentWithPayment(CreateAppointmentRequest request) {
         try {
             // First create the appointment
@@ -59,6 +87,7 @@ public class AppointmentService {
             
             return result;
         } catch (Exception e) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
             Map<String, Object> result = new HashMap<>();
             result.put("success", false);
             result.put("error", e.getMessage());
@@ -67,45 +96,35 @@ public class AppointmentService {
     }
     
     private Map<String, Object> createPaymentForAppointment(AppointmentDTO appointment) {
-        try {
-            // Create payment entity
-            Payment payment = new Payment();
-            payment.setAppointment(new Appointment());
-            payment.getAppointment().setId(appointment.getId());
-            payment.setUser(new User());
-            payment.getUser().setId(appointment.getClientId());
-            payment.setAmount(appointment.getFee());
-            payment.setCurrency("VND");
-            payment.setPaymentMethod("VNPAY");
-            payment.setStatus("PENDING");
-            payment.setDescription("Payment for appointment with " + appointment.getConsultantName() + 
-                                 " on " + appointment.getAppointmentDate().toLocalDate());
-            payment.setCreatedAt(LocalDateTime.now());
-            
-            payment = paymentService.createPayment(payment);
-
-            // Create VNPay parameters
-            Map<String, String> vnpParams = new HashMap<>();
-            vnpParams.put("vnp_Amount", String.valueOf((long)(appointment.getFee().doubleValue() * 100)));
-            vnpParams.put("vnp_OrderInfo", "Appointment payment - ID: " + appointment.getId());
-            vnpParams.put("vnp_OrderType", "appointment");
-            vnpParams.put("vnp_TxnRef", payment.getId().toString());
-
-            String paymentUrl = vnPayService.createPaymentUrl(vnpParams);
-            payment.setPaymentUrl(paymentUrl);
-            paymentService.createPayment(payment);
-
-            Map<String, Object> paymentResult = new HashMap<>();
-            paymentResult.put("paymentId", payment.getId());
-            paymentResult.put("paymentUrl", paymentUrl);
-            paymentResult.put("status", payment.getStatus());
-            
-            return paymentResult;
-        } catch (Exception e) {
-            Map<String, Object> errorResult = new HashMap<>();
-            errorResult.put("error", "Failed to create payment: " + e.getMessage());
-            return errorResult;
-        }
+        // Create payment entity
+        Payment payment = new Payment();
+        payment.setAppointment(appointmentRepository.getReferenceById(appointment.getId()));
+        payment.setUser(userRepository.getReferenceById(appointment.getClientId()));
+        payment.setAmount(appointment.getFee());
+        payment.setCurrency("VND");
+        payment.setPaymentMethod("VNPAY");
+        payment.setStatus("PENDING");
+        payment.setDescription("Payment for appointment with " + appointment.getConsultantName() + 
+                             " on " + appointment.getAppointmentDate().toLocalDate());
+        payment.setCreatedAt(LocalDateTime.now());
+
+        // Create VNPay parameters; the order reference is allocated before insert
+        Map<String, String> vnpParams = new HashMap<>();
+        vnpParams.put("vnp_Amount", String.valueOf((long)(appointment.getFee().doubleValue() * 100)));
+        vnpParams.put("vnp_OrderInfo", "Appointment payment - ID: " + appointment.getId());
+        vnpParams.put("vnp_OrderType", "appointment");
+        vnpParams.put("vnp_TxnRef", paymentOrderRegistry.register(payment, PaymentOrderRegistry.OrderType.APPOINTMENT, appointment.getId()));
+
+        String paymentUrl = vnPayService.createPaymentUrl(vnpParams);
+        payment.setPaymentUrl(paymentUrl);
+        payment = paymentService.createPayment(payment);
+
+        Map<String, Object> paymentResult = new HashMap<>();
+        paymentResult.put("paymentId", payment.getId());
+        paymentResult.put("paymentUrl", paymentUrl);
+        paymentResult.put("status", payment.getStatus());
+        
+        return paymentResult;
     }
 
     // ===== CREATE APPOINTMENT =====
@@ -155,14 +174,8 @@ public class AppointmentService {
             throw new RuntimeException("Client and consultant cannot be the same person");
         }
 
-        // Check for scheduling conflicts
-        LocalDateTime endTime = request.getAppointmentDate().plusMinutes(request.getDurationMinutes());
-        List<Appointment> conflicts = appointmentRepository.findConflictingAppointments(
-                request.getConsultantId(), request.getAppointmentDate(), endTime);
-        
-        if (!conflicts.isEmpty()) {
-            throw new RuntimeException("Consultant already has an appointment during this time");
-        }
+        // Reserve the slot; rejects scheduling conflicts
+        slotReservationService.claim(request.getConsultantId(), request.getAppointmentDate());
 
         // Create new appointment
         Appointment appointment = new Appointment();
@@ -187,6 +200,13 @@ public class AppointmentService {
         appointment.setStatus("PENDING");
 
         appointment = appointmentRepository.save(appointment);
+        slotReservationService.record(appointment);
+        statisticsService.recordAppointmentStatusChange(null, appointment.getStatus());
+        availabilityIndex.recordChange(appointment.getConsultantId(), null, null,
+                appointment.getAppointmentDate(), appointment.getStatus());
+        lifecycleTimers.scheduleAppointment(appointment);
+        notificationService.publish(appointment.getConsultantId(), "APPOINTMENT_REQUESTED", "New appointment request",
+                "You have a new appointment request on " + appointment.getAppointmentDate(), appointment.getId());
         
         return convertToDTO(appointment);
     }
@@ -226,37 +246,27 @@ public class AppointmentService {
     
     public List<AppointmentDTO> getAppointmentsByClient(Long clientId) {
         List<Appointment> appointments = appointmentRepository.findByClientIdOrderByAppointmentDateDesc(clientId);
-        return appointments.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(appointments);
     }
 
     public List<AppointmentDTO> getAppointmentsByConsultant(Long consultantId) {
         List<Appointment> appointments = appointmentRepository.findByConsultantIdOrderByAppointmentDateDesc(consultantId);
-        return appointments.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(appointments);
     }
 
     public List<AppointmentDTO> getUpcomingAppointmentsByClient(Long clientId) {
         List<Appointment> appointments = appointmentRepository.findUpcomingAppointmentsByClient(clientId, LocalDateTime.now());
-        return appointments.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(appointments);
     }
 
     public List<AppointmentDTO> getUpcomingAppointmentsByConsultant(Long consultantId) {
         List<Appointment> appointments = appointmentRepository.findUpcomingAppointmentsByConsultant(consultantId, LocalDateTime.now());
-        return appointments.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(appointments);
     }
 
     public List<AppointmentDTO> getConsultantAppointmentsByDate(Long consultantId, LocalDateTime date) {
         List<Appointment> appointments = appointmentRepository.findConsultantAppointmentsByDate(consultantId, date);
-        return appointments.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(appointments);
     }
 
     public AppointmentDTO getAppointmentById(Long appointmentId) {
@@ -285,10 +295,34 @@ public class AppointmentService {
 
         appointment.setStatus("CONFIRMED");
         appointment = appointmentRepository.save(appointment);
+        statisticsService.recordAppointmentStatusChange("PENDING", "CONFIRMED");
+        availabilityIndex.recordChange(appointment.getConsultantId(), appointment.getAppointmentDate(), "PENDING",
+                appointment.getAppointmentDate(), "CONFIRMED");
+        lifecycleTimers.appointmentConfirmed(appointment);
+        publishConfirmed(appointment);
 
         return convertToDTO(appointment);
     }
 
+    // Confirm an appointment whose payment succeeded. Returns false instead of throwing when it can
+    // no longer be confirmed (missing, cancelled or expired meanwhile), so the payment still commits;
+    // a slot-holding appointment keeps its slot, so confirming it cannot hit a taken hour
+    public boolean confirmPaidAppointment(Long appointmentId) {
+        Appointment appointment = appointmentRepository.findByIdForUpdate(appointmentId).orElse(null);
+        if (appointment == null) {
+            return false;
+        }
+        String status = appointment.getStatus();
+        if ("CONFIRMED".equals(status) || "COMPLETED".equals(status)) {
+            return true;
+        }
+        if (!ConsultantAvailabilityIndex.isBlocking(status)) {
+            return false;
+        }
+        updateAppointmentStatus(appointmentId, "CONFIRMED");
+        return true;
+    }
+
     public AppointmentDTO cancelAppointment(Long appointmentId, Long userId, String reason) {
         Appointment appointment = appointmentRepository.findById(appointmentId)
                 .orElseThrow(() -> new RuntimeException("Appointment not found"));
@@ -302,8 +336,19 @@ public class AppointmentService {
             throw new RuntimeException("Cannot cancel this appointment");
         }
 
+        String previousStatus = appointment.getStatus();
         appointment.cancel(userId, reason);
         appointment = appointmentRepository.save(appointment);
+        slotReservationService.sync(appointment, previousStatus);
+        statisticsService.recordAppointmentStatusChange(previousStatus, appointment.getStatus());
+        availabilityIndex.recordChange(appointment.getConsultantId(), appointment.getAppointmentDate(), previousStatus,
+                appointment.getAppointmentDate(), appointment.getStatus());
+        lifecycleTimers.cancelAppointment(appointment.getId());
+
+        // Notify the other party
+        Long recipientId = appointment.getClientId().equals(userId) ? appointment.getConsultantId() : appointment.getClientId();
+        notificationService.publish(recipientId, "APPOINTMENT_CANCELLED", "Appointment cancelled",
+                "Your appointment on " + appointment.getAppointmentDate() + " has been cancelled", appointment.getId());
 
         return convertToDTO(appointment);
     }
@@ -323,6 +368,10 @@ public class AppointmentService {
         appointment.setStatus("COMPLETED");
         appointment.setConsultantNotes(notes);
         appointment = appointmentRepository.save(appointment);
+        slotReservationService.sync(appointment, "CONFIRMED");
+        statisticsService.recordAppointmentStatusChange("CONFIRMED", "COMPLETED");
+        availabilityIndex.recordChange(appointment.getConsultantId(), appointment.getAppointmentDate(), "CONFIRMED",
+                appointment.getAppointmentDate(), "COMPLETED");
 
         return convertToDTO(appointment);
     }
@@ -458,21 +507,62 @@ public class AppointmentService {
     
     public List<AppointmentDTO> getAllAppointments() {
         List<Appointment> appointments = appointmentRepository.findAll();
-        return appointments.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(appointments);
+    }
+
+    public CursorPage<AppointmentDTO> getAppointmentsPage(String cursor, Integer limit) {
+        int pageSize = KeysetCursor.limit(limit);
+        List<Appointment> rows = appointmentRepository.findByIdLessThanOrderByIdDesc(
+                KeysetCursor.afterId(cursor), KeysetCursor.fetch(pageSize));
+        return KeysetCursor.page(rows, pageSize, Appointment::getId).map(this::convertToDTOs);
     }
 
     public List<AppointmentDTO> getAppointmentsByStatus(String status) {
         List<Appointment> appointments = appointmentRepository.findByStatusOrderByAppointmentDateAsc(status);
-        return appointments.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(appointments);
     }
 
     // ===== UTILITY METHODS =====
     
     private AppointmentDTO convertToDTO(Appointment appointment) {
+        User client = userRepository.findById(appointment.getClientId()).orElse(null);
+        User consultant = userRepository.findById(appointment.getConsultantId()).orElse(null);
+        return convertToDTO(appointment, client, consultant);
+    }
+
+    // Convert a list of appointments, loading all referenced users in a single query
+    private List<AppointmentDTO> convertToDTOs(List<Appointment> appointments) {
+        if (appointments.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, User> users = loadUsers(appointments);
+
+        List<AppointmentDTO> dtos = new ArrayList<>(appointments.size());
+        for (Appointment appointment : appointments) {
+            dtos.add(convertToDTO(appointment,
+                    users.get(appointment.getClientId()),
+                    users.get(appointment.getConsultantId())));
+        }
+        return dtos;
+    }
+
+    // Load clients and consultants of the given appointments, keyed by user ID
+    private Map<Long, User> loadUsers(List<Appointment> appointments) {
+        Set<Long> userIds = new HashSet<>();
+        for (Appointment appointment : appointments) {
+            userIds.add(appointment.getClientId());
+            userIds.add(appointment.getConsultantId());
+        }
+
+        Map<Long, User> users = new HashMap<>();
+        for (User user : userRepository.findAllById(userIds)) {
+            users.put(user.getId(), user);
+        }
+        return users;
+    }
+
+    private AppointmentDTO convertToDTO(Appointment appointment, User clientUser, User consultantUser) {
         AppointmentDTO dto = new AppointmentDTO();
         dto.setId(appointment.getId());
         dto.setClientId(appointment.getClientId());
@@ -500,10 +590,8 @@ public class AppointmentService {
         dto.setPaidAt(appointment.getPaidAt());
         dto.setPaymentMethod(appointment.getPaymentMethod());
 
-        // Load user information
-        Optional<User> client = userRepository.findById(appointment.getClientId());
-        if (client.isPresent()) {
-            User clientUser = client.get();
+        // Fill in user information
+        if (clientUser != null) {
             String firstName = clientUser.getFirstName() != null ? clientUser.getFirstName() : "";
             String lastName = clientUser.getLastName() != null ? clientUser.getLastName() : "";
             dto.setClientName(firstName + " " + lastName);
@@ -515,9 +603,7 @@ public class AppointmentService {
             dto.setClientPhone("");
         }
 
-        Optional<User> consultant = userRepository.findById(appointment.getConsultantId());
-        if (consultant.isPresent()) {
-            User consultantUser = consultant.get();
+        if (consultantUser != null) {
             String firstName = consultantUser.getFirstName() != null ? consultantUser.getFirstName() : "";
             String lastName = consultantUser.getLastName() != null ? consultantUser.getLastName() : "";
             dto.setConsultantName(firstName + " " + lastName);
@@ -544,14 +630,12 @@ public class AppointmentService {
     
     // ===== AVAILABLE TIME SLOTS =====
     
+    // 1-hour slots from 8:00 to 17:00, skipping the 12:00-13:00 lunch break
+    private static final int[] WORKING_HOURS = {8, 9, 10, 11, 13, 14, 15, 16, 17};
+    
     public List<String> getAvailableTimeSlots(Long consultantId, LocalDateTime date) {
         // Validate consultant exists
-        User consultant = userRepository.findById(consultantId)
-                .orElseThrow(() -> new RuntimeException("Consultant not found"));
-                
-        if (!"CONSULTANT".equals(consultant.getRole().getName())) {
-            throw new RuntimeException("Selected person is not a consultant");
-        }
+        validateConsultant(consultantId);
         
         // Validate date
         LocalDateTime startOfDay = date.toLocalDate().atStartOfDay();
@@ -560,43 +644,21 @@ public class AppointmentService {
         }
         
         // Check if it's weekend
-        DayOfWeek dayOfWeek = date.getDayOfWeek();
-        if (dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY) {
+        if (isWeekend(date.toLocalDate())) {
             return List.of(); // Return empty list for weekends
         }
         
-        // Get all appointments for this consultant on this date
-        List<Appointment> appointments = appointmentRepository.findConsultantAppointmentsByDate(consultantId, date);
+        int bookedHours = getBookedHours(consultantId, date.toLocalDate());
         
-        // Generate all possible 1-hour time slots from 8:00 to 17:00 (skip lunch 12:00-13:00)
         List<String> allSlots = new ArrayList<>();
-        int[] workingHours = {8, 9, 10, 11, 13, 14, 15, 16, 17}; // Skip 12:00-13:00 lunch break
-        
-        for (int hour : workingHours) {
-            allSlots.add(String.format("%02d:00", hour));
-        }
-        
-        // Remove booked slots (1-hour appointments)
-        for (Appointment appointment : appointments) {
-            if (appointment.getStatus().equals("CANCELLED")) {
-                continue; // Skip cancelled appointments
+        LocalDateTime now = LocalDateTime.now();
+        boolean isToday = date.toLocalDate().equals(now.toLocalDate());
+        for (int hour : WORKING_HOURS) {
+            // For today, skip past time slots
+            if (ConsultantAvailabilityIndex.isBooked(bookedHours, hour) || (isToday && hour <= now.getHour())) {
+                continue;
             }
-            
-            LocalDateTime appointmentTime = appointment.getAppointmentDate();
-            // For 1-hour appointments, just remove the exact hour slot
-            String bookedSlot = String.format("%02d:00", appointmentTime.getHour());
-            allSlots.remove(bookedSlot);
-        }
-        
-        // For today, remove past time slots
-        if (date.toLocalDate().equals(LocalDateTime.now().toLocalDate())) {
-            LocalDateTime now = LocalDateTime.now();
-            allSlots.removeIf(slot -> {
-                String[] parts = slot.split(":");
-                int slotHour = Integer.parseInt(parts[0]);
-                int slotMinute = Integer.parseInt(parts[1]);
-                return slotHour < now.getHour() || (slotHour == now.getHour() && slotMinute <= now.getMinute());
-            });
+            allSlots.add(String.format("%02d:00", hour));
         }
         
         return allSlots;
@@ -606,64 +668,152 @@ public class AppointmentService {
     
     public List<Map<String, Object>> getAvailableTimeSlotsForDate(Long consultantId, LocalDate date) {
         // Validate consultant exists
-        User consultant = userRepository.findById(consultantId)
-                .orElseThrow(() -> new RuntimeException("Consultant not found"));
-                
-        if (!"CONSULTANT".equals(consultant.getRole().getName())) {
-            throw new RuntimeException("Selected person is not a consultant");
-        }
-        
+        validateConsultant(consultantId);
+        return availableSlotsForDate(consultantId, date);
+    }
+    
+    // For a consultant the caller has already loaded
+    public List<Map<String, Object>> getAvailableTimeSlotsForDate(User consultant, LocalDate date) {
+        validateConsultant(consultant);
+        return availableSlotsForDate(consultant.getId(), date);
+    }
+    
+    private List<Map<String, Object>> availableSlotsForDate(Long consultantId, LocalDate date) {
         // Validate date
         if (date.isBefore(LocalDate.now())) {
             throw new RuntimeException("Cannot view appointments in the past");
         }
         
         // Check if it's weekend
-        DayOfWeek dayOfWeek = date.getDayOfWeek();
-        if (dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY) {
+        if (isWeekend(date)) {
             return List.of(); // Return empty list for weekends
         }
         
-        // Get all appointments for this consultant on this date
-        LocalDateTime startOfDay = date.atStartOfDay();
-        List<Appointment> appointments = appointmentRepository.findConsultantAppointmentsByDate(consultantId, startOfDay);
+        return buildAvailableSlots(date, getBookedHours(consultantId, date), LocalDateTime.now());
+    }
+    
+    // Available slots for every day from startDate to endDate inclusive, validating the consultant once.
+    // Past days and weekends map to an empty list.
+    public Map<LocalDate, List<Map<String, Object>>> getAvailableTimeSlotsForDateRange(Long consultantId, LocalDate startDate, LocalDate endDate) {
+        validateConsultant(consultantId);
+        return availableSlotsForDateRange(consultantId, startDate, endDate);
+    }
+    
+    // For a consultant the caller has already loaded
+    public Map<LocalDate, List<Map<String, Object>>> getAvailableTimeSlotsForDateRange(User consultant, LocalDate startDate, LocalDate endDate) {
+        validateConsultant(consultant);
+        return availableSlotsForDateRange(consultant.getId(), startDate, endDate);
+    }
+    
+    private Map<LocalDate, List<Map<String, Object>>> availableSlotsForDateRange(Long consultantId, LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new RuntimeException("Start date cannot be after end date");
+        }
         
-        // Generate all possible 1-hour time slots from 8:00 to 17:00 (skip lunch)
-        List<Map<String, Object>> availableSlots = new ArrayList<>();
-        int[] workingHours = {8, 9, 10, 11, 13, 14, 15, 16, 17}; // Skip 12:00-13:00 lunch break
+        int[] bookedHours = availabilityIndex.getBookedHours(consultantId, startDate, endDate);
         
-        for (int hour : workingHours) {
-            LocalDateTime slotTime = date.atTime(hour, 0);
-            
-            // Check if slot is available (not booked)
-            boolean isAvailable = true;
+        // Days outside the index horizon are filled from one range query
+        LocalDate firstMissing = null;
+        LocalDate lastMissing = null;
+        for (int i = 0; i < bookedHours.length; i++) {
+            if (bookedHours[i] == ConsultantAvailabilityIndex.NOT_INDEXED) {
+                LocalDate day = startDate.plusDays(i);
+                if (firstMissing == null) {
+                    firstMissing = day;
+                }
+                lastMissing = day;
+            }
+        }
+        if (firstMissing != null) {
+            Map<LocalDate, Integer> loaded = new HashMap<>();
+            List<Appointment> appointments = appointmentRepository.findByConsultantIdAndDateRange(
+                    consultantId, firstMissing.atStartOfDay(), lastMissing.atTime(23, 59, 59));
             for (Appointment appointment : appointments) {
-                if (appointment.getStatus().equals("CANCELLED")) {
-                    continue; // Skip cancelled appointments
+                if (ConsultantAvailabilityIndex.isBlocking(appointment.getStatus())) {
+                    loaded.merge(appointment.getAppointmentDate().toLocalDate(),
+                            bookedBit(appointment.getAppointmentDate()), (a, b) -> a | b);
                 }
-                
-                LocalDateTime appointmentTime = appointment.getAppointmentDate();
-                
-                // For 1-hour appointments, check if exact hour matches
-                if (appointmentTime.getHour() == hour) {
-                    isAvailable = false;
-                    break;
+            }
+            for (int i = 0; i < bookedHours.length; i++) {
+                if (bookedHours[i] == ConsultantAvailabilityIndex.NOT_INDEXED) {
+                    bookedHours[i] = loaded.getOrDefault(startDate.plusDays(i), 0);
                 }
             }
-            
-            // For today, check if slot is in the past
-            if (date.equals(LocalDate.now()) && slotTime.isBefore(LocalDateTime.now())) {
-                isAvailable = false;
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+        Map<LocalDate, List<Map<String, Object>>> result = new LinkedHashMap<>();
+        for (int i = 0; i < bookedHours.length; i++) {
+            LocalDate day = startDate.plusDays(i);
+            if (day.isBefore(today) || isWeekend(day)) {
+                result.put(day, List.of());
+            } else {
+                result.put(day, buildAvailableSlots(day, bookedHours[i], now));
             }
-            
-            if (isAvailable) {
-                Map<String, Object> slot = new HashMap<>();
-                slot.put("time", String.format("%02d:00", hour));
-                slot.put("available", true);
-                slot.put("duration", 60); // Fixed 60 minutes
-                slot.put("fee", 100.0); // Default fee
-                availableSlots.add(slot);
+        }
+        return result;
+    }
+    
+    private void validateConsultant(Long consultantId) {
+        User consultant = userRepository.findById(consultantId)
+                .orElseThrow(() -> new RuntimeException("Consultant not found"));
+        validateConsultant(consultant);
+    }
+    
+    private static void validateConsultant(User consultant) {
+        if (consultant.getRole() == null || !"CONSULTANT".equals(consultant.getRole().getName())) {
+            throw new RuntimeException("Selected person is not a consultant");
+        }
+    }
+    
+    private static boolean isWeekend(LocalDate date) {
+        DayOfWeek dayOfWeek = date.getDayOfWeek();
+        return dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY;
+    }
+    
+    // Booked hours of a consultant on one day, from the availability index when the day is within its horizon
+    private int getBookedHours(Long consultantId, LocalDate date) {
+        int bookedHours = availabilityIndex.getBookedHours(consultantId, date);
+        if (bookedHours != ConsultantAvailabilityIndex.NOT_INDEXED) {
+            return bookedHours;
+        }
+        
+        bookedHours = 0;
+        List<Appointment> appointments = appointmentRepository.findConsultantAppointmentsByDate(consultantId, date.atStartOfDay());
+        for (Appointment appointment : appointments) {
+            if (ConsultantAvailabilityIndex.isBlocking(appointment.getStatus())) {
+                bookedHours |= bookedBit(appointment.getAppointmentDate());
+            }
+        }
+        return bookedHours;
+    }
+    
+    private static int bookedBit(LocalDateTime appointmentTime) {
+        int hour = appointmentTime.getHour();
+        if (hour < ConsultantAvailabilityIndex.FIRST_HOUR || hour > ConsultantAvailabilityIndex.LAST_HOUR) {
+            return 0;
+        }
+        return ConsultantAvailabilityIndex.bitOf(hour);
+    }
+    
+    private static List<Map<String, Object>> buildAvailableSlots(LocalDate date, int bookedHours, LocalDateTime now) {
+        List<Map<String, Object>> availableSlots = new ArrayList<>();
+        boolean isToday = date.equals(now.toLocalDate());
+        
+        for (int hour : WORKING_HOURS) {
+            // Skip booked slots and, for today, slots in the past
+            if (ConsultantAvailabilityIndex.isBooked(bookedHours, hour)
+                    || (isToday && date.atTime(hour, 0).isBefore(now))) {
+                continue;
             }
+            
+            Map<String, Object> slot = new HashMap<>();
+            slot.put("time", String.format("%02d:00", hour));
+            slot.put("available", true);
+            slot.put("duration", 60); // Fixed 60 minutes
+            slot.put("fee", 100.0); // Default fee
+            availableSlots.add(slot);
         }
         
         return availableSlots;
@@ -690,6 +840,8 @@ public class AppointmentService {
         List<Appointment> appointments = appointmentRepository.findByConsultantIdAndDateRange(
                 consultantId, startDateTime, endDateTime);
         
+        Map<Long, User> users = loadUsers(appointments);
+        
         List<Map<String, Object>> schedule = new ArrayList<>();
         for (Appointment appointment : appointments) {
             Map<String, Object> appointmentInfo = new HashMap<>();
@@ -703,9 +855,8 @@ public class AppointmentService {
             appointmentInfo.put("clientId", appointment.getClientId());
             
             // Get client name
-            Optional<User> client = userRepository.findById(appointment.getClientId());
-            if (client.isPresent()) {
-                User clientUser = client.get();
+            User clientUser = users.get(appointment.getClientId());
+            if (clientUser != null) {
                 String firstName = clientUser.getFirstName() != null ? clientUser.getFirstName() : "";
                 String lastName = clientUser.getLastName() != null ? clientUser.getLastName() : "";
                 appointmentInfo.put("clientName", firstName + " " + lastName);
@@ -733,24 +884,23 @@ public class AppointmentService {
         // Validate new appointment date/time
         validateAppointmentDateTime(request.getNewDateTime());
 
-        // Check for conflicts with new time
-        LocalDateTime endTime = request.getNewDateTime().plusMinutes(appointment.getDurationMinutes());
-        List<Appointment> conflicts = appointmentRepository.findConflictingAppointments(
-                appointment.getConsultantId(), request.getNewDateTime(), endTime);
-        
-        // Remove current appointment from conflicts list
-        conflicts = conflicts.stream()
-                .filter(a -> !a.getId().equals(appointmentId))
-                .collect(Collectors.toList());
-        
-        if (!conflicts.isEmpty()) {
-            throw new RuntimeException("Consultant already has an appointment during this time");
+        // Check for conflicts with new time, unless the appointment keeps its own slot
+        if (AppointmentSlotReservationService.needsNewSlot(appointment.getStatus(),
+                appointment.getAppointmentDate(), request.getNewDateTime())) {
+            slotReservationService.claim(appointment.getConsultantId(), request.getNewDateTime());
         }
 
         // Update appointment
+        String previousStatus = appointment.getStatus();
+        LocalDateTime previousDate = appointment.getAppointmentDate();
         appointment.setAppointmentDate(request.getNewDateTime());
         appointment.setStatus("RESCHEDULED");
         appointment = appointmentRepository.save(appointment);
+        slotReservationService.move(appointment, previousStatus, previousDate);
+        statisticsService.recordAppointmentStatusChange(previousStatus, "RESCHEDULED");
+        availabilityIndex.recordChange(appointment.getConsultantId(), previousDate, previousStatus,
+                appointment.getAppointmentDate(), "RESCHEDULED");
+        lifecycleTimers.scheduleAppointment(appointment);
 
         return convertToDTO(appointment);
     }
@@ -788,36 +938,25 @@ public class AppointmentService {
 
     // ===== AUTO COMPLETE PAST APPOINTMENTS =====
     
-    public void autoCompletePastAppointments() {
-        List<Appointment> appointmentsToComplete = appointmentRepository.findAppointmentsToAutoComplete(LocalDateTime.now());
-        
-        for (Appointment appointment : appointmentsToComplete) {
-            appointment.setStatus("COMPLETED");
-            appointmentRepository.save(appointment);
-        }
+    // Sweeps commit chunk by chunk, so they run outside this service's transaction
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int autoCompletePastAppointments() {
+        return appointmentSweeper.autoCompletePastAppointments();
     }
 
     // ===== SEND REMINDERS =====
     
-    public void sendAppointmentReminders() {
-        // Find appointments that need reminders (24 hours before)
-        LocalDateTime reminderTime = LocalDateTime.now().plusHours(24);
-        List<Appointment> appointmentsNeedingReminders = appointmentRepository.findAppointmentsNeedingPaymentReminder(reminderTime);
-        
-        // In a real implementation, you would send emails/SMS here
-        for (Appointment appointment : appointmentsNeedingReminders) {
-            // Send reminder logic here
-            System.out.println("Sending reminder for appointment: " + appointment.getId());
-        }
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int sendAppointmentReminders() {
+        // Unpaid appointments within the next 24 hours, each reminded once
+        return appointmentSweeper.sendPaymentReminders();
     }
     
     // ===== PENDING APPOINTMENTS =====
     
     public List<AppointmentDTO> getPendingAppointmentsByConsultant(Long consultantId) {
         List<Appointment> appointments = appointmentRepository.findByConsultantIdAndStatusOrderByAppointmentDateAsc(consultantId, "PENDING");
-        return appointments.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(appointments);
     }
 
     // Update appointment status
@@ -825,13 +964,27 @@ public class AppointmentService {
         Appointment appointment = appointmentRepository.findById(appointmentId)
                 .orElseThrow(() -> new RuntimeException("Appointment not found"));
         
+        String previousStatus = appointment.getStatus();
         appointment.setStatus(newStatus);
         appointment.setUpdatedAt(LocalDateTime.now());
         
         Appointment savedAppointment = appointmentRepository.save(appointment);
+        slotReservationService.sync(savedAppointment, previousStatus);
+        statisticsService.recordAppointmentStatusChange(previousStatus, newStatus);
+        availabilityIndex.recordChange(savedAppointment.getConsultantId(), savedAppointment.getAppointmentDate(), previousStatus,
+                savedAppointment.getAppointmentDate(), newStatus);
+        if ("CONFIRMED".equals(newStatus) && !"CONFIRMED".equals(previousStatus)) {
+            lifecycleTimers.appointmentConfirmed(savedAppointment);
+            publishConfirmed(savedAppointment);
+        }
         return convertToDTO(savedAppointment);
     }
 
+    private void publishConfirmed(Appointment appointment) {
+        notificationService.publish(appointment.getClientId(), "APPOINTMENT_CONFIRMED", "Appointment confirmed",
+                "Your appointment on " + appointment.getAppointmentDate() + " has been confirmed", appointment.getId());
+    }
+
     // ===== INNER CLASSES =====
     
     public static class AppointmentStatistics {
@@ -0,0 +1,165 @@
+package com.drugprevention.drugbe.service;
+
+import com.drugprevention.drugbe.entity.Appointment;
+import com.drugprevention.drugbe.entity.AppointmentSlot;
+import com.drugprevention.drugbe.repository.AppointmentRepository;
+import com.drugprevention.drugbe.repository.AppointmentSlotRepository;
+import com.drugprevention.drugbe.util.TransactionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Reserves consultant hours for appointments.
+ * A claim is checked under a per-consultant lock stripe against the availability index
+ * and the slots claimed by transactions still in flight, so conflicts are rejected
+ * without a range query. The claim is then persisted in appointment_slots, whose unique
+ * key on (consultant_id, slot_start) is the final guarantee across application instances.
+ */
+@Service
+public class AppointmentSlotReservationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AppointmentSlotReservationService.class);
+
+    public static final String SLOT_TAKEN_MESSAGE = "Consultant already has an appointment during this time";
+
+    private static final int STRIPES = 64;
+
+    @Autowired
+    private AppointmentSlotRepository appointmentSlotRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private ConsultantAvailabilityIndex availabilityIndex;
+
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+
+    // Slots claimed by transactions that have not completed yet
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    public AppointmentSlotReservationService() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Claim a consultant hour for the current transaction, throwing if it is already taken.
+     * The claim is released when the transaction completes; by then a committed booking
+     * is visible in the availability index.
+     */
+    public void claim(Long consultantId, LocalDateTime slotStart) {
+        LocalDateTime slot = toSlot(slotStart);
+        String key = consultantId + "@" + slot;
+        ReentrantLock stripe = stripeFor(consultantId);
+        stripe.lock();
+        try {
+            int bookedHours = availabilityIndex.getBookedHours(consultantId, slot.toLocalDate());
+            if ((bookedHours != ConsultantAvailabilityIndex.NOT_INDEXED
+                    && ConsultantAvailabilityIndex.isBooked(bookedHours, slot.getHour()))
+                    || !inFlight.add(key)) {
+                throw new RuntimeException(SLOT_TAKEN_MESSAGE);
+            }
+        } finally {
+            stripe.unlock();
+        }
+        TransactionUtils.afterCompletion(() -> inFlight.remove(key));
+    }
+
+    // Persist the slot row of a saved appointment; the unique key rejects double bookings
+    public void record(Appointment appointment) {
+        try {
+            appointmentSlotRepository.saveAndFlush(new AppointmentSlot(
+                    appointment.getConsultantId(), toSlot(appointment.getAppointmentDate()), appointment.getId()));
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException(SLOT_TAKEN_MESSAGE);
+        }
+    }
+
+    public void release(Long appointmentId) {
+        appointmentSlotRepository.deleteByAppointmentId(appointmentId);
+    }
+
+    public void releaseAll(Collection<Long> appointmentIds) {
+        if (!appointmentIds.isEmpty()) {
+            appointmentSlotRepository.deleteByAppointmentIdIn(appointmentIds);
+        }
+    }
+
+    // Keep the slot row in line with a status change made by the caller
+    public void sync(Appointment appointment, String previousStatus) {
+        boolean wasBlocking = ConsultantAvailabilityIndex.isBlocking(previousStatus);
+        boolean isBlocking = ConsultantAvailabilityIndex.isBlocking(appointment.getStatus());
+        if (wasBlocking && !isBlocking) {
+            release(appointment.getId());
+        } else if (!wasBlocking && isBlocking) {
+            claim(appointment.getConsultantId(), appointment.getAppointmentDate());
+            record(appointment);
+        }
+    }
+
+    /**
+     * Keep the slot row in line with a move of the appointment from previousDate, possibly with a
+     * status change. The caller must already have claimed the new slot when needsNewSlot is true.
+     */
+    public void move(Appointment appointment, String previousStatus, LocalDateTime previousDate) {
+        boolean wasBlocking = ConsultantAvailabilityIndex.isBlocking(previousStatus);
+        boolean isBlocking = ConsultantAvailabilityIndex.isBlocking(appointment.getStatus());
+        boolean moved = !isSameSlot(previousDate, appointment.getAppointmentDate());
+        if (wasBlocking && (moved || !isBlocking)) {
+            release(appointment.getId());
+        }
+        if (isBlocking && (moved || !wasBlocking)) {
+            record(appointment);
+        }
+    }
+
+    // Whether moving an appointment in previousStatus from previousDate to newDate takes a new slot
+    public static boolean needsNewSlot(String previousStatus, LocalDateTime previousDate, LocalDateTime newDate) {
+        return !ConsultantAvailabilityIndex.isBlocking(previousStatus) || !isSameSlot(previousDate, newDate);
+    }
+
+    private static boolean isSameSlot(LocalDateTime a, LocalDateTime b) {
+        return toSlot(a).equals(toSlot(b));
+    }
+
+    // Create slot rows for upcoming appointments booked before the table existed
+    public void backfillReservations() {
+        List<Appointment> appointments = appointmentRepository.findUpcomingAppointmentsWithoutSlot(LocalDateTime.now());
+        int created = 0;
+        for (Appointment appointment : appointments) {
+            try {
+                appointmentSlotRepository.saveAndFlush(new AppointmentSlot(
+                        appointment.getConsultantId(), toSlot(appointment.getAppointmentDate()), appointment.getId()));
+                created++;
+            } catch (DataIntegrityViolationException e) {
+                logger.warn("Appointment {} overlaps another booking of consultant {} at {}",
+                        appointment.getId(), appointment.getConsultantId(), appointment.getAppointmentDate());
+            }
+        }
+        if (created > 0) {
+            logger.info("Backfilled {} appointment slot reservations", created);
+        }
+    }
+
+    private ReentrantLock stripeFor(Long consultantId) {
+        return stripes[Long.hashCode(consultantId) & (STRIPES - 1)];
+    }
+
+    // Appointments start on the hour, so the slot is the start truncated to the hour
+    private static LocalDateTime toSlot(LocalDateTime dateTime) {
+        return dateTime.truncatedTo(ChronoUnit.HOURS);
+    }
+}
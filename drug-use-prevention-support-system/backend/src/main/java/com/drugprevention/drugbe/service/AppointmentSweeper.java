@@ -0,0 +1,253 @@
+package com.drugprevention.drugbe.service;
+
+import com.drugprevention.drugbe.repository.AppointmentRepository;
+import com.drugprevention.drugbe.repository.AppointmentRepositoryCustom.SweptAppointment;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Appointment lifecycle transitions: auto-completion, payment reminders and expiry of unconfirmed
+ * appointments. AppointmentLifecycleTimers applies them to the appointments whose deadlines are
+ * due; admins can still run a full sweep of completions or reminders as a recovery path.
+ * Every transition is a single guarded UPDATE ... OUTPUT, so nothing loads whole entities and
+ * concurrent runs (timers on several instances, or an admin sweep) never process the same
+ * appointment twice. Each chunk is one transaction; slot releases, statistics, availability and
+ * notifications follow from the returned rows. Timings and row counts are kept for the admin
+ * sweep status endpoint.
+ */
+@Service
+public class AppointmentSweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(AppointmentSweeper.class);
+
+    public static final String AUTO_COMPLETE = "autoComplete";
+    public static final String PAYMENT_REMINDERS = "paymentReminders";
+    public static final String PENDING_EXPIRY = "pendingExpiry";
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private AppointmentSlotReservationService slotReservationService;
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Autowired
+    private ConsultantAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${appointments.sweep.chunk-size:500}")
+    private int chunkSize;
+
+    private TransactionTemplate transactionTemplate;
+
+    private final Map<String, SweepMetrics> metrics = new LinkedHashMap<>();
+
+    @PostConstruct
+    void start() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        metrics.put(AUTO_COMPLETE, new SweepMetrics());
+        metrics.put(PAYMENT_REMINDERS, new SweepMetrics());
+        metrics.put(PENDING_EXPIRY, new SweepMetrics());
+    }
+
+    // ===== FULL SWEEPS =====
+
+    // Complete CONFIRMED appointments that have ended; returns the number completed
+    public int autoCompletePastAppointments() {
+        LocalDateTime now = LocalDateTime.now();
+        return sweep(AUTO_COMPLETE, limit -> completed(appointmentRepository.completePastAppointments(now, limit)));
+    }
+
+    // Remind clients of unpaid CONFIRMED appointments within the next 24 hours, once per appointment
+    public int sendPaymentReminders() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime reminderTime = now.plusHours(24);
+        return sweep(PAYMENT_REMINDERS, limit -> reminded(appointmentRepository.claimPaymentReminders(reminderTime, now, limit)));
+    }
+
+    // ===== DUE APPOINTMENTS =====
+
+    // Complete those of ids that are CONFIRMED and have ended
+    public int completeAppointments(Collection<Long> ids) {
+        LocalDateTime now = LocalDateTime.now();
+        return apply(AUTO_COMPLETE, ids, chunk -> completed(appointmentRepository.completeAppointments(chunk, now)));
+    }
+
+    // Remind clients of those of ids that are unpaid, CONFIRMED, not yet reminded and within 24 hours
+    public int sendPaymentReminders(Collection<Long> ids) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime reminderTime = now.plusHours(24);
+        return apply(PAYMENT_REMINDERS, ids,
+                chunk -> reminded(appointmentRepository.claimPaymentReminders(chunk, reminderTime, now)));
+    }
+
+    // Cancel those of ids still PENDING and unpaid at their start time
+    public int expirePendingAppointments(Collection<Long> ids) {
+        LocalDateTime now = LocalDateTime.now();
+        return apply(PENDING_EXPIRY, ids, chunk -> expired(appointmentRepository.expirePendingAppointments(chunk, now)));
+    }
+
+    public Map<String, Object> getSweepMetrics() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        metrics.forEach((name, sweepMetrics) -> result.put(name, sweepMetrics.toMap()));
+        return result;
+    }
+
+    // ===== SIDE EFFECTS =====
+
+    private List<SweptAppointment> completed(List<SweptAppointment> completed) {
+        if (completed.isEmpty()) {
+            return completed;
+        }
+        List<Long> ids = new ArrayList<>(completed.size());
+        for (SweptAppointment appointment : completed) {
+            ids.add(appointment.getId());
+            availabilityIndex.recordChange(appointment.getConsultantId(), appointment.getAppointmentDate(),
+                    "CONFIRMED", appointment.getAppointmentDate(), "COMPLETED");
+        }
+        slotReservationService.releaseAll(ids);
+        statisticsService.recordAppointmentStatusChanges("CONFIRMED", "COMPLETED", completed.size());
+        return completed;
+    }
+
+    private List<SweptAppointment> reminded(List<SweptAppointment> reminded) {
+        for (SweptAppointment appointment : reminded) {
+            notificationService.publish(appointment.getClientId(), "PAYMENT_REMINDER", "Payment reminder",
+                    "Your appointment on " + appointment.getAppointmentDate() + " is waiting for payment",
+                    appointment.getId());
+        }
+        return reminded;
+    }
+
+    private List<SweptAppointment> expired(List<SweptAppointment> expired) {
+        if (expired.isEmpty()) {
+            return expired;
+        }
+        List<Long> ids = new ArrayList<>(expired.size());
+        for (SweptAppointment appointment : expired) {
+            ids.add(appointment.getId());
+            availabilityIndex.recordChange(appointment.getConsultantId(), appointment.getAppointmentDate(),
+                    "PENDING", appointment.getAppointmentDate(), "CANCELLED");
+            notificationService.publish(appointment.getClientId(), "APPOINTMENT_EXPIRED", "Appointment expired",
+                    "Your appointment on " + appointment.getAppointmentDate()
+                            + " was cancelled because it was not confirmed in time", appointment.getId());
+        }
+        slotReservationService.releaseAll(ids);
+        statisticsService.recordAppointmentStatusChanges("PENDING", "CANCELLED", expired.size());
+        return expired;
+    }
+
+    // ===== RUNNERS =====
+
+    // Apply a transition to ids in chunks of at most chunkSize, one transaction each
+    private int apply(String name, Collection<Long> ids, Function<List<Long>, List<SweptAppointment>> chunk) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        List<Long> all = new ArrayList<>(ids);
+        SweepMetrics sweepMetrics = metrics.get(name);
+        long started = System.nanoTime();
+        int total = 0;
+        try {
+            for (int from = 0; from < all.size(); from += chunkSize) {
+                List<Long> part = all.subList(from, Math.min(all.size(), from + chunkSize));
+                List<SweptAppointment> rows = transactionTemplate.execute(status -> chunk.apply(part));
+                total += rows != null ? rows.size() : 0;
+            }
+        } catch (RuntimeException e) {
+            sweepMetrics.failures.incrementAndGet();
+            throw e;
+        } finally {
+            sweepMetrics.record(total, System.nanoTime() - started);
+        }
+        if (total > 0) {
+            logger.info("Appointment transition {} applied to {} of {} due appointments", name, total, all.size());
+        }
+        return total;
+    }
+
+    // Run chunks of at most chunkSize rows, one transaction each, until a chunk comes back short
+    private int sweep(String name, Function<Integer, List<SweptAppointment>> chunk) {
+        SweepMetrics sweepMetrics = metrics.get(name);
+        long started = System.nanoTime();
+        int total = 0;
+        try {
+            while (true) {
+                List<SweptAppointment> rows = transactionTemplate.execute(status -> chunk.apply(chunkSize));
+                int count = rows != null ? rows.size() : 0;
+                total += count;
+                if (count < chunkSize) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            sweepMetrics.failures.incrementAndGet();
+            throw e;
+        } finally {
+            sweepMetrics.record(total, System.nanoTime() - started);
+        }
+        if (total > 0) {
+            logger.info("Appointment sweep {} processed {} rows in {} ms", name, total,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        }
+        return total;
+    }
+
+    private static final class SweepMetrics {
+        private final AtomicLong runs = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        private final AtomicLong rows = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private volatile long lastRows;
+        private volatile long lastNanos;
+        private volatile LocalDateTime lastRunAt;
+
+        private void record(int sweptRows, long nanos) {
+            runs.incrementAndGet();
+            rows.addAndGet(sweptRows);
+            totalNanos.addAndGet(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            lastRows = sweptRows;
+            lastNanos = nanos;
+            lastRunAt = LocalDateTime.now();
+        }
+
+        private Map<String, Object> toMap() {
+            long runCount = runs.get();
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("runs", runCount);
+            map.put("failures", failures.get());
+            map.put("rows", rows.get());
+            map.put("lastRows", lastRows);
+            map.put("lastDurationMs", TimeUnit.NANOSECONDS.toMillis(lastNanos));
+            map.put("averageDurationMs", runCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalNanos.get() / runCount));
+            map.put("maxDurationMs", TimeUnit.NANOSECONDS.toMillis(maxNanos.get()));
+            map.put("lastRunAt", lastRunAt);
+            return map;
+        }
+    }
+}
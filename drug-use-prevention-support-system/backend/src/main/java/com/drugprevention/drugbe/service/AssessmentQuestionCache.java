@@ -0,0 +1,118 @@
+package com.drugprevention.drugbe.service;
+
+import com.drugprevention.drugbe.dto.AssessmentQuestionDTO;
+import com.drugprevention.drugbe.util.TransactionUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache of fully built question lists per assessment, together with their serialized
+ * JSON body and an ETag derived from it. Entries are replaced, never modified, and are
+ * dropped after a question or assessment write commits. The cache is bounded, and empty
+ * lists (unknown assessments or ones without questions) are served but not cached.
+ */
+@Component
+public class AssessmentQuestionCache {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${assessments.question-cache.max-entries:500}")
+    private long maxEntries;
+
+    private Cache<Long, QuestionSet> cache;
+
+    // Bumped on every invalidation so a load that raced with a write is not cached
+    private final AtomicLong version = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder().maximumSize(maxEntries).build();
+    }
+
+    public QuestionSet get(Long assessmentId, Supplier<List<AssessmentQuestionDTO>> loader) {
+        QuestionSet cached = cache.getIfPresent(assessmentId);
+        if (cached != null) {
+            return cached;
+        }
+
+        long loadVersion = version.get();
+        List<AssessmentQuestionDTO> questions = loader.get();
+        QuestionSet loaded = build(loadVersion, questions);
+        if (!questions.isEmpty() && version.get() == loadVersion) {
+            QuestionSet existing = cache.asMap().putIfAbsent(assessmentId, loaded);
+            return existing != null ? existing : loaded;
+        }
+        return loaded;
+    }
+
+    public void invalidate(Long assessmentId) {
+        TransactionUtils.afterCommit(() -> {
+            version.incrementAndGet();
+            cache.invalidate(assessmentId);
+        });
+    }
+
+    private QuestionSet build(long setVersion, List<AssessmentQuestionDTO> questions) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(questions);
+            String etag = "\"" + DigestUtils.md5DigestAsHex(json) + "\"";
+            return new QuestionSet(setVersion, Collections.unmodifiableList(questions), json, etag);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize assessment questions: " + e.getMessage());
+        }
+    }
+
+    public static final class QuestionSet {
+        private final long version;
+        private final List<AssessmentQuestionDTO> questions;
+        private final byte[] json;
+        private final String etag;
+
+        private QuestionSet(long version, List<AssessmentQuestionDTO> questions, byte[] json, String etag) {
+            this.version = version;
+            this.questions = questions;
+            this.json = json;
+            this.etag = etag;
+        }
+
+        public long getVersion() { return version; }
+        public List<AssessmentQuestionDTO> getQuestions() { return questions; }
+        public String getEtag() { return etag; }
+
+        // If-None-Match semantics: "*", or any tag of a comma-separated list, compared weakly (W/ ignored)
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.equals("*")) {
+                    return true;
+                }
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // Shared buffer; callers must not modify it
+        public byte[] getJson() { return json; }
+    }
+}
@@ -3,16 +3,28 @@ package com.drugprevention.drugbe.service;
 import com.drugprevention.drugbe.dto.AssessmentResultDTO;
 import com.drugprevention.drugbe.entity.AssessmentResult;
 import com.drugprevention.drugbe.repository.AssessmentResultRepository;
+import com.drugprevention.drugbe.dto.CursorPage;
+import com.drugprevention.drugbe.util.KeysetCursor;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class AssessmentResultService {
@@ -20,13 +32,29 @@ public class AssessmentResultService {
     @Autowired
     private AssessmentResultRepository assessmentResultRepository;
 
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Order matches AssessmentResultRepository.streamForExport
+    private static final String[] EXPORT_COLUMNS = {
+        "id", "userId", "assessmentId", "assessmentTitle", "totalScore", "riskLevel", "completedAt", "createdAt"
+    };
+
+    // Push buffered rows to the client every this many rows
+    private static final int EXPORT_FLUSH_ROWS = 500;
+
     @Transactional
     public AssessmentResult saveResult(AssessmentResult result) {
         result.setCreatedAt(LocalDateTime.now());
         if (result.getCompletedAt() == null) {
             result.setCompletedAt(LocalDateTime.now());
         }
-        return assessmentResultRepository.save(result);
+        AssessmentResult savedResult = assessmentResultRepository.save(result);
+        statisticsService.recordAssessmentResult(savedResult.getRiskLevel(), savedResult.getTotalScore());
+        return savedResult;
     }
 
     // ===== ENTITY METHODS (for internal use) =====
@@ -52,20 +80,23 @@ public class AssessmentResultService {
         AssessmentResult result = assessmentResultRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Assessment result not found with id: " + id));
         
+        statisticsService.recordAssessmentResultRemoved(result.getRiskLevel(), result.getTotalScore());
         result.setTotalScore(resultDetails.getTotalScore());
         result.setRiskLevel(resultDetails.getRiskLevel());
         result.setRecommendations(resultDetails.getRecommendations());
         result.setAnswersJson(resultDetails.getAnswersJson());
         
-        return assessmentResultRepository.save(result);
+        AssessmentResult savedResult = assessmentResultRepository.save(result);
+        statisticsService.recordAssessmentResult(savedResult.getRiskLevel(), savedResult.getTotalScore());
+        return savedResult;
     }
 
     @Transactional
     public void deleteResult(Long id) {
-        if (!assessmentResultRepository.existsById(id)) {
-            throw new RuntimeException("Assessment result not found with id: " + id);
-        }
-        assessmentResultRepository.deleteById(id);
+        AssessmentResult result = assessmentResultRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Assessment result not found with id: " + id));
+        assessmentResultRepository.delete(result);
+        statisticsService.recordAssessmentResultRemoved(result.getRiskLevel(), result.getTotalScore());
     }
 
     // Calculate risk level based on total score
@@ -166,6 +197,17 @@ public class AssessmentResultService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Get all assessment results, one keyset page at a time
+     */
+    public CursorPage<AssessmentResultDTO> getAllResultsPage(String cursor, Integer limit) {
+        int pageSize = KeysetCursor.limit(limit);
+        List<AssessmentResult> rows = assessmentResultRepository.findByIdLessThanOrderByIdDesc(
+                KeysetCursor.afterId(cursor), KeysetCursor.fetch(pageSize));
+        return KeysetCursor.page(rows, pageSize, AssessmentResult::getId)
+                .map(results -> results.stream().map(this::convertToDTO).collect(Collectors.toList()));
+    }
+
     /**
      * Count assessment results by user ID
      */
@@ -195,6 +237,88 @@ public class AssessmentResultService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Stream results matching the optional filters to out as NDJSON or CSV, in id order.
+     * Rows are read through a forward-only cursor and written as they arrive, so memory
+     * does not grow with the number of results. to is exclusive.
+     */
+    @Transactional(readOnly = true)
+    public long exportResults(LocalDateTime from, LocalDateTime to, String riskLevel, Long assessmentId,
+                              String format, OutputStream out) throws IOException {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        JsonGenerator json = null;
+        if (csv) {
+            writer.write(String.join(",", EXPORT_COLUMNS));
+            writer.write('\n');
+        } else {
+            json = objectMapper.getFactory().createGenerator(writer).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.setRootValueSeparator(null); // one object per line, separated by '\n' only
+        }
+
+        long count = 0;
+        try (Stream<Object[]> rows = assessmentResultRepository.streamForExport(from, to, riskLevel, assessmentId)) {
+            Iterator<Object[]> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                Object[] row = iterator.next();
+                if (csv) {
+                    writeCsvRow(writer, row);
+                } else {
+                    writeJsonRow(json, row);
+                }
+                if (++count % EXPORT_FLUSH_ROWS == 0) {
+                    if (json != null) {
+                        json.flush();
+                    }
+                    writer.flush();
+                }
+            }
+        }
+        if (json != null) {
+            json.flush();
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static void writeJsonRow(JsonGenerator json, Object[] row) throws IOException {
+        json.writeStartObject();
+        for (int i = 0; i < EXPORT_COLUMNS.length; i++) {
+            json.writeFieldName(EXPORT_COLUMNS[i]);
+            Object value = row[i];
+            if (value == null) {
+                json.writeNull();
+            } else if (value instanceof Number) {
+                json.writeNumber(((Number) value).longValue());
+            } else {
+                json.writeString(value.toString()); // dates as ISO-8601
+            }
+        }
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private static void writeCsvRow(Writer writer, Object[] row) throws IOException {
+        for (int i = 0; i < EXPORT_COLUMNS.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = row[i];
+            if (value == null) {
+                continue;
+            }
+            String text = value.toString();
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(text.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(text);
+            }
+        }
+        writer.write('\n');
+    }
+
     /**
      * Get results by risk level
      */
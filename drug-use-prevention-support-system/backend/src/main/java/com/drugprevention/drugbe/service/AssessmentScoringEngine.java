@@ -0,0 +1,343 @@
+package com.drugprevention.drugbe.service;
+
+import com.drugprevention.drugbe.dto.AssessmentSubmissionDTO;
+import com.drugprevention.drugbe.entity.Assessment;
+import com.drugprevention.drugbe.entity.AssessmentType;
+import com.drugprevention.drugbe.repository.AssessmentRepository;
+import com.drugprevention.drugbe.repository.AssessmentTypeRepository;
+import com.drugprevention.drugbe.util.TransactionUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Scores assessment submissions against precompiled, immutable scoring tables.
+ * Assessments are compiled once into their title, type name and instrument and kept by
+ * assessment ID, so scoring a submission does no repository lookups and no logging.
+ * AssessmentService invalidates the compiled tables whenever an assessment changes.
+ */
+@Component
+public class AssessmentScoringEngine {
+
+    /**
+     * CRAFFT Scoring: Car, Relax, Alone, Forget, Friends, Trouble
+     * 6 yes/no questions about substance use behavior
+     */
+    private static final Instrument CRAFFT = new ThresholdInstrument(List.of(
+            new RiskBand(0, "LOW", "Low risk of substance use. You show no signs of problematic use.", List.of(
+                    "Continue maintaining a healthy lifestyle and stay away from addictive substances",
+                    "Participate in positive activities like sports and learning",
+                    "Share with friends about the harms of addictive substances")),
+            new RiskBand(1, "MEDIUM", "Medium risk. You have some signs that need attention regarding substance use.", List.of(
+                    "Consider consulting a professional counselor for better assessment",
+                    "Participate in life skills and stress management courses",
+                    "Increase sports activities and healthy hobbies",
+                    "Talk to family or trusted person")),
+            new RiskBand(Integer.MAX_VALUE, "HIGH", "High risk of substance use. Immediate professional intervention and support required.", List.of(
+                    "URGENT: Consult a specialist doctor or substance addiction counselor immediately",
+                    "Participate in intensive counseling and treatment programs",
+                    "Notify family to receive necessary support",
+                    "Stay away from situations and environments with risk of exposure to addictive substances",
+                    "Contact 24/7 support hotline: 1900 1234 (free)"))));
+
+    /**
+     * AUDIT Scoring: Alcohol Use Disorders Identification Test
+     * 10 questions about alcohol use patterns
+     */
+    private static final Instrument AUDIT = new ThresholdInstrument(List.of(
+            new RiskBand(7, "LOW", "Low level alcohol use or no risk.", List.of(
+                    "Maintain current usage level or consider reducing",
+                    "Learn about the harms of alcohol to health")),
+            new RiskBand(15, "MEDIUM", "Risky alcohol use, short-term intervention needed.", List.of(
+                    "Need to significantly reduce alcohol consumption",
+                    "Participate in counseling about alcohol harms",
+                    "Learn alternative skills to drinking")),
+            new RiskBand(19, "HIGH", "Harmful alcohol use, professional intervention needed.", List.of(
+                    "Need medical intervention and intensive counseling",
+                    "Consider participating in alcohol cessation programs",
+                    "Regular medical monitoring")),
+            new RiskBand(Integer.MAX_VALUE, "VERY HIGH", "Signs of alcohol addiction, immediate treatment required.", List.of(
+                    "NECESSARY: Professional alcohol addiction treatment immediately",
+                    "Participate in inpatient alcohol cessation programs",
+                    "Comprehensive medical and psychological support"))));
+
+    /**
+     * DAST-10 Scoring: Drug Abuse Screening Test
+     * 10 yes/no questions about drug use
+     */
+    private static final Instrument DAST_10 = new ThresholdInstrument(List.of(
+            new RiskBand(1, "LOW", "Low risk of drug abuse.", List.of(
+                    "Continue monitoring and maintain healthy lifestyle",
+                    "Learn about drug abuse prevention")),
+            new RiskBand(3, "MEDIUM", "Moderate risk of drug abuse.", List.of(
+                    "Consider professional assessment",
+                    "Participate in drug abuse prevention programs",
+                    "Learn coping skills")),
+            new RiskBand(5, "HIGH", "High risk of drug abuse.", List.of(
+                    "Immediate professional intervention required",
+                    "Participate in intensive treatment programs",
+                    "Regular medical monitoring")),
+            new RiskBand(Integer.MAX_VALUE, "VERY HIGH", "Very high risk of drug abuse.", List.of(
+                    "URGENT: Immediate professional treatment required",
+                    "Inpatient treatment program recommended",
+                    "Comprehensive medical and psychological support"))));
+
+    private static final Instrument ASSIST = new AssistInstrument();
+
+    private static final Instrument GENERAL = new ThresholdInstrument(List.of(
+            new RiskBand(Integer.MAX_VALUE, "TOTAL", "General assessment of mental health status", List.of(
+                    "Consult a specialist for specific advice"))));
+
+    private static final Map<String, Instrument> INSTRUMENTS_BY_TYPE = Map.of(
+            "CRAFFT", CRAFFT,
+            "ASSIST", ASSIST,
+            "AUDIT", AUDIT,
+            "DAST-10", DAST_10);
+
+    @Autowired
+    private AssessmentRepository assessmentRepository;
+
+    @Autowired
+    private AssessmentTypeRepository assessmentTypeRepository;
+
+    private volatile Map<Long, CompiledAssessment> compiled;
+
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    // ===== SCORING =====
+
+    public CompiledAssessment getCompiledAssessment(Long assessmentId) {
+        if (assessmentId == null) {
+            throw new RuntimeException("Assessment ID cannot be null");
+        }
+        Map<Long, CompiledAssessment> tables = compiledTables();
+        CompiledAssessment assessment = tables.get(assessmentId);
+        if (assessment == null) {
+            // Created since the tables were loaded, or by another instance
+            Assessment entity = assessmentRepository.findById(assessmentId)
+                    .orElseThrow(() -> new RuntimeException("Assessment not found"));
+            AssessmentType type = entity.getAssessmentTypeId() != null
+                    ? assessmentTypeRepository.findById(entity.getAssessmentTypeId()).orElse(null)
+                    : null;
+            assessment = compile(entity, type);
+            if (assessment == null) {
+                throw new RuntimeException("Assessment type not found");
+            }
+            tables.put(assessmentId, assessment);
+        }
+        return assessment;
+    }
+
+    // Drop the compiled tables once the change commits; the next submission reloads them
+    public void invalidate() {
+        TransactionUtils.afterCommit(() -> compiled = null);
+    }
+
+    private Map<Long, CompiledAssessment> compiledTables() {
+        Map<Long, CompiledAssessment> tables = compiled;
+        if (tables == null) {
+            loadLock.lock();
+            try {
+                tables = compiled;
+                if (tables == null) {
+                    tables = loadTables();
+                    compiled = tables;
+                }
+            } finally {
+                loadLock.unlock();
+            }
+        }
+        return tables;
+    }
+
+    private Map<Long, CompiledAssessment> loadTables() {
+        Map<Long, AssessmentType> types = new ConcurrentHashMap<>();
+        for (AssessmentType type : assessmentTypeRepository.findAll()) {
+            types.put(type.getId(), type);
+        }
+        Map<Long, CompiledAssessment> tables = new ConcurrentHashMap<>();
+        for (Assessment assessment : assessmentRepository.findAll()) {
+            AssessmentType type = assessment.getAssessmentTypeId() != null ? types.get(assessment.getAssessmentTypeId()) : null;
+            CompiledAssessment compiledAssessment = compile(assessment, type);
+            if (compiledAssessment != null) {
+                tables.put(assessment.getId(), compiledAssessment);
+            }
+        }
+        return tables;
+    }
+
+    // Returns null when the assessment points at a missing type
+    private static CompiledAssessment compile(Assessment assessment, AssessmentType type) {
+        if (assessment.getAssessmentTypeId() != null && type == null) {
+            return null;
+        }
+        String typeName = type != null ? type.getName() : null;
+        String key = typeName != null ? typeName.toUpperCase() : "GENERAL";
+        Instrument instrument = INSTRUMENTS_BY_TYPE.getOrDefault(key, GENERAL);
+        return new CompiledAssessment(assessment.getTitle(), typeName != null ? typeName : "Unknown Type", instrument);
+    }
+
+    // ===== COMPILED TABLES =====
+
+    public static final class CompiledAssessment {
+        private final String title;
+        private final String typeName;
+        private final Instrument instrument;
+
+        private CompiledAssessment(String title, String typeName, Instrument instrument) {
+            this.title = title;
+            this.typeName = typeName;
+            this.instrument = instrument;
+        }
+
+        public String getTitle() { return title; }
+        public String getTypeName() { return typeName; }
+
+        public ScoreResult score(List<AssessmentSubmissionDTO.AnswerDTO> answers) {
+            if (answers == null || answers.isEmpty()) {
+                throw new RuntimeException("Answers cannot be null or empty");
+            }
+            return instrument.score(answers);
+        }
+    }
+
+    private interface Instrument {
+        ScoreResult score(List<AssessmentSubmissionDTO.AnswerDTO> answers);
+    }
+
+    private static final class RiskBand {
+        private final int maxScore;
+        private final ScoreResult result;
+
+        private RiskBand(int maxScore, String riskLevel, String riskDescription, List<String> recommendations) {
+            this.maxScore = maxScore;
+            this.result = new ScoreResult(0, riskLevel, riskDescription, recommendations);
+        }
+    }
+
+    // Sum of answer values mapped onto ascending score bands
+    private static final class ThresholdInstrument implements Instrument {
+        private final RiskBand[] bands;
+
+        private ThresholdInstrument(List<RiskBand> bands) {
+            this.bands = bands.toArray(new RiskBand[0]);
+        }
+
+        @Override
+        public ScoreResult score(List<AssessmentSubmissionDTO.AnswerDTO> answers) {
+            int totalScore = 0;
+            for (int i = 0, n = answers.size(); i < n; i++) {
+                Integer value = answers.get(i).getAnswerValue();
+                if (value != null) {
+                    totalScore += value;
+                }
+            }
+            for (RiskBand band : bands) {
+                if (totalScore <= band.maxScore) {
+                    return band.result.withTotalScore(totalScore);
+                }
+            }
+            return bands[bands.length - 1].result.withTotalScore(totalScore);
+        }
+    }
+
+    /**
+     * ASSIST Scoring: Alcohol, Smoking, and Substance Involvement Screening Test
+     * Current implementation: Simplified version with only lifetime use questions
+     * Values: 0 = Never, 2 = Yes but not in past 3 months, 3 = Yes in past 3 months
+     * 0-3 without recent use is low risk, up to 15 or at most 2 recently used substances is medium,
+     * anything above is high.
+     */
+    private static final class AssistInstrument implements Instrument {
+        private static final ScoreResult NO_USE = new ScoreResult(0, "LOW",
+                "You have no history of using addictive substances. This is a positive result.", List.of(
+                "Continue maintaining a lifestyle without using addictive substances",
+                "Participate in activities to prevent social vices",
+                "Share knowledge about the harms of addictive substances with family"));
+
+        private static final ScoreResult PAST_USE = new ScoreResult(0, "LOW",
+                "You have a history of use but haven't used in the past 3 months. Current risk is low.", List.of(
+                "Continue maintaining abstinence from addictive substances",
+                "Participate in positive activities to maintain a healthy lifestyle",
+                "Be vigilant about situations that could lead to relapse"));
+
+        private static final String MEDIUM_DESCRIPTION =
+                "Medium risk. You have used %d types of substances, of which %d types were used recently.";
+        private static final List<String> MEDIUM_RECOMMENDATIONS = List.of(
+                "NECESSARY: Participate in intensive counseling about harms and how to stop using",
+                "Learn coping skills for stress and pressure without using addictive substances",
+                "Join community support groups or self-help groups",
+                "Consider notifying family to receive support",
+                "Stay away from environments and people who might encourage use");
+
+        private static final String HIGH_DESCRIPTION =
+                "Very high risk. You are using many types of substances (%d types) and have %d types used recently.";
+        private static final List<String> HIGH_RECOMMENDATIONS = List.of(
+                "URGENT: Contact substance addiction treatment specialist immediately",
+                "Need to participate in inpatient or outpatient treatment programs",
+                "Notify family and relatives to receive maximum support",
+                "Regular medical monitoring to check health",
+                "Participate in long-term recovery programs",
+                "Emergency hotline: 115 or 1900 1234");
+
+        @Override
+        public ScoreResult score(List<AssessmentSubmissionDTO.AnswerDTO> answers) {
+            int totalScore = 0;
+            int substancesUsed = 0;
+            int recentUse = 0; // Value 3 = used in past 3 months
+            for (int i = 0, n = answers.size(); i < n; i++) {
+                Integer value = answers.get(i).getAnswerValue();
+                if (value != null) {
+                    totalScore += value;
+                    if (value > 0) {
+                        substancesUsed++;
+                    }
+                    if (value == 3) {
+                        recentUse++;
+                    }
+                }
+            }
+
+            if (totalScore == 0) {
+                return NO_USE;
+            } else if (totalScore <= 3 && recentUse == 0) {
+                return PAST_USE.withTotalScore(totalScore);
+            } else if (totalScore <= 15 || (recentUse > 0 && recentUse <= 2)) {
+                return new ScoreResult(totalScore, "MEDIUM",
+                        String.format(MEDIUM_DESCRIPTION, substancesUsed, recentUse), MEDIUM_RECOMMENDATIONS);
+            } else {
+                return new ScoreResult(totalScore, "HIGH",
+                        String.format(HIGH_DESCRIPTION, substancesUsed, recentUse), HIGH_RECOMMENDATIONS);
+            }
+        }
+    }
+
+    // ===== RESULT =====
+
+    public static final class ScoreResult {
+        private final int totalScore;
+        private final String riskLevel;
+        private final String riskDescription;
+        private final List<String> recommendations;
+
+        public ScoreResult(int totalScore, String riskLevel, String riskDescription, List<String> recommendations) {
+            this.totalScore = totalScore;
+            this.riskLevel = riskLevel;
+            this.riskDescription = riskDescription;
+            this.recommendations = recommendations;
+        }
+
+        public int getTotalScore() { return totalScore; }
+        public String getRiskLevel() { return riskLevel; }
+        public String getRiskDescription() { return riskDescription; }
+        public List<String> getRecommendations() { return recommendations; }
+
+        private ScoreResult withTotalScore(int score) {
+            return score == totalScore ? this : new ScoreResult(score, riskLevel, riskDescription, recommendations);
+        }
+    }
+}
@@ -31,6 +31,14 @@ public class AssessmentService {
     private AssessmentTypeRepository assessmentTypeRepository;
     @Autowired
     private AppointmentRepository appointmentRepository;
+    @Autowired
+    private StatisticsService statisticsService;
+    @Autowired
+    private AssessmentScoringEngine scoringEngine;
+    @Autowired
+    private AssessmentQuestionCache questionCache;
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
     
     private final ObjectMapper objectMapper = new ObjectMapper();
 
@@ -75,7 +83,10 @@ public class AssessmentService {
         assessment.setIsActive(true);
         assessment.setCreatedAt(LocalDateTime.now());
         assessment.setUpdatedAt(LocalDateTime.now());
-        return assessmentRepository.save(assessment);
+        Assessment saved = assessmentRepository.save(assessment);
+        scoringEngine.invalidate();
+        referenceDataCache.evictAll(Assessment.class);
+        return saved;
     }
 
     // 10. Update assessment
@@ -90,7 +101,11 @@ public class AssessmentService {
         assessment.setIsActive(assessmentDetails.getIsActive());
         assessment.setUpdatedAt(LocalDateTime.now());
         
-        return assessmentRepository.save(assessment);
+        Assessment saved = assessmentRepository.save(assessment);
+        scoringEngine.invalidate();
+        questionCache.invalidate(id);
+        referenceDataCache.evict(Assessment.class, id);
+        return saved;
     }
 
     // 11. Delete assessment
@@ -100,6 +115,9 @@ public class AssessmentService {
             throw new RuntimeException("Assessment not found with id: " + id);
         }
         assessmentRepository.deleteById(id);
+        scoringEngine.invalidate();
+        questionCache.invalidate(id);
+        referenceDataCache.evict(Assessment.class, id);
     }
 
     // 12. Create assessment question
@@ -109,7 +127,9 @@ public class AssessmentService {
         question.setIsActive(true);
         question.setCreatedAt(LocalDateTime.now());
         question.setUpdatedAt(LocalDateTime.now());
-        return assessmentQuestionRepository.save(question);
+        AssessmentQuestion saved = assessmentQuestionRepository.save(question);
+        questionCache.invalidate(saved.getAssessmentId());
+        return saved;
     }
 
     // 13. Submit assessment result
@@ -133,15 +153,15 @@ public class AssessmentService {
         }
         
         // Validate assessment exists
-        Assessment assessment = assessmentRepository.findById(submission.getAssessmentId())
-                .orElseThrow(() -> new RuntimeException("Assessment not found"));
+        AssessmentScoringEngine.CompiledAssessment assessment = scoringEngine.getCompiledAssessment(submission.getAssessmentId());
         
         // Validate user exists
-        User user = userRepository.findById(submission.getUserId())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        if (!userRepository.existsById(submission.getUserId())) {
+            throw new RuntimeException("User not found");
+        }
 
         // Calculate score and determine risk level
-        ScoreResult scoreResult = calculateAssessmentScore(assessment, submission.getAnswers());
+        AssessmentScoringEngine.ScoreResult scoreResult = assessment.score(submission.getAnswers());
         
         // Create assessment result
         AssessmentResult result = new AssessmentResult();
@@ -163,8 +183,11 @@ public class AssessmentService {
         
         // Save assessment result
         result = assessmentResultRepository.save(result);
+        statisticsService.recordAssessmentResult(result.getRiskLevel(), result.getTotalScore());
         
-        // Save individual answers
+        // Save individual answers in one multi-row insert
+        LocalDateTime answeredAt = LocalDateTime.now();
+        List<Answer> answers = new ArrayList<>(submission.getAnswers().size());
         for (AssessmentSubmissionDTO.AnswerDTO answerDTO : submission.getAnswers()) {
             if (answerDTO.getQuestionId() == null) {
                 throw new RuntimeException("Question ID cannot be null in answer");
@@ -175,12 +198,13 @@ public class AssessmentService {
             answer.setAssessmentQuestionId(answerDTO.getQuestionId());
             answer.setAnswerValue(answerDTO.getAnswerValue());
             answer.setAnswerText(answerDTO.getAnswerText());
-            answer.setCreatedAt(LocalDateTime.now());
-            answerRepository.save(answer);
+            answer.setCreatedAt(answeredAt);
+            answers.add(answer);
         }
+        answerRepository.insertAll(answers);
         
         // Convert to DTO and return
-        return convertToResultDTO(result, assessment, scoreResult);
+        return convertToResultDTO(result, assessment.getTitle(), assessment.getTypeName(), scoreResult);
     }
 
     // 14. Get active assessments
@@ -201,15 +225,15 @@ public class AssessmentService {
     // ===== ASSESSMENT QUESTIONS WITH DTO CONVERSION =====
     
     public List<AssessmentQuestionDTO> getAssessmentQuestionsDTO(Long assessmentId) {
-        List<AssessmentQuestion> questions = assessmentQuestionRepository
-                .findByAssessmentIdOrderByOrderIndex(assessmentId);
-        // Log English values retrieved from database to console
-        for (AssessmentQuestion q : questions) {
-            System.out.println("[DEBUG] Question (id=" + q.getId() + "): " + q.getQuestion());
-        }
-        return questions.stream()
+        return getAssessmentQuestionSet(assessmentId).getQuestions();
+    }
+
+    // Cached question list with its serialized JSON body and ETag
+    public AssessmentQuestionCache.QuestionSet getAssessmentQuestionSet(Long assessmentId) {
+        return questionCache.get(assessmentId, () -> assessmentQuestionRepository
+                .findByAssessmentIdOrderByOrderIndex(assessmentId).stream()
                 .map(this::convertToQuestionDTO)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     private AssessmentQuestionDTO convertToQuestionDTO(AssessmentQuestion question) {
@@ -248,310 +272,6 @@ public class AssessmentService {
         }
     }
 
-    // ===== SCORING LOGIC =====
-    
-    private ScoreResult calculateAssessmentScore(Assessment assessment, List<AssessmentSubmissionDTO.AnswerDTO> answers) {
-        // Validate inputs
-        if (assessment == null) {
-            throw new RuntimeException("Assessment cannot be null");
-        }
-        
-        if (answers == null || answers.isEmpty()) {
-            throw new RuntimeException("Answers cannot be null or empty");
-        }
-        
-        // Get assessment type to determine scoring method
-        AssessmentType assessmentType = assessmentTypeRepository.findById(assessment.getAssessmentTypeId())
-                .orElseThrow(() -> new RuntimeException("Assessment type not found"));
-        
-        String typeName = assessmentType.getName() != null ? assessmentType.getName().toUpperCase() : "GENERAL";
-        
-        switch (typeName) {
-            case "CRAFFT":
-                return calculateCRAFFTScore(answers);
-            case "ASSIST":
-                return calculateASSISTScore(answers);
-            case "AUDIT":
-                return calculateAUDITScore(answers);
-            case "DAST-10":
-                return calculateDAST10Score(answers);
-            default:
-                return calculateGeneralScore(answers);
-        }
-    }
-
-    /**
-     * CRAFFT Scoring: Car, Relax, Alone, Forget, Friends, Trouble
-     * 6 yes/no questions about substance use behavior
-     */
-    private ScoreResult calculateCRAFFTScore(List<AssessmentSubmissionDTO.AnswerDTO> answers) {
-        System.out.println("🔍 CRAFFT Scoring Debug:");
-        System.out.println("🔍 Number of answers received: " + answers.size());
-        
-        int totalScore = 0;
-        
-        for (AssessmentSubmissionDTO.AnswerDTO answer : answers) {
-            System.out.println("🔍 Processing answer - QuestionID: " + answer.getQuestionId() + 
-                             ", Value: " + answer.getAnswerValue() + 
-                             ", Text: " + answer.getAnswerText());
-            
-            Integer value = answer.getAnswerValue();
-            if (value != null) {
-                totalScore += value;
-                System.out.println("🔍 Added " + value + " points. Total score now: " + totalScore);
-            } else {
-                System.out.println("🔍 ❌ Answer value is null, skipping");
-            }
-        }
-        
-        System.out.println("🔍 FINAL CRAFFT SCORE: " + totalScore);
-        
-        String riskLevel;
-        String riskDescription;
-        List<String> recommendations = new ArrayList<>();
-        
-        if (totalScore == 0) {
-            riskLevel = "LOW";
-            riskDescription = "Low risk of substance use. You show no signs of problematic use.";
-            recommendations.add("Continue maintaining a healthy lifestyle and stay away from addictive substances");
-            recommendations.add("Participate in positive activities like sports and learning");
-            recommendations.add("Share with friends about the harms of addictive substances");
-        } else if (totalScore == 1) {
-            riskLevel = "MEDIUM";
-            riskDescription = "Medium risk. You have some signs that need attention regarding substance use.";
-            recommendations.add("Consider consulting a professional counselor for better assessment");
-            recommendations.add("Participate in life skills and stress management courses");
-            recommendations.add("Increase sports activities and healthy hobbies");
-            recommendations.add("Talk to family or trusted person");
-        } else { // totalScore >= 2
-            riskLevel = "HIGH";
-            riskDescription = "High risk of substance use. Immediate professional intervention and support required.";
-            recommendations.add("URGENT: Consult a specialist doctor or substance addiction counselor immediately");
-            recommendations.add("Participate in intensive counseling and treatment programs");
-            recommendations.add("Notify family to receive necessary support");
-            recommendations.add("Stay away from situations and environments with risk of exposure to addictive substances");
-            recommendations.add("Contact 24/7 support hotline: 1900 1234 (free)");
-        }
-        
-        System.out.println("🔍 Risk Level: " + riskLevel);
-        return new ScoreResult(totalScore, riskLevel, riskDescription, recommendations);
-    }
-
-    /**
-     * ASSIST Scoring: Alcohol, Smoking, and Substance Involvement Screening Test
-     * Current implementation: Simplified version with only lifetime use questions
-     * Values: 0 = Never, 2 = Yes but not in past 3 months, 3 = Yes in past 3 months
-     */
-    private ScoreResult calculateASSISTScore(List<AssessmentSubmissionDTO.AnswerDTO> answers) {
-        System.out.println("🔍 ASSIST Scoring Debug:");
-        System.out.println("🔍 Number of answers received: " + answers.size());
-        
-        // ASSIST questions correspond to different substances:
-        // Q1: Tobacco, Q2: Alcohol, Q3: Cannabis, Q4: Cocaine, Q5: Stimulants, Q6: Depressants, Q7: Hallucinogens, Q8: Opioids
-        
-        int totalScore = 0;
-        int substancesUsed = 0;
-        int recentUse = 0; // Value 3 = used in past 3 months
-        
-        for (AssessmentSubmissionDTO.AnswerDTO answer : answers) {
-            System.out.println("🔍 Processing answer - QuestionID: " + answer.getQuestionId() + 
-                             ", Value: " + answer.getAnswerValue() + 
-                             ", Text: " + answer.getAnswerText());
-                             
-            Integer value = answer.getAnswerValue();
-            if (value != null) {
-                totalScore += value;
-                System.out.println("🔍 Added " + value + " points. Total score now: " + totalScore);
-                
-                if (value > 0) {
-                    substancesUsed++;
-                    System.out.println("🔍 Substance used count: " + substancesUsed);
-                }
-                if (value == 3) {
-                    recentUse++;
-                    System.out.println("🔍 Recent use count: " + recentUse);
-                }
-            } else {
-                System.out.println("🔍 ❌ Answer value is null, skipping");
-            }
-        }
-        
-        System.out.println("🔍 FINAL ASSIST STATS:");
-        System.out.println("🔍 Total Score: " + totalScore);
-        System.out.println("🔍 Substances Used: " + substancesUsed);
-        System.out.println("🔍 Recent Use Count: " + recentUse);
-        
-        String riskLevel;
-        String riskDescription;
-        List<String> recommendations = new ArrayList<>();
-        
-        // ASSIST Scoring Logic:
-        // 0-3: Low risk
-        // 4-26: Moderate risk  
-        // 27+: High risk
-        // But also consider number of substances and recent use
-        
-        if (totalScore == 0) {
-            riskLevel = "LOW";
-            riskDescription = "You have no history of using addictive substances. This is a positive result.";
-            recommendations.add("Continue maintaining a lifestyle without using addictive substances");
-            recommendations.add("Participate in activities to prevent social vices");
-            recommendations.add("Share knowledge about the harms of addictive substances with family");
-        } else if (totalScore <= 3 && recentUse == 0) {
-            riskLevel = "LOW";
-            riskDescription = "You have a history of use but haven't used in the past 3 months. Current risk is low.";
-            recommendations.add("Continue maintaining abstinence from addictive substances");
-            recommendations.add("Participate in positive activities to maintain a healthy lifestyle");
-            recommendations.add("Be vigilant about situations that could lead to relapse");
-        } else if (totalScore <= 15 || (recentUse > 0 && recentUse <= 2)) {
-            riskLevel = "MEDIUM";
-            riskDescription = String.format("Medium risk. You have used %d types of substances, of which %d types were used recently.", 
-                substancesUsed, recentUse);
-            recommendations.add("NECESSARY: Participate in intensive counseling about harms and how to stop using");
-            recommendations.add("Learn coping skills for stress and pressure without using addictive substances");
-            recommendations.add("Join community support groups or self-help groups");
-            recommendations.add("Consider notifying family to receive support");
-            recommendations.add("Stay away from environments and people who might encourage use");
-        } else {
-            riskLevel = "HIGH";
-            riskDescription = String.format("Very high risk. You are using many types of substances (%d types) and have %d types used recently.", 
-                substancesUsed, recentUse);
-            recommendations.add("URGENT: Contact substance addiction treatment specialist immediately");
-            recommendations.add("Need to participate in inpatient or outpatient treatment programs");
-            recommendations.add("Notify family and relatives to receive maximum support");
-            recommendations.add("Regular medical monitoring to check health");
-            recommendations.add("Participate in long-term recovery programs");
-            recommendations.add("Emergency hotline: 115 or 1900 1234");
-        }
-        
-        return new ScoreResult(totalScore, riskLevel, riskDescription, recommendations);
-    }
-
-    /**
-     * AUDIT Scoring: Alcohol Use Disorders Identification Test
-     * 10 questions about alcohol use patterns
-     */
-    private ScoreResult calculateAUDITScore(List<AssessmentSubmissionDTO.AnswerDTO> answers) {
-        System.out.println("🔍 AUDIT Scoring Debug:");
-        System.out.println("🔍 Number of answers received: " + answers.size());
-        
-        int totalScore = 0;
-        
-        for (AssessmentSubmissionDTO.AnswerDTO answer : answers) {
-            System.out.println("🔍 Processing answer - QuestionID: " + answer.getQuestionId() + 
-                             ", Value: " + answer.getAnswerValue() + 
-                             ", Text: " + answer.getAnswerText());
-            
-            Integer value = answer.getAnswerValue();
-            if (value != null) {
-                totalScore += value;
-                System.out.println("🔍 Added " + value + " points. Total score now: " + totalScore);
-            } else {
-                System.out.println("🔍 ❌ Answer value is null, skipping");
-            }
-        }
-        
-        System.out.println("🔍 FINAL AUDIT SCORE: " + totalScore);
-        
-        String riskLevel;
-        String riskDescription;
-        List<String> recommendations = new ArrayList<>();
-        
-        if (totalScore <= 7) {
-            riskLevel = "LOW";
-            riskDescription = "Low level alcohol use or no risk.";
-            recommendations.add("Maintain current usage level or consider reducing");
-            recommendations.add("Learn about the harms of alcohol to health");
-        } else if (totalScore <= 15) {
-            riskLevel = "MEDIUM";
-            riskDescription = "Risky alcohol use, short-term intervention needed.";
-            recommendations.add("Need to significantly reduce alcohol consumption");
-            recommendations.add("Participate in counseling about alcohol harms");
-            recommendations.add("Learn alternative skills to drinking");
-        } else if (totalScore <= 19) {
-            riskLevel = "HIGH";
-            riskDescription = "Harmful alcohol use, professional intervention needed.";
-            recommendations.add("Need medical intervention and intensive counseling");
-            recommendations.add("Consider participating in alcohol cessation programs");
-            recommendations.add("Regular medical monitoring");
-        } else {
-            riskLevel = "VERY HIGH";
-            riskDescription = "Signs of alcohol addiction, immediate treatment required.";
-            recommendations.add("NECESSARY: Professional alcohol addiction treatment immediately");
-            recommendations.add("Participate in inpatient alcohol cessation programs");
-            recommendations.add("Comprehensive medical and psychological support");
-        }
-        
-        return new ScoreResult(totalScore, riskLevel, riskDescription, recommendations);
-    }
-
-    /**
-     * DAST-10 Scoring: Drug Abuse Screening Test
-     * 10 yes/no questions about drug use
-     */
-    private ScoreResult calculateDAST10Score(List<AssessmentSubmissionDTO.AnswerDTO> answers) {
-        System.out.println("🔍 DAST-10 Scoring Debug:");
-        System.out.println("🔍 Number of answers received: " + answers.size());
-        
-        int totalScore = 0;
-        
-        for (AssessmentSubmissionDTO.AnswerDTO answer : answers) {
-            System.out.println("🔍 Processing answer - QuestionID: " + answer.getQuestionId() + 
-                             ", Value: " + answer.getAnswerValue() + 
-                             ", Text: " + answer.getAnswerText());
-            
-            Integer value = answer.getAnswerValue();
-            if (value != null) {
-                totalScore += value;
-                System.out.println("🔍 Added " + value + " points. Total score now: " + totalScore);
-            } else {
-                System.out.println("🔍 ❌ Answer value is null, skipping");
-            }
-        }
-        
-        System.out.println("🔍 FINAL DAST-10 SCORE: " + totalScore);
-        
-        String riskLevel;
-        String riskDescription;
-        List<String> recommendations = new ArrayList<>();
-        
-        if (totalScore <= 1) {
-            riskLevel = "LOW";
-            riskDescription = "Low risk of drug abuse.";
-            recommendations.add("Continue monitoring and maintain healthy lifestyle");
-            recommendations.add("Learn about drug abuse prevention");
-        } else if (totalScore <= 3) {
-            riskLevel = "MEDIUM";
-            riskDescription = "Moderate risk of drug abuse.";
-            recommendations.add("Consider professional assessment");
-            recommendations.add("Participate in drug abuse prevention programs");
-            recommendations.add("Learn coping skills");
-        } else if (totalScore <= 5) {
-            riskLevel = "HIGH";
-            riskDescription = "High risk of drug abuse.";
-            recommendations.add("Immediate professional intervention required");
-            recommendations.add("Participate in intensive treatment programs");
-            recommendations.add("Regular medical monitoring");
-        } else {
-            riskLevel = "VERY HIGH";
-            riskDescription = "Very high risk of drug abuse.";
-            recommendations.add("URGENT: Immediate professional treatment required");
-            recommendations.add("Inpatient treatment program recommended");
-            recommendations.add("Comprehensive medical and psychological support");
-        }
-        
-        return new ScoreResult(totalScore, riskLevel, riskDescription, recommendations);
-    }
-
-    private ScoreResult calculateGeneralScore(List<AssessmentSubmissionDTO.AnswerDTO> answers) {
-        int totalScore = answers.stream()
-                .mapToInt(answer -> answer.getAnswerValue() != null ? answer.getAnswerValue() : 0)
-                .sum();
-        
-        return new ScoreResult(totalScore, "TOTAL", "General assessment of mental health status", 
-                List.of("Consult a specialist for specific advice"));
-    }
-
     // ===== RESULT RETRIEVAL =====
     
     public List<AssessmentResultDTO> getUserAssessmentResults(Long userId) {
@@ -579,7 +299,15 @@ public class AssessmentService {
 
     // ===== HELPER METHODS =====
     
-    private AssessmentResultDTO convertToResultDTO(AssessmentResult result, Assessment assessment, ScoreResult scoreResult) {
+    private AssessmentResultDTO convertToResultDTO(AssessmentResult result, Assessment assessment, AssessmentScoringEngine.ScoreResult scoreResult) {
+        return convertToResultDTO(result,
+                assessment != null ? assessment.getTitle() : "Unknown Assessment",
+                assessment != null ? getAssessmentTypeName(assessment.getAssessmentTypeId()) : "Unknown Type",
+                scoreResult);
+    }
+    
+    private AssessmentResultDTO convertToResultDTO(AssessmentResult result, String assessmentTitle, String assessmentType,
+                                                   AssessmentScoringEngine.ScoreResult scoreResult) {
         List<String> recommendations = new ArrayList<>();
         
         if (result.getRecommendations() != null && !result.getRecommendations().trim().isEmpty()) {
@@ -595,8 +323,8 @@ public class AssessmentService {
                 result.getId(),
                 result.getUserId(),
                 result.getAssessmentId(),
-                assessment != null ? assessment.getTitle() : "Unknown Assessment",
-                assessment != null ? getAssessmentTypeName(assessment.getAssessmentTypeId()) : "Unknown Type",
+                assessmentTitle,
+                assessmentType,
                 result.getTotalScore(),
                 result.getRiskLevel(),
                 riskDescription,
@@ -616,11 +344,10 @@ public class AssessmentService {
     
     public AssessmentResultDTO calculateAssessmentResult(AssessmentSubmissionDTO submission) {
         // Validate assessment exists
-        Assessment assessment = assessmentRepository.findById(submission.getAssessmentId())
-                .orElseThrow(() -> new RuntimeException("Assessment not found"));
+        AssessmentScoringEngine.CompiledAssessment assessment = scoringEngine.getCompiledAssessment(submission.getAssessmentId());
 
         // Calculate score and determine risk level
-        ScoreResult scoreResult = calculateAssessmentScore(assessment, submission.getAnswers());
+        AssessmentScoringEngine.ScoreResult scoreResult = assessment.score(submission.getAnswers());
         
         // Create temporary result for response (not saved to database)
         AssessmentResultDTO result = new AssessmentResultDTO();
@@ -628,7 +355,7 @@ public class AssessmentService {
         result.setUserId(null); // Anonymous user
         result.setAssessmentId(submission.getAssessmentId());
         result.setAssessmentTitle(assessment.getTitle());
-        result.setAssessmentType(getAssessmentTypeName(assessment.getAssessmentTypeId()));
+        result.setAssessmentType(assessment.getTypeName());
         result.setTotalScore(scoreResult.getTotalScore());
         result.setRiskLevel(scoreResult.getRiskLevel());
         result.setRiskDescription(scoreResult.getRiskDescription());
@@ -639,27 +366,6 @@ public class AssessmentService {
         return result;
     }
 
-    // ===== INNER CLASSES =====
-    
-    private static class ScoreResult {
-        private final int totalScore;
-        private final String riskLevel;
-        private final String riskDescription;
-        private final List<String> recommendations;
-
-        public ScoreResult(int totalScore, String riskLevel, String riskDescription, List<String> recommendations) {
-            this.totalScore = totalScore;
-            this.riskLevel = riskLevel;
-            this.riskDescription = riskDescription;
-            this.recommendations = recommendations;
-        }
-
-        public int getTotalScore() { return totalScore; }
-        public String getRiskLevel() { return riskLevel; }
-        public String getRiskDescription() { return riskDescription; }
-        public List<String> getRecommendations() { return recommendations; }
-    }
-    
     // ===== CONSULTANT ACCESS =====
     
     /**
@@ -25,6 +25,9 @@ public class AuthService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private StatisticsService statisticsService;
+
     public User signup(SignupRequest request) {
         // Validate request
         if (request == null) {
@@ -95,7 +98,9 @@ public class AuthService {
             user.setFirebaseToken(request.getFirebaseToken());
         }
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        statisticsService.recordUserCreated(role.getName(), true);
+        return savedUser;
     }
     
     public User findByUsername(String username) {
@@ -3,6 +3,8 @@ package com.drugprevention.drugbe.service;
 import com.drugprevention.drugbe.entity.Blog;
 import com.drugprevention.drugbe.entity.User;
 import com.drugprevention.drugbe.repository.BlogRepository;
+import com.drugprevention.drugbe.dto.CursorPage;
+import com.drugprevention.drugbe.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -19,11 +21,21 @@ public class BlogService {
     @Autowired
     private BlogRepository blogRepository;
 
+    @Autowired
+    private SearchIndex searchIndex;
+
     // 1. Get all blogs
     public List<Blog> getAllBlogs() {
         return blogRepository.findAll();
     }
 
+    // 1b. Get blogs, one keyset page at a time
+    public CursorPage<Blog> getBlogsPage(String cursor, Integer limit) {
+        int pageSize = KeysetCursor.limit(limit);
+        List<Blog> rows = blogRepository.findByIdLessThanOrderByIdDesc(KeysetCursor.afterId(cursor), KeysetCursor.fetch(pageSize));
+        return KeysetCursor.page(rows, pageSize, Blog::getId);
+    }
+
     // 2. Get blog by ID
     public Optional<Blog> getBlogById(Long id) {
         return blogRepository.findById(id);
@@ -35,7 +47,9 @@ public class BlogService {
         blog.setIsActive(true);
         blog.setCreatedAt(LocalDateTime.now());
         blog.setUpdatedAt(LocalDateTime.now());
-        return blogRepository.save(blog);
+        Blog savedBlog = blogRepository.save(blog);
+        searchIndex.indexBlog(savedBlog);
+        return savedBlog;
     }
 
     // 4. Update blog
@@ -52,7 +66,9 @@ public class BlogService {
         blog.setIsActive(blogDetails.getIsActive());
         blog.setUpdatedAt(LocalDateTime.now());
         
-        return blogRepository.save(blog);
+        Blog savedBlog = blogRepository.save(blog);
+        searchIndex.indexBlog(savedBlog);
+        return savedBlog;
     }
 
     // 5. Delete blog
@@ -62,6 +78,7 @@ public class BlogService {
             throw new RuntimeException("Blog not found with id: " + id);
         }
         blogRepository.deleteById(id);
+        searchIndex.remove(SearchIndex.BLOG, id);
     }
 
     // 6. Get blogs by author
@@ -86,7 +103,8 @@ public class BlogService {
 
     // 10. Search blogs by keyword
     public List<Blog> searchBlogs(String keyword) {
-        return blogRepository.findByKeyword(keyword);
+        List<Long> ids = searchIndex.searchIds(SearchIndex.BLOG, keyword, null);
+        return SearchIndex.inRankOrder(ids, blogRepository.findAllById(ids), Blog::getId);
     }
 
     // 11. Get blogs with pagination
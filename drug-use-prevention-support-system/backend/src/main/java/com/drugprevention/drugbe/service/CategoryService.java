@@ -15,6 +15,9 @@ public class CategoryService {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
     public List<Category> getAllCategories() {
         return categoryRepository.findAll();
     }
@@ -26,7 +29,9 @@ public class CategoryService {
     public Category createCategory(Category category) {
         category.setCreatedAt(LocalDateTime.now());
         category.setIsActive(true);
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        referenceDataCache.evictAll(Category.class);
+        return saved;
     }
 
     public Category updateCategory(Long id, Category categoryDetails) {
@@ -38,7 +43,9 @@ public class CategoryService {
         category.setIcon(categoryDetails.getIcon());
         category.setIsActive(categoryDetails.getIsActive());
         
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        referenceDataCache.evict(Category.class, id);
+        return saved;
     }
 
     public void deleteCategory(Long id) {
@@ -46,6 +53,7 @@ public class CategoryService {
             throw new RuntimeException("Category not found with id: " + id);
         }
         categoryRepository.deleteById(id);
+        referenceDataCache.evict(Category.class, id);
     }
 
     public List<Category> getCategoriesByName(String name) {
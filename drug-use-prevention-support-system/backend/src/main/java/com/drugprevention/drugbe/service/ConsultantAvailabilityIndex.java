@@ -0,0 +1,206 @@
+package com.drugprevention.drugbe.service;
+
+import com.drugprevention.drugbe.repository.AppointmentRepository;
+import com.drugprevention.drugbe.util.TransactionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of booked appointment hours for every consultant over the booking horizon.
+ * Each consultant has one int mask per day, with bit (hour - FIRST_HOUR) set when a
+ * PENDING, CONFIRMED or RESCHEDULED appointment starts at that hour.
+ * The index is warmed from a single range query, kept current by AppointmentService after
+ * each commit, and rebuilt periodically and whenever the day rolls over.
+ */
+@Component
+public class ConsultantAvailabilityIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConsultantAvailabilityIndex.class);
+
+    public static final int FIRST_HOUR = 8;
+    public static final int LAST_HOUR = 17;
+
+    // Returned for days outside the horizon; callers fall back to the database
+    public static final int NOT_INDEXED = -1;
+
+    // Bookings are accepted up to 30 days ahead, so today plus 30 days
+    private static final int HORIZON_DAYS = 31;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    // Updates share the read lock; a rebuild takes the write lock so no update is lost while it swaps
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile Horizon horizon;
+
+    // ===== READS =====
+
+    public int getBookedHours(Long consultantId, LocalDate date) {
+        Horizon current = currentHorizon();
+        int day = current.dayIndex(date);
+        if (day < 0) {
+            return NOT_INDEXED;
+        }
+        AtomicIntegerArray masks = current.masks.get(consultantId);
+        return masks != null ? masks.get(day) : 0;
+    }
+
+    // One mask per day from startDate to endDate inclusive, NOT_INDEXED for days outside the horizon
+    public int[] getBookedHours(Long consultantId, LocalDate startDate, LocalDate endDate) {
+        Horizon current = currentHorizon();
+        AtomicIntegerArray masks = current.masks.get(consultantId);
+        int[] result = new int[(int) (endDate.toEpochDay() - startDate.toEpochDay()) + 1];
+        for (int i = 0; i < result.length; i++) {
+            int day = current.dayIndex(startDate.plusDays(i));
+            if (day < 0) {
+                result[i] = NOT_INDEXED;
+            } else {
+                result[i] = masks != null ? masks.get(day) : 0;
+            }
+        }
+        return result;
+    }
+
+    public static boolean isBooked(int bookedHours, int hour) {
+        return hour >= FIRST_HOUR && hour <= LAST_HOUR && (bookedHours & bitOf(hour)) != 0;
+    }
+
+    public static int bitOf(int hour) {
+        return 1 << (hour - FIRST_HOUR);
+    }
+
+    // A rescheduled appointment still holds its (new) hour
+    public static boolean isBlocking(String status) {
+        return "PENDING".equals(status) || "CONFIRMED".equals(status) || "RESCHEDULED".equals(status);
+    }
+
+    // ===== WRITE NOTIFICATIONS =====
+
+    // oldDate and oldStatus are null for a newly created appointment
+    public void recordChange(Long consultantId, LocalDateTime oldDate, String oldStatus,
+                             LocalDateTime newDate, String newStatus) {
+        boolean wasBlocking = oldDate != null && isBlocking(oldStatus);
+        boolean isBlocking = newDate != null && isBlocking(newStatus);
+        if (consultantId == null || (!wasBlocking && !isBlocking)
+                || (wasBlocking && isBlocking && oldDate.equals(newDate))) {
+            return;
+        }
+        TransactionUtils.afterCommit(() -> {
+            lock.readLock().lock();
+            try {
+                Horizon current = horizon;
+                if (current == null) {
+                    return;
+                }
+                if (wasBlocking) {
+                    current.clear(consultantId, oldDate);
+                }
+                if (isBlocking) {
+                    current.set(consultantId, newDate);
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        });
+    }
+
+    // ===== REBUILD =====
+
+    // Roll the horizon forward at midnight instead of on the first request of the day
+    @Scheduled(cron = "${availability.rollover-cron:0 0 0 * * *}")
+    public void scheduledRollover() {
+        refresh();
+    }
+
+    // Periodic rebuild corrects drift from writes made outside AppointmentService
+    @Scheduled(initialDelayString = "${availability.refresh-interval-ms:300000}",
+               fixedDelayString = "${availability.refresh-interval-ms:300000}")
+    public void scheduledRefresh() {
+        refresh();
+    }
+
+    public void refresh() {
+        try {
+            rebuild(LocalDate.now(), true);
+        } catch (Exception e) {
+            logger.error("Consultant availability index rebuild failed: {}", e.getMessage());
+        }
+    }
+
+    private Horizon currentHorizon() {
+        Horizon current = horizon;
+        LocalDate today = LocalDate.now();
+        if (current == null || current.firstEpochDay != today.toEpochDay()) {
+            current = rebuild(today, false);
+        }
+        return current;
+    }
+
+    // Unless forced, skip the query when another thread already rebuilt for today
+    private Horizon rebuild(LocalDate today, boolean force) {
+        lock.writeLock().lock();
+        try {
+            Horizon current = horizon;
+            if (!force && current != null && current.firstEpochDay == today.toEpochDay()) {
+                return current;
+            }
+            Horizon rebuilt = new Horizon(today.toEpochDay());
+            LocalDateTime start = today.atStartOfDay();
+            LocalDateTime end = today.plusDays(HORIZON_DAYS).atStartOfDay();
+            for (Object[] row : appointmentRepository.findBookedSlotsBetween(start, end)) {
+                rebuilt.set((Long) row[0], (LocalDateTime) row[1]);
+            }
+            horizon = rebuilt;
+            logger.debug("Consultant availability index rebuilt from {} for {} consultants", today, rebuilt.masks.size());
+            return rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static final class Horizon {
+        private final long firstEpochDay;
+        private final Map<Long, AtomicIntegerArray> masks = new ConcurrentHashMap<>();
+
+        private Horizon(long firstEpochDay) {
+            this.firstEpochDay = firstEpochDay;
+        }
+
+        private int dayIndex(LocalDate date) {
+            long day = date.toEpochDay() - firstEpochDay;
+            return day >= 0 && day < HORIZON_DAYS ? (int) day : -1;
+        }
+
+        private void set(Long consultantId, LocalDateTime dateTime) {
+            int day = dayIndex(dateTime.toLocalDate());
+            int hour = dateTime.getHour();
+            if (consultantId == null || day < 0 || hour < FIRST_HOUR || hour > LAST_HOUR) {
+                return;
+            }
+            int bit = bitOf(hour);
+            masks.computeIfAbsent(consultantId, id -> new AtomicIntegerArray(HORIZON_DAYS))
+                    .accumulateAndGet(day, bit, (mask, b) -> mask | b);
+        }
+
+        private void clear(Long consultantId, LocalDateTime dateTime) {
+            int day = dayIndex(dateTime.toLocalDate());
+            int hour = dateTime.getHour();
+            AtomicIntegerArray consultantMasks = masks.get(consultantId);
+            if (consultantMasks == null || day < 0 || hour < FIRST_HOUR || hour > LAST_HOUR) {
+                return;
+            }
+            consultantMasks.accumulateAndGet(day, bitOf(hour), (mask, b) -> mask & ~b);
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package com.drugprevention.drugbe.service;
+
+import com.drugprevention.drugbe.dto.CursorPage;
+import com.drugprevention.drugbe.entity.Category;
+import com.drugprevention.drugbe.entity.Course;
+import com.drugprevention.drugbe.entity.User;
+import com.drugprevention.drugbe.repository.CategoryRepository;
+import com.drugprevention.drugbe.repository.CourseRepository;
+import com.drugprevention.drugbe.repository.UserRepository;
+import com.drugprevention.drugbe.util.KeysetCursor;
+import com.drugprevention.drugbe.util.TransactionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Read model for the public course catalogue.
+ * All courses are held in an immutable snapshot together with precomputed views (active,
+ * published by category, featured, latest, popular, available), so catalogue reads never touch
+ * the database. Writes through CourseService and CourseParticipantCounter replace single courses
+ * after commit by publishing a new snapshot (copy-on-write); the snapshot is loaded on first use
+ * and rebuilt periodically to pick up writes made elsewhere.
+ * Snapshot courses are detached copies shared by all readers and must not be modified.
+ */
+@Component
+public class CourseCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseCatalog.class);
+
+    private static final String OPEN = "open";
+
+    private static final int TOP_LIMIT = 10;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private final Object writeLock = new Object();
+
+    // Serializes rebuilds; a lock rather than a monitor, as a rebuild blocks on the database
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot;
+
+    // Updates committed while a rebuild is loading, replayed onto the rebuilt snapshot; guarded by writeLock
+    private List<Consumer<Map<Long, Course>>> pendingUpdates;
+
+    // ===== READS =====
+
+    public List<Course> getActiveCourses() {
+        return current().active;
+    }
+
+    public CursorPage<Course> getActiveCoursesPage(String cursor, Integer limit) {
+        int pageSize = KeysetCursor.limit(limit);
+        List<Course> active = current().active; // id descending
+        long afterId = KeysetCursor.afterId(cursor);
+        int from = 0;
+        int to = active.size();
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (active.get(mid).getId() >= afterId) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        List<Course> rows = active.subList(from, Math.min(active.size(), from + pageSize + 1));
+        return KeysetCursor.page(rows, pageSize, Course::getId);
+    }
+
+    public Optional<Course> getActiveCourse(Long id) {
+        Course course = current().byId.get(id);
+        return course != null && Boolean.TRUE.equals(course.getIsActive()) ? Optional.of(course) : Optional.empty();
+    }
+
+    // Active, open courses of a category
+    public List<Course> getPublishedCoursesByCategory(Long categoryId) {
+        return current().publishedByCategory.getOrDefault(categoryId, List.of());
+    }
+
+    public List<Course> getFeaturedCourses() {
+        return current().featured;
+    }
+
+    public List<Course> getLatestCourses() {
+        return current().latest;
+    }
+
+    public List<Course> getPopularCourses() {
+        return current().popular;
+    }
+
+    public List<Course> getAvailableCourses() {
+        return current().available;
+    }
+
+    // ===== WRITE NOTIFICATIONS =====
+
+    // The course was created or changed; call after saving it
+    public void courseChanged(Course course) {
+        Course copy = detachedCopy(course);
+        TransactionUtils.afterCommit(() -> apply(courses -> courses.put(copy.getId(), copy)));
+    }
+
+    // Relative, so concurrent changes commute whatever order their commits land in
+    public void participantsChanged(Long courseId, int delta) {
+        TransactionUtils.afterCommit(() -> apply(courses -> courses.computeIfPresent(courseId, (id, course) -> {
+            Course copy = copyOf(course, course.getInstructor(), course.getCategory());
+            int count = course.getCurrentParticipants() != null ? course.getCurrentParticipants() : 0;
+            copy.setCurrentParticipants(Math.max(0, count + delta));
+            return copy;
+        })));
+    }
+
+    public void courseDeleted(Long courseId) {
+        TransactionUtils.afterCommit(() -> apply(courses -> courses.remove(courseId)));
+    }
+
+    private void apply(Consumer<Map<Long, Course>> update) {
+        synchronized (writeLock) {
+            Snapshot current = snapshot;
+            if (current != null) {
+                Map<Long, Course> courses = new HashMap<>(current.byId);
+                update.accept(courses);
+                snapshot = new Snapshot(courses);
+            }
+            if (pendingUpdates != null) {
+                pendingUpdates.add(update);
+            }
+        }
+    }
+
+    // ===== REBUILD =====
+
+    @Scheduled(initialDelayString = "${catalog.refresh-interval-ms:300000}",
+               fixedDelayString = "${catalog.refresh-interval-ms:300000}")
+    public void scheduledRefresh() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            logger.error("Course catalogue rebuild failed: {}", e.getMessage());
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            rebuildLock.lock();
+            try {
+                current = snapshot;
+                if (current == null) {
+                    rebuild();
+                    current = snapshot;
+                }
+            } finally {
+                rebuildLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    // Load without blocking readers, then publish and replay updates committed meanwhile
+    private void rebuild() {
+        rebuildLock.lock();
+        try {
+            synchronized (writeLock) {
+                pendingUpdates = new ArrayList<>();
+            }
+
+            Map<Long, Course> courses = new HashMap<>();
+            try {
+                for (Course course : courseRepository.findAllWithInstructorAndCategory()) {
+                    courses.put(course.getId(), copyOf(course, course.getInstructor(), course.getCategory()));
+                }
+            } catch (RuntimeException e) {
+                synchronized (writeLock) {
+                    pendingUpdates = null;
+                }
+                throw e;
+            }
+
+            synchronized (writeLock) {
+                for (Consumer<Map<Long, Course>> update : pendingUpdates) {
+                    update.accept(courses);
+                }
+                pendingUpdates = null;
+                snapshot = new Snapshot(courses);
+            }
+            logger.debug("Course catalogue rebuilt with {} courses", courses.size());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    // ===== COPIES =====
+
+    // Copy the course with its instructor and category, which are not loaded on a freshly inserted entity
+    private Course detachedCopy(Course course) {
+        Snapshot current = snapshot;
+        Course previous = current != null ? current.byId.get(course.getId()) : null;
+
+        User instructor = course.getInstructor();
+        if (instructor == null && course.getInstructorId() != null) {
+            instructor = previous != null && course.getInstructorId().equals(previous.getInstructorId())
+                    ? previous.getInstructor()
+                    : userRepository.findById(course.getInstructorId()).orElse(null);
+        }
+        Category category = course.getCategory();
+        if (category == null && course.getCategoryId() != null) {
+            category = previous != null && course.getCategoryId().equals(previous.getCategoryId())
+                    ? previous.getCategory()
+                    : categoryRepository.findById(course.getCategoryId()).orElse(null);
+        }
+        Course copy = copyOf(course, instructor, category);
+        if (previous != null) {
+            // The entity's count may be stale; participant changes arrive through participantsChanged
+            copy.setCurrentParticipants(previous.getCurrentParticipants());
+        }
+        return copy;
+    }
+
+    private static Course copyOf(Course source, User instructor, Category category) {
+        Course copy = new Course();
+        copy.setId(source.getId());
+        copy.setTitle(source.getTitle());
+        copy.setDescription(source.getDescription());
+        copy.setInstructorId(source.getInstructorId());
+        copy.setInstructor(instructor);
+        copy.setCategoryId(source.getCategoryId());
+        copy.setCategory(category);
+        copy.setMaxParticipants(source.getMaxParticipants());
+        copy.setCurrentParticipants(source.getCurrentParticipants());
+        copy.setStartDate(source.getStartDate());
+        copy.setEndDate(source.getEndDate());
+        copy.setDuration(source.getDuration());
+        copy.setImageUrl(source.getImageUrl());
+        copy.setStatus(source.getStatus());
+        copy.setIsFeatured(source.getIsFeatured());
+        copy.setIsActive(source.getIsActive());
+        copy.setCreatedAt(source.getCreatedAt());
+        copy.setUpdatedAt(source.getUpdatedAt());
+        copy.setPrice(source.getPrice());
+        copy.setDifficultyLevel(source.getDifficultyLevel());
+        copy.setLanguage(source.getLanguage());
+        copy.setTotalLessons(source.getTotalLessons());
+        copy.setTotalDurationMinutes(source.getTotalDurationMinutes());
+        copy.setThumbnailUrl(source.getThumbnailUrl());
+        copy.setPreviewVideoUrl(source.getPreviewVideoUrl());
+        copy.setCertificateEnabled(source.getCertificateEnabled());
+        copy.setPrerequisites(source.getPrerequisites());
+        copy.setLearningOutcomes(source.getLearningOutcomes());
+        copy.setTags(source.getTags());
+        copy.setAverageRating(source.getAverageRating());
+        copy.setTotalReviews(source.getTotalReviews());
+        copy.setEnrollmentDeadline(source.getEnrollmentDeadline());
+        return copy;
+    }
+
+    // ===== SNAPSHOT =====
+
+    private static final class Snapshot {
+        private final Map<Long, Course> byId;
+        private final List<Course> active; // id descending, for keyset pages
+        private final Map<Long, List<Course>> publishedByCategory;
+        private final List<Course> featured;
+        private final List<Course> latest;
+        private final List<Course> popular;
+        private final List<Course> available;
+
+        private Snapshot(Map<Long, Course> courses) {
+            List<Course> all = new ArrayList<>(courses.values());
+            all.sort(Comparator.comparing(Course::getId).reversed());
+
+            List<Course> activeCourses = new ArrayList<>();
+            List<Course> featuredCourses = new ArrayList<>();
+            List<Course> openCourses = new ArrayList<>();
+            Map<Long, List<Course>> byCategory = new HashMap<>();
+            for (Course course : all) {
+                boolean isActive = Boolean.TRUE.equals(course.getIsActive());
+                boolean isOpen = OPEN.equals(course.getStatus());
+                if (isActive) {
+                    activeCourses.add(course);
+                }
+                if (Boolean.TRUE.equals(course.getIsFeatured())) {
+                    featuredCourses.add(course);
+                }
+                if (isOpen) {
+                    openCourses.add(course);
+                }
+                if (isActive && isOpen && course.getCategoryId() != null) {
+                    byCategory.computeIfAbsent(course.getCategoryId(), key -> new ArrayList<>()).add(course);
+                }
+            }
+
+            List<Course> newest = new ArrayList<>(openCourses);
+            newest.sort(Comparator.comparing(Course::getCreatedAt,
+                    Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder())));
+            List<Course> mostJoined = new ArrayList<>(openCourses);
+            mostJoined.sort(Comparator.comparingInt((Course course) ->
+                    course.getCurrentParticipants() != null ? course.getCurrentParticipants() : 0).reversed());
+
+            Map<Long, List<Course>> categoryViews = new HashMap<>();
+            byCategory.forEach((categoryId, list) -> categoryViews.put(categoryId, List.copyOf(list)));
+
+            this.byId = Collections.unmodifiableMap(courses);
+            this.active = List.copyOf(activeCourses);
+            this.publishedByCategory = Collections.unmodifiableMap(categoryViews);
+            this.featured = List.copyOf(featuredCourses);
+            this.latest = List.copyOf(newest.subList(0, Math.min(TOP_LIMIT, newest.size())));
+            this.popular = List.copyOf(mostJoined.subList(0, Math.min(TOP_LIMIT, mostJoined.size())));
+            this.available = List.copyOf(openCourses);
+        }
+    }
+}
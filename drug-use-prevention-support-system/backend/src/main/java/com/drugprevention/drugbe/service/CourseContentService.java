@@ -22,6 +22,12 @@ public class CourseContentService {
     @Autowired
     private CourseLessonRepository courseLessonRepository;
 
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Autowired
+    private CourseProgressTracker courseProgressTracker;
+
     // Create new content
     public CourseContent createContent(CourseContent content) {
         // Set content order if not provided
@@ -47,7 +53,7 @@ public class CourseContentService {
         content.setCreatedAt(LocalDateTime.now());
         content.setUpdatedAt(LocalDateTime.now());
 
-        return courseContentRepository.save(content);
+        return saveAndIndex(content);
     }
 
     // Update existing content
@@ -88,15 +94,16 @@ public class CourseContentService {
 
         content.setUpdatedAt(LocalDateTime.now());
 
-        return courseContentRepository.save(content);
+        return saveAndIndex(content);
     }
 
     // Delete content
     public void deleteContent(Long contentId) {
-        if (!courseContentRepository.existsById(contentId)) {
-            throw new RuntimeException("Content not found with id: " + contentId);
-        }
-        courseContentRepository.deleteById(contentId);
+        CourseContent content = courseContentRepository.findById(contentId)
+                .orElseThrow(() -> new RuntimeException("Content not found with id: " + contentId));
+        courseContentRepository.delete(content);
+        searchIndex.remove(SearchIndex.CONTENT, contentId);
+        courseProgressTracker.contentDeleted(content.getCourseId(), contentId);
     }
 
     // Get content by ID
@@ -151,7 +158,15 @@ public class CourseContentService {
 
     // Search content
     public List<CourseContent> searchContent(Long courseId, String keyword) {
-        return courseContentRepository.searchContentInCourse(courseId, keyword);
+        List<Long> ids = searchIndex.searchIds(SearchIndex.CONTENT, keyword, courseId);
+        return SearchIndex.inRankOrder(ids, courseContentRepository.findAllById(ids), CourseContent::getId);
+    }
+
+    private CourseContent saveAndIndex(CourseContent content) {
+        CourseContent savedContent = courseContentRepository.save(content);
+        searchIndex.indexContent(savedContent);
+        courseProgressTracker.courseContentChanged(savedContent.getCourseId());
+        return savedContent;
     }
 
     // Publish content
@@ -162,7 +177,7 @@ public class CourseContentService {
         content.setIsPublished(true);
         content.setUpdatedAt(LocalDateTime.now());
         
-        return courseContentRepository.save(content);
+        return saveAndIndex(content);
     }
 
     // Unpublish content
@@ -173,7 +188,7 @@ public class CourseContentService {
         content.setIsPublished(false);
         content.setUpdatedAt(LocalDateTime.now());
         
-        return courseContentRepository.save(content);
+        return saveAndIndex(content);
     }
 
     // Reorder content
@@ -212,6 +227,7 @@ public class CourseContentService {
         content.setLessonId(lessonId);
         content.setUpdatedAt(LocalDateTime.now());
 
+        courseProgressTracker.courseContentChanged(content.getCourseId());
         return courseContentRepository.save(content);
     }
 
@@ -0,0 +1,54 @@
+package com.drugprevention.drugbe.service;
+
+import com.drugprevention.drugbe.repository.CourseRepository;
+import com.drugprevention.drugbe.repository.CourseRepositoryCustom.ParticipantCount;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Course participant counters.
+ * Every change is a single relative UPDATE of current_participants, so concurrent enrolments
+ * never lose an increment and never rewrite the rest of the course row. The count is for
+ * statistics only and never goes below zero. Callers must not save a Course they loaded in the
+ * same transaction afterwards, as its currentParticipants is stale.
+ */
+@Component
+public class CourseParticipantCounter {
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CourseCatalog courseCatalog;
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    // New participant count
+    public int increment(Long courseId) {
+        ParticipantCount result = courseRepository.adjustParticipants(courseId, 1);
+        if (result == null) {
+            throw new RuntimeException("Course not found with id: " + courseId);
+        }
+        recordChange(courseId, result, 1);
+        return result.getCount();
+    }
+
+    // New participant count; a count already at zero stays there
+    public int decrement(Long courseId) {
+        ParticipantCount result = courseRepository.adjustParticipants(courseId, -1);
+        if (result == null) {
+            if (!courseRepository.existsById(courseId)) {
+                throw new RuntimeException("Course not found with id: " + courseId);
+            }
+            return 0;
+        }
+        recordChange(courseId, result, -1);
+        return result.getCount();
+    }
+
+    private void recordChange(Long courseId, ParticipantCount result, int delta) {
+        courseCatalog.participantsChanged(courseId, delta);
+        statisticsService.recordCourseParticipantsChange(result.isActive(), result.getCount(), delta);
+    }
+}
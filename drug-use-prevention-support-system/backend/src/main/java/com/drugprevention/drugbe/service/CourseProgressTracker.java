@@ -0,0 +1,508 @@
+package com.drugprevention.drugbe.service;
+
+import com.drugprevention.drugbe.dto.ProgressEventDTO;
+import com.drugprevention.drugbe.entity.CourseContent;
+import com.drugprevention.drugbe.repository.CourseContentRepository;
+import com.drugprevention.drugbe.repository.CourseProgressRepository;
+import com.drugprevention.drugbe.repository.CourseProgressRepositoryCustom.ContentProgressUpdate;
+import com.drugprevention.drugbe.repository.CourseRegistrationRepository;
+import com.drugprevention.drugbe.util.TransactionUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind course progress tracking.
+ * Progress events, including high-frequency video heartbeats, are coalesced in memory per
+ * (user, content) and merged into course_progress in batches on a schedule, so a burst of
+ * heartbeats costs one upsert. Per user and course, a completion bitset over the course's content
+ * keeps completed counts up to date as events arrive, so course and lesson completion percentages
+ * are read without a query. Bitsets are loaded from course_progress on first use and rebuilt when
+ * the course's content changes.
+ */
+@Service
+public class CourseProgressTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseProgressTracker.class);
+
+    public enum RecordResult { ACCEPTED, NOT_ENROLLED, BUSY }
+
+    public static final String CONTENT_VIEWED = "CONTENT_VIEWED";
+    public static final String VIDEO_HEARTBEAT = "VIDEO_HEARTBEAT";
+    public static final String VIDEO_WATCHED = "VIDEO_WATCHED";
+    public static final String CONTENT_COMPLETED = "CONTENT_COMPLETED";
+
+    // Watching this share of a video completes it
+    private static final int VIDEO_COMPLETION_PERCENT = 90;
+
+    // Client-reported time is capped per event and per pending entry, so the minute total cannot overflow
+    private static final int MAX_EVENT_SECONDS = 4 * 60 * 60;
+    private static final int MAX_PENDING_SECONDS = 24 * 60 * 60;
+
+    // A row that fails to write this many flushes in a row is dropped rather than retried forever
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+
+    @Autowired
+    private CourseProgressRepository courseProgressRepository;
+
+    @Autowired
+    private CourseContentRepository courseContentRepository;
+
+    @Autowired
+    private CourseRegistrationRepository courseRegistrationRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${progress.max-pending:50000}")
+    private int maxPending;
+
+    @Value("${progress.max-tracked:100000}")
+    private int maxTracked;
+
+    @Value("${progress.max-layouts:10000}")
+    private int maxLayouts;
+
+    private TransactionTemplate transactionTemplate;
+
+    // (user, content) -> progress not yet written
+    private final Map<ProgressKey, PendingProgress> pending = new ConcurrentHashMap<>();
+
+    // Progress being written by the current flush; still counts as completed when a bitset is loaded
+    private volatile Collection<PendingProgress> inFlight = List.of();
+
+    // (user, content) -> seconds not yet worth a whole minute of time_spent
+    private final Map<ProgressKey, Integer> carriedSeconds = new ConcurrentHashMap<>();
+
+    private final Map<Long, CourseLayout> layouts = new ConcurrentHashMap<>();
+
+    // (user, course) -> completion state
+    private final Map<ProgressKey, UserCourseProgress> tracked = new ConcurrentHashMap<>();
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // ===== INGESTION =====
+
+    public RecordResult record(Long userId, Long courseId, ProgressEventDTO event) {
+        if (event.getContentId() == null || event.getEventType() == null) {
+            throw new RuntimeException("Content ID and event type are required");
+        }
+        String eventType = event.getEventType().trim().toUpperCase();
+        if (!CONTENT_VIEWED.equals(eventType) && !VIDEO_HEARTBEAT.equals(eventType)
+                && !VIDEO_WATCHED.equals(eventType) && !CONTENT_COMPLETED.equals(eventType)) {
+            throw new RuntimeException("Unknown progress event type: " + event.getEventType());
+        }
+        CourseLayout layout = layout(courseId);
+        ContentSlot slot = layout.slots.get(event.getContentId());
+        if (slot == null) {
+            throw new RuntimeException("Content " + event.getContentId() + " does not belong to course " + courseId);
+        }
+        UserCourseProgress progress = progress(userId, courseId, layout);
+        if (!progress.enrolled) {
+            return RecordResult.NOT_ENROLLED;
+        }
+
+        ProgressKey key = new ProgressKey(userId, event.getContentId());
+        if (pending.size() >= maxPending && !pending.containsKey(key)) {
+            return RecordResult.BUSY;
+        }
+        Integer duration = event.getDuration() != null && event.getDuration() > 0 ? event.getDuration() : slot.videoDuration;
+        Integer position = event.getPosition() != null ? Math.max(0, event.getPosition()) : null;
+        int percent = CONTENT_COMPLETED.equals(eventType) ? 100 : 0;
+        if (position != null && duration != null && duration > 0) {
+            percent = Math.max(percent, Math.min(100, (int) (position * 100L / duration)));
+        }
+        boolean completed = percent >= (CONTENT_COMPLETED.equals(eventType) ? 100 : VIDEO_COMPLETION_PERCENT);
+        String progressType = completed ? CONTENT_COMPLETED
+                : (VIDEO_HEARTBEAT.equals(eventType) || VIDEO_WATCHED.equals(eventType)) ? VIDEO_WATCHED : CONTENT_VIEWED;
+        int seconds = event.getTimeSpent() != null ? Math.max(0, Math.min(MAX_EVENT_SECONDS, event.getTimeSpent())) : 0;
+        boolean newView = CONTENT_VIEWED.equals(eventType);
+        LocalDateTime now = LocalDateTime.now();
+
+        int finalPercent = percent;
+        pending.compute(key, (ignored, current) -> {
+            PendingProgress merged = current != null ? current
+                    : new PendingProgress(userId, courseId, slot.lessonId, event.getContentId(), now);
+            merged.merge(progressType, finalPercent, position, duration, completed, seconds, newView, now);
+            return merged;
+        });
+        if (completed) {
+            progress.markCompleted(slot);
+        }
+        return RecordResult.ACCEPTED;
+    }
+
+    // ===== READS =====
+
+    public double getCourseCompletionPercentage(Long userId, Long courseId) {
+        CourseLayout layout = layout(courseId);
+        return progress(userId, courseId, layout).coursePercentage();
+    }
+
+    // Lesson id -> completion percentage, for every lesson of the course that has content
+    public Map<Long, Double> getLessonCompletionPercentages(Long userId, Long courseId) {
+        CourseLayout layout = layout(courseId);
+        UserCourseProgress progress = progress(userId, courseId, layout);
+        Map<Long, Double> percentages = new LinkedHashMap<>();
+        for (int i = 0; i < layout.lessonIds.size(); i++) {
+            percentages.put(layout.lessonIds.get(i), progress.lessonPercentage(i));
+        }
+        return percentages;
+    }
+
+    // ===== INVALIDATION =====
+
+    // Content was added, removed or moved; completion bitsets of the course are rebuilt on next use
+    public void courseContentChanged(Long courseId) {
+        if (courseId != null) {
+            TransactionUtils.afterCommit(() -> layouts.remove(courseId));
+        }
+    }
+
+    // Content was deleted; unwritten progress on it would be rejected by the content_id foreign key
+    public void contentDeleted(Long courseId, Long contentId) {
+        TransactionUtils.afterCommit(() -> {
+            if (courseId != null) {
+                layouts.remove(courseId);
+            }
+            pending.values().removeIf(entry -> entry.contentId.equals(contentId));
+            carriedSeconds.keySet().removeIf(key -> key.target == contentId);
+        });
+    }
+
+    public void registrationChanged(Long userId, Long courseId) {
+        ProgressKey key = new ProgressKey(userId, courseId);
+        TransactionUtils.afterCommit(() -> tracked.remove(key));
+    }
+
+    // ===== FLUSH =====
+
+    @Scheduled(initialDelayString = "${progress.flush-interval-ms:5000}",
+               fixedDelayString = "${progress.flush-interval-ms:5000}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+
+    public void flush() {
+        flushLock.lock();
+        try {
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<PendingProgress> batch = new ArrayList<>(pending.size());
+            for (ProgressKey key : new ArrayList<>(pending.keySet())) {
+                PendingProgress entry = pending.remove(key);
+                if (entry != null) {
+                    batch.add(entry);
+                }
+            }
+            inFlight = batch;
+            try {
+                List<ContentProgressUpdate> updates = new ArrayList<>(batch.size());
+                for (PendingProgress entry : batch) {
+                    Integer carried = carriedSeconds.remove(entry.key());
+                    if (carried != null) {
+                        entry.seconds += carried;
+                    }
+                    updates.add(entry.toUpdate(entry.seconds / 60));
+                }
+                try {
+                    transactionTemplate.executeWithoutResult(status -> courseProgressRepository.upsertContentProgress(updates));
+                    for (PendingProgress entry : batch) {
+                        written(entry);
+                    }
+                } catch (Exception e) {
+                    // One bad row fails the whole batch; write row by row so the others still land
+                    logger.warn("Course progress batch of {} failed, retrying individually: {}", batch.size(), e.getMessage());
+                    for (int i = 0; i < batch.size(); i++) {
+                        PendingProgress entry = batch.get(i);
+                        ContentProgressUpdate update = updates.get(i);
+                        try {
+                            transactionTemplate.executeWithoutResult(
+                                    status -> courseProgressRepository.upsertContentProgress(List.of(update)));
+                            written(entry);
+                        } catch (Exception single) {
+                            failed(entry, single);
+                        }
+                    }
+                }
+            } finally {
+                inFlight = List.of();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // Seconds short of a whole minute wait for the next update of the row
+    private void written(PendingProgress entry) {
+        if (entry.seconds % 60 != 0 && carriedSeconds.size() < maxPending) {
+            carriedSeconds.put(entry.key(), entry.seconds % 60);
+        }
+    }
+
+    // Put the entry back to coalesce with anything recorded meanwhile, unless it keeps failing
+    private void failed(PendingProgress entry, Exception e) {
+        entry.failures++;
+        if (entry.failures >= MAX_WRITE_ATTEMPTS) {
+            logger.error("Dropping course progress of user {} on content {} after {} failed writes: {}",
+                    entry.userId, entry.contentId, entry.failures, e.getMessage());
+            return;
+        }
+        logger.warn("Failed to write course progress of user {} on content {}: {}",
+                entry.userId, entry.contentId, e.getMessage());
+        pending.merge(entry.key(), entry, PendingProgress::absorb);
+    }
+
+    // ===== STATE =====
+
+    // Empty layouts (unknown courses, courses without content) are not cached
+    private CourseLayout layout(Long courseId) {
+        CourseLayout layout = layouts.get(courseId);
+        if (layout == null) {
+            layout = new CourseLayout(courseContentRepository.findByCourseIdOrderByContentOrder(courseId));
+            if (!layout.slots.isEmpty()) {
+                if (layouts.size() >= maxLayouts) {
+                    layouts.clear();
+                }
+                layouts.put(courseId, layout);
+            }
+        }
+        return layout;
+    }
+
+    private UserCourseProgress progress(Long userId, Long courseId, CourseLayout layout) {
+        ProgressKey key = new ProgressKey(userId, courseId);
+        UserCourseProgress progress = tracked.get(key);
+        if (progress != null && progress.layout == layout) {
+            return progress;
+        }
+        boolean enrolled = progress != null
+                ? progress.enrolled
+                : courseRegistrationRepository.existsByUserIdAndCourseIdAndIsActiveTrue(userId, courseId);
+        progress = new UserCourseProgress(layout, enrolled);
+        for (Long contentId : courseProgressRepository.findCompletedContentIds(userId, courseId)) {
+            progress.markCompleted(layout.slots.get(contentId));
+        }
+        markUnwritten(progress, pending.values(), userId, courseId);
+        markUnwritten(progress, inFlight, userId, courseId);
+        if (tracked.size() >= maxTracked) {
+            tracked.clear();
+        }
+        tracked.put(key, progress);
+        return progress;
+    }
+
+    private static void markUnwritten(UserCourseProgress progress, Collection<PendingProgress> entries,
+                                      Long userId, Long courseId) {
+        for (PendingProgress entry : entries) {
+            if (entry.completed && entry.userId.equals(userId) && entry.courseId.equals(courseId)) {
+                progress.markCompleted(progress.layout.slots.get(entry.contentId));
+            }
+        }
+    }
+
+    private static final class ProgressKey {
+        private final long owner;
+        private final long target;
+
+        private ProgressKey(long owner, long target) {
+            this.owner = owner;
+            this.target = target;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ProgressKey)) return false;
+            ProgressKey other = (ProgressKey) o;
+            return owner == other.owner && target == other.target;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(owner) * 31 + Long.hashCode(target);
+        }
+    }
+
+    private static final class ContentSlot {
+        private final int bit;
+        private final int lessonIndex; // -1 if the content is not in a lesson
+        private final Long lessonId;
+        private final boolean required;
+        private final Integer videoDuration;
+
+        private ContentSlot(int bit, int lessonIndex, Long lessonId, boolean required, Integer videoDuration) {
+            this.bit = bit;
+            this.lessonIndex = lessonIndex;
+            this.lessonId = lessonId;
+            this.required = required;
+            this.videoDuration = videoDuration;
+        }
+    }
+
+    // Bit positions for the content of one course
+    private static final class CourseLayout {
+        private final Map<Long, ContentSlot> slots = new HashMap<>();
+        private final List<Long> lessonIds = new ArrayList<>();
+        private final int[] lessonSizes;
+        private final int requiredCount;
+
+        private CourseLayout(List<CourseContent> contents) {
+            Map<Long, Integer> lessonIndexes = new HashMap<>();
+            List<Integer> sizes = new ArrayList<>();
+            int required = 0;
+            for (CourseContent content : contents) {
+                int lessonIndex = -1;
+                if (content.getLessonId() != null) {
+                    lessonIndex = lessonIndexes.computeIfAbsent(content.getLessonId(), lessonId -> {
+                        lessonIds.add(lessonId);
+                        sizes.add(0);
+                        return lessonIds.size() - 1;
+                    });
+                    sizes.set(lessonIndex, sizes.get(lessonIndex) + 1);
+                }
+                boolean isRequired = Boolean.TRUE.equals(content.getRequiredCompletion());
+                if (isRequired) {
+                    required++;
+                }
+                slots.put(content.getId(), new ContentSlot(slots.size(), lessonIndex, content.getLessonId(),
+                        isRequired, content.getVideoDuration()));
+            }
+            this.lessonSizes = sizes.stream().mapToInt(Integer::intValue).toArray();
+            this.requiredCount = required;
+        }
+    }
+
+    // Completed content of one user in one course, with running counts for O(1) percentages
+    private static final class UserCourseProgress {
+        private final CourseLayout layout;
+        private final boolean enrolled;
+        private final BitSet completed = new BitSet();
+        private final int[] lessonCompleted;
+        private int requiredCompleted;
+
+        private UserCourseProgress(CourseLayout layout, boolean enrolled) {
+            this.layout = layout;
+            this.enrolled = enrolled;
+            this.lessonCompleted = new int[layout.lessonSizes.length];
+        }
+
+        private synchronized void markCompleted(ContentSlot slot) {
+            if (slot == null || completed.get(slot.bit)) {
+                return;
+            }
+            completed.set(slot.bit);
+            if (slot.required) {
+                requiredCompleted++;
+            }
+            if (slot.lessonIndex >= 0) {
+                lessonCompleted[slot.lessonIndex]++;
+            }
+        }
+
+        private synchronized double coursePercentage() {
+            return layout.requiredCount == 0 ? 100.0 : requiredCompleted * 100.0 / layout.requiredCount;
+        }
+
+        private synchronized double lessonPercentage(int lessonIndex) {
+            int size = layout.lessonSizes[lessonIndex];
+            return size == 0 ? 100.0 : lessonCompleted[lessonIndex] * 100.0 / size;
+        }
+    }
+
+    // Coalesced progress of one user on one content item; guarded by the pending map's compute
+    private static final class PendingProgress {
+        private final Long userId;
+        private final Long courseId;
+        private final Long lessonId;
+        private final Long contentId;
+        private final LocalDateTime firstAccessedAt;
+        private String progressType;
+        private int percent;
+        private Integer position;
+        private Integer duration;
+        private boolean completed;
+        private int seconds;
+        private int attempts;
+        private int failures;
+        private LocalDateTime lastAccessedAt;
+
+        private PendingProgress(Long userId, Long courseId, Long lessonId, Long contentId, LocalDateTime now) {
+            this.userId = userId;
+            this.courseId = courseId;
+            this.lessonId = lessonId;
+            this.contentId = contentId;
+            this.firstAccessedAt = now;
+            this.progressType = CONTENT_VIEWED;
+            this.lastAccessedAt = now;
+        }
+
+        private ProgressKey key() {
+            return new ProgressKey(userId, contentId);
+        }
+
+        private void merge(String type, int newPercent, Integer newPosition, Integer newDuration,
+                           boolean isCompleted, int newSeconds, boolean newView, LocalDateTime now) {
+            if (!completed && (isCompleted || !CONTENT_VIEWED.equals(type))) {
+                progressType = type;
+            }
+            percent = Math.max(percent, newPercent);
+            if (newPosition != null && (position == null || newPosition > position)) {
+                position = newPosition;
+            }
+            if (newDuration != null) {
+                duration = newDuration;
+            }
+            completed |= isCompleted;
+            seconds = (int) Math.min(MAX_PENDING_SECONDS, (long) seconds + newSeconds);
+            if (newView) {
+                attempts++;
+            }
+            lastAccessedAt = now;
+        }
+
+        // Fold an older entry that failed to write into this newer one
+        private PendingProgress absorb(PendingProgress older) {
+            merge(older.progressType, older.percent, older.position, older.duration, older.completed,
+                    older.seconds, false, lastAccessedAt);
+            attempts += older.attempts;
+            failures = Math.max(failures, older.failures);
+            return this;
+        }
+
+        private ContentProgressUpdate toUpdate(int minutes) {
+            return new ContentProgressUpdate(userId, courseId, lessonId, contentId, progressType,
+                    completed ? 100 : percent, minutes, position, duration, completed, attempts,
+                    firstAccessedAt, lastAccessedAt);
+        }
+    }
+}
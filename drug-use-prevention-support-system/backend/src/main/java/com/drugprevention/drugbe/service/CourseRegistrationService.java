@@ -27,6 +27,12 @@ public class CourseRegistrationService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private CourseParticipantCounter courseParticipantCounter;
+
+    @Autowired
+    private CourseProgressTracker courseProgressTracker;
+
     // Register user for a course
     public CourseRegistration registerForCourse(Long userId, Long courseId) {
         // Validate inputs
@@ -80,8 +86,8 @@ public class CourseRegistrationService {
         registration = courseRegistrationRepository.save(registration);
         
         // Increment course participants
-        course.setCurrentParticipants(course.getCurrentParticipants() + 1);
-        courseRepository.save(course);
+        courseParticipantCounter.increment(courseId);
+        courseProgressTracker.registrationChanged(userId, courseId);
         
         return registration;
     }
@@ -109,10 +115,8 @@ public class CourseRegistrationService {
         courseRegistrationRepository.save(registration);
         
         // Decrement course participants
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new RuntimeException("Course not found"));
-        course.setCurrentParticipants(course.getCurrentParticipants() - 1);
-        courseRepository.save(course);
+        courseParticipantCounter.decrement(courseId);
+        courseProgressTracker.registrationChanged(userId, courseId);
     }
 
     // Get registration by ID
@@ -18,6 +18,7 @@ import com.drugprevention.drugbe.entity.CourseRegistration;
 import com.drugprevention.drugbe.repository.CourseRegistrationRepository;
 import com.drugprevention.drugbe.entity.CourseProgress;
 import com.drugprevention.drugbe.repository.CourseProgressRepository;
+import com.drugprevention.drugbe.dto.CursorPage;
 
 @Service
 public class CourseService {
@@ -34,6 +35,18 @@ public class CourseService {
     @Autowired
     private CourseProgressRepository courseProgressRepository;
 
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Autowired
+    private CourseCatalog courseCatalog;
+
+    @Autowired
+    private CourseParticipantCounter courseParticipantCounter;
+
     // 1. Get all courses
     public List<Course> getAllCourses() {
         return courseRepository.findAll();
@@ -90,7 +103,11 @@ public class CourseService {
         System.out.println("Creating course with price: " + course.getPrice());
         System.out.println("Course details: " + course.getTitle() + " - " + course.getDescription());
         
-        return courseRepository.save(course);
+        Course savedCourse = courseRepository.save(course);
+        statisticsService.recordCourseChanged();
+        searchIndex.indexCourse(savedCourse);
+        courseCatalog.courseChanged(savedCourse);
+        return savedCourse;
     }
 
     // 4. Update course
@@ -158,7 +175,11 @@ public class CourseService {
         
         course.setUpdatedAt(LocalDateTime.now());
         
-        return courseRepository.save(course);
+        Course savedCourse = courseRepository.save(course);
+        statisticsService.recordCourseChanged();
+        searchIndex.indexCourse(savedCourse);
+        courseCatalog.courseChanged(savedCourse);
+        return savedCourse;
     }
 
     // 5. Delete course
@@ -168,6 +189,9 @@ public class CourseService {
             throw new RuntimeException("Course not found with id: " + id);
         }
         courseRepository.deleteById(id);
+        statisticsService.recordCourseChanged();
+        searchIndex.remove(SearchIndex.COURSE, id);
+        courseCatalog.courseDeleted(id);
     }
 
     // 6. Get courses by instructor
@@ -180,9 +204,24 @@ public class CourseService {
         return courseRepository.findByCategoryId(categoryId);
     }
 
-    // 8. Get active courses
+    // 7b. Get active, open courses of a category (catalogue snapshot)
+    public List<Course> getPublishedCoursesByCategory(Long categoryId) {
+        return courseCatalog.getPublishedCoursesByCategory(categoryId);
+    }
+
+    // 8. Get active courses (catalogue snapshot)
     public List<Course> getActiveCourses() {
-        return courseRepository.findByIsActiveTrue();
+        return courseCatalog.getActiveCourses();
+    }
+
+    // 8b. Get active courses, one keyset page at a time (catalogue snapshot)
+    public CursorPage<Course> getActiveCoursesPage(String cursor, Integer limit) {
+        return courseCatalog.getActiveCoursesPage(cursor, limit);
+    }
+
+    // 8c. Get an active course (catalogue snapshot)
+    public Optional<Course> getActiveCourseById(Long id) {
+        return courseCatalog.getActiveCourse(id);
     }
 
     // 9. Get open courses
@@ -190,19 +229,20 @@ public class CourseService {
         return courseRepository.findByStatusAndIsActiveTrue("open");
     }
 
-    // 10. Get featured courses
+    // 10. Get featured courses (catalogue snapshot)
     public List<Course> getFeaturedCourses() {
-        return courseRepository.findByIsFeaturedTrue();
+        return courseCatalog.getFeaturedCourses();
     }
 
-    // 11. Get available courses (with available spots)
+    // 11. Get available courses (catalogue snapshot)
     public List<Course> getAvailableCourses() {
-        return courseRepository.findAvailableCourses();
+        return courseCatalog.getAvailableCourses();
     }
 
     // 12. Search courses by keyword
     public List<Course> searchCourses(String keyword) {
-        return courseRepository.findByKeyword(keyword);
+        List<Long> ids = searchIndex.searchIds(SearchIndex.COURSE, keyword, null);
+        return SearchIndex.inRankOrder(ids, courseRepository.findAllById(ids), Course::getId);
     }
 
     // 13. Get courses with pagination
@@ -213,55 +253,35 @@ public class CourseService {
     // 14. Increment participants count (for statistics only - no enrollment limits)
     @Transactional
     public void incrementParticipants(Long courseId) {
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new RuntimeException("Course not found"));
-        // Keep tracking for statistics, but no longer enforce limits
-        course.setCurrentParticipants(course.getCurrentParticipants() + 1);
-        courseRepository.save(course);
+        courseParticipantCounter.increment(courseId);
     }
 
     // 15. Decrement participants count (for statistics only - no enrollment limits)
     @Transactional
     public void decrementParticipants(Long courseId) {
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new RuntimeException("Course not found"));
-        // Keep tracking for statistics, but no longer enforce limits
-        if (course.getCurrentParticipants() > 0) {
-            course.setCurrentParticipants(course.getCurrentParticipants() - 1);
-            courseRepository.save(course);
-        }
+        courseParticipantCounter.decrement(courseId);
     }
 
     // Increment course participants (for statistics only - no enrollment limits)
     @Transactional
     public void incrementCourseParticipants(Long courseId) {
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new RuntimeException("Course not found with id: " + courseId));
-        // Keep tracking for statistics, but no longer enforce limits
-        course.setCurrentParticipants(course.getCurrentParticipants() + 1);
-        courseRepository.save(course);
+        courseParticipantCounter.increment(courseId);
     }
 
-    // Decrement course participants (for statistics only - no enrollment limits)  
+    // Decrement course participants (for statistics only - no enrollment limits)
     @Transactional
     public void decrementCourseParticipants(Long courseId) {
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new RuntimeException("Course not found with id: " + courseId));
-        // Keep tracking for statistics, but no longer enforce limits
-        if (course.getCurrentParticipants() > 0) {
-            course.setCurrentParticipants(course.getCurrentParticipants() - 1);
-        }
-        courseRepository.save(course);
+        courseParticipantCounter.decrement(courseId);
     }
 
-    // 16. Get latest courses
+    // 16. Get latest courses (catalogue snapshot)
     public List<Course> getLatestCourses() {
-        return courseRepository.findTop10ByStatusOrderByCreatedAtDesc("open");
+        return courseCatalog.getLatestCourses();
     }
 
-    // 17. Get popular courses
+    // 17. Get popular courses (catalogue snapshot)
     public List<Course> getPopularCourses() {
-        return courseRepository.findTop10ByStatusOrderByCurrentParticipantsDesc("open");
+        return courseCatalog.getPopularCourses();
     }
 
     // 18. Course Registration methods
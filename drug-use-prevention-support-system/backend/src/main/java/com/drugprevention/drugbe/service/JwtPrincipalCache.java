@@ -0,0 +1,87 @@
+package com.drugprevention.drugbe.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of verified JWT principals keyed by the raw token.
+ * An entry never outlives its token: it expires at the token expiry or after
+ * the configured TTL, whichever comes first. User updates evict by username.
+ */
+@Component
+public class JwtPrincipalCache {
+
+    @Value("${jwt.principal-cache.ttl-ms:300000}")
+    private long ttlMs;
+
+    @Value("${jwt.principal-cache.max-entries:10000}")
+    private int maxEntries;
+
+    private final Map<String, CachedPrincipal> cache = new ConcurrentHashMap<>();
+
+    public UserDetails get(String token) {
+        CachedPrincipal cached = cache.get(token);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.expiresAt <= System.currentTimeMillis()) {
+            cache.remove(token, cached);
+            return null;
+        }
+        return cached.userDetails;
+    }
+
+    public void put(String token, UserDetails userDetails, Date tokenExpiration) {
+        long now = System.currentTimeMillis();
+        long expiresAt = now + ttlMs;
+        if (tokenExpiration != null) {
+            expiresAt = Math.min(expiresAt, tokenExpiration.getTime());
+        }
+        if (expiresAt <= now) {
+            return;
+        }
+
+        if (cache.size() >= maxEntries) {
+            removeExpired(now);
+            if (cache.size() >= maxEntries) {
+                cache.clear();
+            }
+        }
+        cache.put(token, new CachedPrincipal(userDetails, expiresAt));
+    }
+
+    // Drop every cached token of a user, e.g. after a profile, role or status change
+    public void evictUser(String username) {
+        if (username == null) {
+            return;
+        }
+        cache.values().removeIf(cached -> username.equals(cached.userDetails.getUsername()));
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    private void removeExpired(long now) {
+        cache.values().removeIf(cached -> cached.expiresAt <= now);
+    }
+
+    private static final class CachedPrincipal {
+        private final UserDetails userDetails;
+        private final long expiresAt;
+
+        private CachedPrincipal(UserDetails userDetails, long expiresAt) {
+            this.userDetails = userDetails;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
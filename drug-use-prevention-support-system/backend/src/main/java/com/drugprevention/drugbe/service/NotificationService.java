@@ -0,0 +1,212 @@
+package com.drugprevention.drugbe.service;
+
+import com.drugprevention.drugbe.config.ThreadingConfig;
+import com.drugprevention.drugbe.dto.CursorPage;
+import com.drugprevention.drugbe.entity.Notification;
+import com.drugprevention.drugbe.repository.NotificationRepository;
+import com.drugprevention.drugbe.util.KeysetCursor;
+import com.drugprevention.drugbe.util.TransactionUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * User notifications.
+ * Producers publish after their transaction commits into a bounded in-memory queue; a single
+ * writer thread drains it and stores notifications in multi-row inserts, so publishing never
+ * blocks the request thread. Unread counts are kept per user in memory, warmed from one
+ * grouped query, so reading them never scans the table.
+ */
+@Service
+public class NotificationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationService.class);
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private ThreadingConfig threadingConfig;
+
+    @Value("${notifications.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${notifications.batch-size:200}")
+    private int batchSize;
+
+    private BlockingQueue<Notification> queue;
+
+    private Thread writer;
+
+    private volatile boolean running;
+
+    // Guards the unread counters against a concurrent warm-up
+    private final ReentrantLock counterLock = new ReentrantLock();
+
+    private final Map<Long, AtomicLong> unreadByUser = new ConcurrentHashMap<>();
+
+    private volatile boolean countersInitialized = false;
+
+    // Number of warm-ups started; a batch whose insert overlapped one cannot tell whether it was counted
+    private volatile long warmups = 0;
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        writer = threadingConfig.newThread("notification-writer", this::drainLoop);
+        writer.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        writer.interrupt();
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ===== PRODUCER API =====
+
+    // Queue a notification once the current transaction commits; dropped if the queue is full
+    public void publish(Long userId, String type, String title, String message, Long referenceId) {
+        if (userId == null) {
+            return;
+        }
+        Notification notification = new Notification(userId, type, title, message, referenceId);
+        TransactionUtils.afterCommit(() -> {
+            if (!queue.offer(notification)) {
+                logger.warn("Notification queue full, dropping {} notification for user {}", type, userId);
+            }
+        });
+    }
+
+    // ===== READS =====
+
+    // Notifications of a user, newest first, one keyset page at a time
+    public CursorPage<Notification> getNotificationsPage(Long userId, String cursor, Integer limit) {
+        int pageSize = KeysetCursor.limit(limit);
+        List<Notification> rows = notificationRepository.findByUserIdAndIdLessThanOrderByIdDesc(
+                userId, KeysetCursor.afterId(cursor), KeysetCursor.fetch(pageSize));
+        return KeysetCursor.page(rows, pageSize, Notification::getId);
+    }
+
+    public long getUnreadCount(Long userId) {
+        ensureCountersInitialized();
+        AtomicLong counter = unreadByUser.get(userId);
+        return counter != null ? Math.max(counter.get(), 0L) : 0L;
+    }
+
+    @Transactional
+    public boolean markAsRead(Long notificationId, Long userId) {
+        int updated = notificationRepository.markAsRead(notificationId, userId, LocalDateTime.now());
+        if (updated == 0) {
+            return false;
+        }
+        TransactionUtils.afterCommit(() -> {
+            counterLock.lock();
+            try {
+                AtomicLong counter = unreadByUser.get(userId);
+                if (counter != null && counter.get() > 0) {
+                    counter.decrementAndGet();
+                }
+            } finally {
+                counterLock.unlock();
+            }
+        });
+        return true;
+    }
+
+    // ===== WRITER =====
+
+    private void drainLoop() {
+        List<Notification> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Notification first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                if (!running) {
+                    queue.drainTo(batch);
+                    write(batch);
+                    return;
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Notification> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            // Insert without the lock, so reads and decrements never wait on the database
+            long warmupsBefore = warmups;
+            notificationRepository.insertAll(batch);
+            counterLock.lock();
+            try {
+                if (!countersInitialized) {
+                    return; // the next warm-up counts this batch
+                }
+                if (warmups != warmupsBefore) {
+                    // A warm-up ran during the insert and may or may not have counted it; count again
+                    countersInitialized = false;
+                    return;
+                }
+                for (Notification notification : batch) {
+                    unreadByUser.computeIfAbsent(notification.getUserId(), id -> new AtomicLong()).incrementAndGet();
+                }
+            } finally {
+                counterLock.unlock();
+            }
+        } catch (Exception e) {
+            logger.error("Failed to store {} notifications: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private void ensureCountersInitialized() {
+        if (countersInitialized) {
+            return;
+        }
+        counterLock.lock();
+        try {
+            if (countersInitialized) {
+                return;
+            }
+            warmups++;
+            unreadByUser.clear();
+            for (Object[] row : notificationRepository.countUnreadByUser()) {
+                unreadByUser.put((Long) row[0], new AtomicLong(((Number) row[1]).longValue()));
+            }
+            countersInitialized = true;
+        } finally {
+            counterLock.unlock();
+        }
+    }
+}
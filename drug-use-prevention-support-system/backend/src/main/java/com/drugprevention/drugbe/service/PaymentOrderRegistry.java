@@ -0,0 +1,182 @@
+package com.drugprevention.drugbe.service;
+
+import com.drugprevention.drugbe.entity.Payment;
+import com.drugprevention.drugbe.repository.PaymentRepository;
+import com.drugprevention.drugbe.util.TransactionUtils;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Typed references for VNPay orders.
+ * The vnp_TxnRef sent to VNPay encodes the order type, an order number and the target id, e.g.
+ * "A152T37" for order 152 of appointment 37, so return and IPN handlers know what was paid for
+ * without parsing vnp_OrderInfo. Order numbers come from a database sequence in blocks, so a
+ * reference (and with it the payment URL) exists before the payment row is inserted; the payment
+ * stores it in txn_ref. Open references are kept in memory; anything else is decoded from the
+ * reference itself or, for plain numeric references issued before this format, loaded from the
+ * payment row.
+ */
+@Component
+public class PaymentOrderRegistry {
+
+    public enum OrderType {
+        APPOINTMENT('A'), COURSE('C'), OTHER('O');
+
+        private final char code;
+
+        OrderType(char code) {
+            this.code = code;
+        }
+
+        static OrderType fromCode(char code) {
+            for (OrderType type : values()) {
+                if (type.code == code) {
+                    return type;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final char TARGET_SEPARATOR = 'T';
+
+    // Order numbers reserved per sequence call; must match the sequence increment
+    private static final int ORDER_NUMBER_BLOCK = 50;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Value("${payments.order-ref.max-entries:50000}")
+    private int maxEntries;
+
+    private final Map<String, OrderReference> open = new ConcurrentHashMap<>();
+
+    // Current block of order numbers: [nextOrderNumber, orderNumberLimit)
+    private long nextOrderNumber;
+
+    private long orderNumberLimit;
+
+    // Guards the block; a lock rather than a monitor, as fetching a block blocks on the database
+    private final ReentrantLock orderNumberLock = new ReentrantLock();
+
+    @PostConstruct
+    void init() {
+        paymentRepository.createOrderSequenceIfMissing(ORDER_NUMBER_BLOCK);
+        paymentRepository.createTxnRefIndexIfMissing();
+    }
+
+    // Stamp the order on a new, not yet saved payment and return its vnp_TxnRef
+    public String register(Payment payment, OrderType type, Long targetId) {
+        OrderReference reference = new OrderReference(type, targetId, null);
+        String txnRef = reference.encode(allocateOrderNumber());
+        payment.setOrderType(type.name());
+        payment.setTargetId(targetId);
+        payment.setTxnRef(txnRef);
+        if (open.size() >= maxEntries) {
+            open.clear(); // references still decode without the map
+        }
+        TransactionUtils.afterCommit(() -> open.put(txnRef, reference));
+        return txnRef;
+    }
+
+    // Resolve a vnp_TxnRef; null if it does not belong to a known payment
+    public OrderReference resolve(String txnRef) {
+        if (txnRef == null || txnRef.isEmpty()) {
+            return null;
+        }
+        OrderReference reference = open.get(txnRef);
+        if (reference != null) {
+            return reference;
+        }
+        reference = OrderReference.decode(txnRef);
+        return reference != null ? reference : loadLegacy(txnRef);
+    }
+
+    // The payment reached a final state; VNPay will not report it again
+    public void complete(String txnRef) {
+        TransactionUtils.afterCommit(() -> open.remove(txnRef));
+    }
+
+    private long allocateOrderNumber() {
+        orderNumberLock.lock();
+        try {
+            if (nextOrderNumber >= orderNumberLimit) {
+                nextOrderNumber = paymentRepository.nextOrderNumberBlock();
+                orderNumberLimit = nextOrderNumber + ORDER_NUMBER_BLOCK;
+            }
+            return nextOrderNumber++;
+        } finally {
+            orderNumberLock.unlock();
+        }
+    }
+
+    private OrderReference loadLegacy(String txnRef) {
+        Long paymentId;
+        try {
+            paymentId = Long.valueOf(txnRef);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        Payment payment = paymentRepository.findById(paymentId).orElse(null);
+        if (payment == null) {
+            return null;
+        }
+        if (payment.getOrderType() != null) {
+            return new OrderReference(OrderType.valueOf(payment.getOrderType()), payment.getTargetId(), paymentId);
+        }
+        if (payment.getAppointment() != null) {
+            return new OrderReference(OrderType.APPOINTMENT, payment.getAppointment().getId(), paymentId);
+        }
+        return new OrderReference(OrderType.OTHER, null, paymentId);
+    }
+
+    public static final class OrderReference {
+        private final OrderType type;
+        private final Long targetId;
+        // Only known for legacy references; otherwise look the payment up by txn_ref
+        private final Long paymentId;
+
+        private OrderReference(OrderType type, Long targetId, Long paymentId) {
+            this.type = type;
+            this.targetId = targetId;
+            this.paymentId = paymentId;
+        }
+
+        public OrderType getType() { return type; }
+        public Long getTargetId() { return targetId; }
+        public Long getPaymentId() { return paymentId; }
+
+        String encode(long orderNumber) {
+            StringBuilder builder = new StringBuilder(24).append(type.code).append(orderNumber);
+            if (targetId != null) {
+                builder.append(TARGET_SEPARATOR).append(targetId);
+            }
+            return builder.toString();
+        }
+
+        // Parse "<type><orderNumber>[T<targetId>]"; null if the text is not in that form
+        static OrderReference decode(String txnRef) {
+            OrderType type = OrderType.fromCode(txnRef.charAt(0));
+            if (type == null) {
+                return null;
+            }
+            int separator = txnRef.indexOf(TARGET_SEPARATOR, 1);
+            try {
+                if (separator < 0) {
+                    Long.parseLong(txnRef.substring(1));
+                    return new OrderReference(type, null, null);
+                }
+                Long.parseLong(txnRef.substring(1, separator));
+                return new OrderReference(type, Long.valueOf(txnRef.substring(separator + 1)), null);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
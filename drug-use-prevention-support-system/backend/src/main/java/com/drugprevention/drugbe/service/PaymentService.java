@@ -21,6 +21,10 @@ public class PaymentService {
         return paymentRepository.findById(id);
     }
 
+    public Optional<Payment> getPaymentByTxnRef(String txnRef) {
+        return paymentRepository.findFirstByTxnRef(txnRef);
+    }
+
     public List<Payment> getPaymentsByUser(Long userId) {
         return paymentRepository.findByUserId(userId);
     }
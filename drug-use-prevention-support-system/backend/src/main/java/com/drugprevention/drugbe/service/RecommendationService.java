@@ -18,6 +18,9 @@ public class RecommendationService {
     @Autowired
     private RecommendationRepository recommendationRepository;
 
+    @Autowired
+    private NotificationService notificationService;
+
     // 1. Get all recommendations
     public List<Recommendation> getAllRecommendations() {
         return recommendationRepository.findAll();
@@ -35,7 +38,10 @@ public class RecommendationService {
         recommendation.setIsActive(true);
         recommendation.setCreatedAt(LocalDateTime.now());
         recommendation.setUpdatedAt(LocalDateTime.now());
-        return recommendationRepository.save(recommendation);
+        Recommendation saved = recommendationRepository.save(recommendation);
+        notificationService.publish(saved.getUserId(), "RECOMMENDATION", "New recommendation",
+                saved.getTitle(), saved.getId());
+        return saved;
     }
 
     // 4. Update recommendation
@@ -0,0 +1,79 @@
+package com.drugprevention.drugbe.service;
+
+import com.drugprevention.drugbe.config.CacheConfig;
+import com.drugprevention.drugbe.util.TransactionUtils;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Explicit eviction and hit-rate figures for the second-level cache of reference data.
+ * Hibernate already updates cached entities written through JPA; services evict as well, after
+ * commit, so that the entity and the cached queries over its type are reloaded even when the
+ * change also reached the table some other way.
+ */
+@Component
+public class ReferenceDataCache {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    public void evict(Class<?> entityType, Object id) {
+        TransactionUtils.afterCommit(() -> {
+            entityManagerFactory.getCache().evict(entityType, id);
+            sessionFactory().getCache().evictDefaultQueryRegion();
+        });
+    }
+
+    public void evictAll(Class<?> entityType) {
+        TransactionUtils.afterCommit(() -> {
+            entityManagerFactory.getCache().evict(entityType);
+            sessionFactory().getCache().evictDefaultQueryRegion();
+        });
+    }
+
+    public Map<String, Object> getStatistics() {
+        Statistics statistics = sessionFactory().getStatistics();
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String region : CacheConfig.ENTITY_REGIONS) {
+            regions.put(region, toMap(statistics.getDomainDataRegionStatistics(region)));
+        }
+        regions.put(CacheConfig.QUERY_RESULTS, toMap(statistics.getQueryRegionStatistics(CacheConfig.QUERY_RESULTS)));
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("regions", regions);
+        result.put("secondLevel", ratios(statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(), statistics.getSecondLevelCachePutCount()));
+        result.put("queries", ratios(statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount()));
+        result.put("statisticsSince", statistics.getStart());
+        return result;
+    }
+
+    private SessionFactory sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    private static Map<String, Object> toMap(CacheRegionStatistics region) {
+        if (region == null) {
+            return ratios(0, 0, 0);
+        }
+        return ratios(region.getHitCount(), region.getMissCount(), region.getPutCount());
+    }
+
+    private static Map<String, Object> ratios(long hits, long misses, long puts) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("hits", hits);
+        map.put("misses", misses);
+        map.put("puts", puts);
+        long lookups = hits + misses;
+        map.put("hitRate", lookups == 0 ? 0.0 : (double) hits / lookups);
+        return map;
+    }
+}
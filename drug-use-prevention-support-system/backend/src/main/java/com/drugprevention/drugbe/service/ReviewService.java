@@ -7,6 +7,8 @@ import com.drugprevention.drugbe.entity.User;
 import com.drugprevention.drugbe.repository.AppointmentRepository;
 import com.drugprevention.drugbe.repository.ReviewRepository;
 import com.drugprevention.drugbe.repository.UserRepository;
+import com.drugprevention.drugbe.dto.CursorPage;
+import com.drugprevention.drugbe.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -74,6 +76,15 @@ public class ReviewService {
                 .collect(Collectors.toList());
     }
 
+    // Get reviews by consultant ID, one keyset page at a time
+    public CursorPage<ReviewDTO> getReviewsByConsultantIdPage(Long consultantId, String cursor, Integer limit) {
+        int pageSize = KeysetCursor.limit(limit);
+        List<Review> rows = reviewRepository.findByConsultantIdAndIdLessThanOrderByIdDesc(
+                consultantId, KeysetCursor.afterId(cursor), KeysetCursor.fetch(pageSize));
+        return KeysetCursor.page(rows, pageSize, Review::getId)
+                .map(reviews -> reviews.stream().map(this::convertToDTO).collect(Collectors.toList()));
+    }
+
     // Get all reviews by client ID
     public List<ReviewDTO> getReviewsByClientId(Long clientId) {
         List<Review> reviews = reviewRepository.findByClientIdOrderByCreatedAtDesc(clientId);
@@ -0,0 +1,463 @@
+package com.drugprevention.drugbe.service;
+
+import com.drugprevention.drugbe.dto.SearchResultDTO;
+import com.drugprevention.drugbe.entity.Blog;
+import com.drugprevention.drugbe.entity.Course;
+import com.drugprevention.drugbe.entity.CourseContent;
+import com.drugprevention.drugbe.entity.CourseLesson;
+import com.drugprevention.drugbe.repository.BlogRepository;
+import com.drugprevention.drugbe.repository.CourseContentRepository;
+import com.drugprevention.drugbe.repository.CourseLessonRepository;
+import com.drugprevention.drugbe.repository.CourseRepository;
+import com.drugprevention.drugbe.util.NameConverter;
+import com.drugprevention.drugbe.util.TransactionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over courses, blogs, lessons and course content.
+ * Text is folded to lowercase without Vietnamese diacritics, so "ma tuy" finds "ma túy".
+ * Every query term must match a document, either exactly or as a prefix of an indexed term;
+ * hits are ranked by field-weighted term frequency times inverse document frequency.
+ * The index is built from the database on first use, kept current by the owning services
+ * after each commit, and rebuilt periodically.
+ */
+@Component
+public class SearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndex.class);
+
+    public static final String COURSE = "COURSE";
+    public static final String BLOG = "BLOG";
+    public static final String LESSON = "LESSON";
+    public static final String CONTENT = "CONTENT";
+
+    private static final float TITLE_WEIGHT = 3f;
+    private static final float TAG_WEIGHT = 2f;
+    private static final float BODY_WEIGHT = 1f;
+
+    // A prefix hit counts for half of an exact hit
+    private static final float PREFIX_FACTOR = 0.5f;
+
+    private static final int MIN_PREFIX_LENGTH = 2;
+
+    private static final int SNIPPET_LENGTH = 160;
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private BlogRepository blogRepository;
+
+    @Autowired
+    private CourseLessonRepository courseLessonRepository;
+
+    @Autowired
+    private CourseContentRepository courseContentRepository;
+
+    // Searches share the read lock; updates and the final swap of a rebuild take the write lock
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private volatile Index index;
+
+    // Updates committed while a rebuild is loading, replayed onto the rebuilt index; guarded by lock
+    private List<Consumer<Index>> pendingUpdates;
+
+    // ===== READS =====
+
+    // Published documents matching every term of the query, best first; type is optional
+    public List<SearchResultDTO> search(String query, String type, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        ensureBuilt();
+        List<SearchResultDTO> results = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<String, Float> hit : match(index, terms).entrySet()) {
+                Document document = index.documents.get(hit.getKey());
+                if (document.visible && (type == null || type.equals(document.type)) && isCourseVisible(document)) {
+                    results.add(new SearchResultDTO(document.type, document.id, document.courseId,
+                            document.title, document.snippet, hit.getValue()));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        results.sort(Comparator.comparingDouble(SearchResultDTO::getScore).reversed()
+                .thenComparing(SearchResultDTO::getTitle));
+        return results.size() > limit ? new ArrayList<>(results.subList(0, limit)) : results;
+    }
+
+    // Ids of all documents of the type matching the query, best first, published or not; courseId is optional
+    public List<Long> searchIds(String type, String query, Long courseId) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        ensureBuilt();
+        List<Map.Entry<Document, Float>> hits = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<String, Float> hit : match(index, terms).entrySet()) {
+                Document document = index.documents.get(hit.getKey());
+                if (type.equals(document.type) && (courseId == null || courseId.equals(document.courseId))) {
+                    hits.add(Map.entry(document, hit.getValue()));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        hits.sort(Map.Entry.<Document, Float>comparingByValue().reversed());
+        List<Long> ids = new ArrayList<>(hits.size());
+        for (Map.Entry<Document, Float> hit : hits) {
+            ids.add(hit.getKey().id);
+        }
+        return ids;
+    }
+
+    // Reorder entities loaded by id into the ranked order of ids
+    public static <T> List<T> inRankOrder(List<Long> ids, Iterable<T> entities, Function<T, Long> idOf) {
+        Map<Long, T> byId = new HashMap<>();
+        for (T entity : entities) {
+            byId.put(idOf.apply(entity), entity);
+        }
+        List<T> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            T entity = byId.get(id);
+            if (entity != null) {
+                ordered.add(entity);
+            }
+        }
+        return ordered;
+    }
+
+    // ===== WRITE NOTIFICATIONS =====
+
+    public void indexCourse(Course course) {
+        Document document = courseDocument(course);
+        TransactionUtils.afterCommit(() -> apply(target -> target.put(document)));
+    }
+
+    public void indexBlog(Blog blog) {
+        Document document = blogDocument(blog);
+        TransactionUtils.afterCommit(() -> apply(target -> target.put(document)));
+    }
+
+    public void indexLesson(CourseLesson lesson) {
+        Document document = lessonDocument(lesson);
+        TransactionUtils.afterCommit(() -> apply(target -> target.put(document)));
+    }
+
+    public void indexContent(CourseContent content) {
+        Document document = contentDocument(content);
+        TransactionUtils.afterCommit(() -> apply(target -> target.put(document)));
+    }
+
+    public void remove(String type, Long id) {
+        String key = key(type, id);
+        TransactionUtils.afterCommit(() -> apply(target -> target.remove(key)));
+    }
+
+    private void apply(Consumer<Index> update) {
+        lock.writeLock().lock();
+        try {
+            if (index != null) {
+                update.accept(index);
+            }
+            if (pendingUpdates != null) {
+                pendingUpdates.add(update);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ===== REBUILD =====
+
+    // Periodic rebuild picks up writes made outside the indexing services
+    @Scheduled(initialDelayString = "${search.refresh-interval-ms:600000}",
+               fixedDelayString = "${search.refresh-interval-ms:600000}")
+    public void scheduledRefresh() {
+        refresh();
+    }
+
+    public void refresh() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            logger.error("Search index rebuild failed: {}", e.getMessage());
+        }
+    }
+
+    private void ensureBuilt() {
+        if (index == null) {
+            rebuildLock.lock();
+            try {
+                if (index == null) {
+                    rebuild();
+                }
+            } finally {
+                rebuildLock.unlock();
+            }
+        }
+    }
+
+    // Load without blocking searches, then swap in and replay updates committed meanwhile
+    private void rebuild() {
+        rebuildLock.lock();
+        try {
+            lock.writeLock().lock();
+            try {
+                pendingUpdates = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            Index rebuilt = new Index();
+            try {
+                for (Course course : courseRepository.findAll()) {
+                    rebuilt.put(courseDocument(course));
+                }
+                for (Blog blog : blogRepository.findAll()) {
+                    rebuilt.put(blogDocument(blog));
+                }
+                for (CourseLesson lesson : courseLessonRepository.findAll()) {
+                    rebuilt.put(lessonDocument(lesson));
+                }
+                for (CourseContent content : courseContentRepository.findAll()) {
+                    rebuilt.put(contentDocument(content));
+                }
+            } catch (RuntimeException e) {
+                lock.writeLock().lock();
+                try {
+                    pendingUpdates = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                throw e;
+            }
+
+            lock.writeLock().lock();
+            try {
+                for (Consumer<Index> update : pendingUpdates) {
+                    update.accept(rebuilt);
+                }
+                pendingUpdates = null;
+                index = rebuilt;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            logger.debug("Search index rebuilt with {} documents and {} terms",
+                    rebuilt.documents.size(), rebuilt.postings.size());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    // ===== MATCHING =====
+
+    // Document key -> score for documents matching every term
+    private static Map<String, Float> match(Index index, List<String> terms) {
+        int documentCount = index.documents.size();
+        Map<String, Float> scores = null;
+        for (String term : terms) {
+            Map<String, Float> termScores = new HashMap<>();
+            Map<String, Float> exact = index.postings.get(term);
+            if (exact != null) {
+                addScores(termScores, exact, idf(documentCount, exact.size()));
+            }
+            if (term.length() >= MIN_PREFIX_LENGTH) {
+                for (Map<String, Float> postings : index.postings
+                        .subMap(term, false, term + Character.MAX_VALUE, false).values()) {
+                    addScores(termScores, postings, idf(documentCount, postings.size()) * PREFIX_FACTOR);
+                }
+            }
+
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((key, score) -> score + termScores.get(key));
+            }
+            if (scores.isEmpty()) {
+                break;
+            }
+        }
+        return scores;
+    }
+
+    // Best hit per document for one query term
+    private static void addScores(Map<String, Float> termScores, Map<String, Float> postings, float factor) {
+        for (Map.Entry<String, Float> posting : postings.entrySet()) {
+            termScores.merge(posting.getKey(), posting.getValue() * factor, Math::max);
+        }
+    }
+
+    private static float idf(int documentCount, int documentFrequency) {
+        return (float) Math.log(1.0 + (double) documentCount / documentFrequency);
+    }
+
+    private boolean isCourseVisible(Document document) {
+        if (document.courseId == null || COURSE.equals(document.type)) {
+            return true;
+        }
+        Document course = index.documents.get(key(COURSE, document.courseId));
+        return course != null && course.visible;
+    }
+
+    // ===== DOCUMENTS =====
+
+    private static Document courseDocument(Course course) {
+        String body = join(course.getDescription(), course.getPrerequisites(), course.getLearningOutcomes());
+        return new Document(COURSE, course.getId(), null, course.getTitle(), snippet(course.getDescription()),
+                !Boolean.FALSE.equals(course.getIsActive()), course.getTags(), body);
+    }
+
+    private static Document blogDocument(Blog blog) {
+        boolean visible = "published".equals(blog.getStatus()) && !Boolean.FALSE.equals(blog.getIsActive());
+        return new Document(BLOG, blog.getId(), null, blog.getTitle(), snippet(blog.getContent()),
+                visible, blog.getTags(), blog.getContent());
+    }
+
+    private static Document lessonDocument(CourseLesson lesson) {
+        String body = join(lesson.getDescription(), lesson.getLearningObjectives());
+        return new Document(LESSON, lesson.getId(), lesson.getCourseId(), lesson.getTitle(), snippet(lesson.getDescription()),
+                !Boolean.FALSE.equals(lesson.getIsPublished()), null, body);
+    }
+
+    private static Document contentDocument(CourseContent content) {
+        String body = join(content.getDescription(), content.getTextContent(), content.getDocumentName());
+        return new Document(CONTENT, content.getId(), content.getCourseId(), content.getTitle(), snippet(content.getDescription()),
+                !Boolean.FALSE.equals(content.getIsPublished()), null, body);
+    }
+
+    // Lowercase, diacritic-free tokens of letters and digits, without duplicates
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = NameConverter.removeDiacritics(text).toLowerCase(Locale.ROOT);
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : TOKEN_SEPARATOR.split(folded)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    private static String key(String type, Long id) {
+        return type + ":" + id;
+    }
+
+    private static String join(String... parts) {
+        StringBuilder builder = new StringBuilder();
+        for (String part : parts) {
+            if (part != null && !part.isEmpty()) {
+                builder.append(part).append(' ');
+            }
+        }
+        return builder.toString();
+    }
+
+    private static String snippet(String text) {
+        if (text == null) {
+            return null;
+        }
+        String trimmed = text.trim();
+        return trimmed.length() > SNIPPET_LENGTH ? trimmed.substring(0, SNIPPET_LENGTH) + "..." : trimmed;
+    }
+
+    private static final class Document {
+        private final String type;
+        private final Long id;
+        private final Long courseId;
+        private final String key;
+        private final String title;
+        private final String snippet;
+        private final boolean visible;
+        private final Map<String, Float> termWeights = new HashMap<>();
+
+        private Document(String type, Long id, Long courseId, String title, String snippet,
+                         boolean visible, String tags, String body) {
+            this.type = type;
+            this.id = id;
+            this.courseId = courseId;
+            this.key = key(type, id);
+            this.title = title;
+            this.snippet = snippet;
+            this.visible = visible;
+            addField(title, TITLE_WEIGHT);
+            addField(tags, TAG_WEIGHT);
+            addField(body, BODY_WEIGHT);
+            // Dampen repeated terms so long bodies do not outrank titles
+            termWeights.replaceAll((term, weight) -> (float) Math.sqrt(weight));
+        }
+
+        private void addField(String text, float weight) {
+            if (text == null || text.isBlank()) {
+                return;
+            }
+            String folded = NameConverter.removeDiacritics(text).toLowerCase(Locale.ROOT);
+            for (String token : TOKEN_SEPARATOR.split(folded)) {
+                if (!token.isEmpty()) {
+                    termWeights.merge(token, weight, Float::sum);
+                }
+            }
+        }
+    }
+
+    // Not thread-safe; guarded by the enclosing lock once published
+    private static final class Index {
+        private final Map<String, Document> documents = new HashMap<>();
+        private final TreeMap<String, Map<String, Float>> postings = new TreeMap<>();
+
+        private void put(Document document) {
+            remove(document.key);
+            documents.put(document.key, document);
+            for (Map.Entry<String, Float> term : document.termWeights.entrySet()) {
+                postings.computeIfAbsent(term.getKey(), t -> new HashMap<>()).put(document.key, term.getValue());
+            }
+        }
+
+        private void remove(String key) {
+            Document previous = documents.remove(key);
+            if (previous == null) {
+                return;
+            }
+            for (String term : previous.termWeights.keySet()) {
+                Map<String, Float> documentWeights = postings.get(term);
+                if (documentWeights != null) {
+                    documentWeights.remove(key);
+                    if (documentWeights.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package com.drugprevention.drugbe.service;
+
+import com.drugprevention.drugbe.repository.AppointmentRepository;
+import com.drugprevention.drugbe.repository.AssessmentResultRepository;
+import com.drugprevention.drugbe.repository.CourseRepository;
+import com.drugprevention.drugbe.repository.UserRepository;
+import com.drugprevention.drugbe.util.TransactionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Materialized counters behind the admin dashboard.
+ * Services report their writes here after commit, so dashboard reads never scan tables.
+ * A periodic reconciliation replaces all counters with the result of aggregate queries,
+ * which corrects any drift from writes made outside the instrumented services.
+ */
+@Service
+public class StatisticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatisticsService.class);
+
+    private static final String UNKNOWN = "UNKNOWN";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private AssessmentResultRepository assessmentResultRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    private volatile boolean initialized = false;
+
+    private final ReentrantLock reconcileLock = new ReentrantLock();
+
+    // User counters
+    private volatile Map<String, AtomicLong> usersByRole = new ConcurrentHashMap<>();
+    private final AtomicLong totalUsers = new AtomicLong();
+    private final AtomicLong activeConsultants = new AtomicLong();
+
+    // Appointment counters
+    private volatile Map<String, AtomicLong> appointmentsByStatus = new ConcurrentHashMap<>();
+    private final AtomicLong totalAppointments = new AtomicLong();
+
+    // Assessment result counters
+    private volatile Map<String, AtomicLong> resultsByRiskLevel = new ConcurrentHashMap<>();
+    private final AtomicLong totalResults = new AtomicLong();
+    private final AtomicLong totalResultScore = new AtomicLong();
+
+    // Course counters
+    private final AtomicLong totalCourses = new AtomicLong();
+    private final AtomicLong activeCourses = new AtomicLong();
+    private final AtomicLong activeCourseParticipants = new AtomicLong();
+    private final AtomicLong coursesWithParticipants = new AtomicLong();
+    private final AtomicLong totalParticipants = new AtomicLong();
+    private final AtomicLong highestEnrollment = new AtomicLong();
+
+    // ===== WRITE NOTIFICATIONS =====
+
+    public void recordUserCreated(String roleName, boolean active) {
+        TransactionUtils.afterCommit(() -> {
+            increment(usersByRole, roleName);
+            totalUsers.incrementAndGet();
+            if (active && "CONSULTANT".equals(roleName)) {
+                activeConsultants.incrementAndGet();
+            }
+        });
+    }
+
+    // oldStatus is null for a newly created appointment
+    public void recordAppointmentStatusChange(String oldStatus, String newStatus) {
+        if (oldStatus != null && oldStatus.equals(newStatus)) {
+            return;
+        }
+        TransactionUtils.afterCommit(() -> {
+            if (oldStatus == null) {
+                totalAppointments.incrementAndGet();
+            } else {
+                decrement(appointmentsByStatus, oldStatus);
+            }
+            increment(appointmentsByStatus, newStatus);
+        });
+    }
+
+    // Same status change applied to count appointments at once
+    public void recordAppointmentStatusChanges(String oldStatus, String newStatus, int count) {
+        if (count == 0 || oldStatus.equals(newStatus)) {
+            return;
+        }
+        TransactionUtils.afterCommit(() -> {
+            add(appointmentsByStatus, oldStatus, -count);
+            add(appointmentsByStatus, newStatus, count);
+        });
+    }
+
+    public void recordAssessmentResult(String riskLevel, Integer totalScore) {
+        TransactionUtils.afterCommit(() -> {
+            increment(resultsByRiskLevel, riskLevel);
+            totalResults.incrementAndGet();
+            totalResultScore.addAndGet(totalScore != null ? totalScore : 0);
+        });
+    }
+
+    public void recordAssessmentResultRemoved(String riskLevel, Integer totalScore) {
+        TransactionUtils.afterCommit(() -> {
+            decrement(resultsByRiskLevel, riskLevel);
+            totalResults.decrementAndGet();
+            totalResultScore.addAndGet(-(totalScore != null ? totalScore : 0));
+        });
+    }
+
+    // delta is +1 on registration and -1 on cancellation; newCount is the course's participant count afterwards
+    public void recordCourseParticipantsChange(boolean activeCourse, int newCount, int delta) {
+        TransactionUtils.afterCommit(() -> {
+            totalParticipants.addAndGet(delta);
+            if (activeCourse) {
+                activeCourseParticipants.addAndGet(delta);
+            }
+            highestEnrollment.accumulateAndGet(newCount, Math::max);
+        });
+    }
+
+    // Course create/update/delete are rare, so recount courses with one aggregate query
+    public void recordCourseChanged() {
+        TransactionUtils.afterCommit(this::reconcileCourses);
+    }
+
+    // ===== READS =====
+
+    public Map<String, Object> getUserStatistics() {
+        ensureInitialized();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalUsers", totalUsers.get());
+        stats.put("totalConsultants", activeConsultants.get());
+        stats.put("totalRegularUsers", valueOf(usersByRole, "USER"));
+        stats.put("activeUsers", totalUsers.get());
+        return stats;
+    }
+
+    public Map<String, Long> getUsersByRole() {
+        ensureInitialized();
+        return snapshot(usersByRole);
+    }
+
+    public Map<String, Object> getCourseStatistics() {
+        ensureInitialized();
+        long total = totalCourses.get();
+        long active = activeCourses.get();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalCourses", total);
+        stats.put("activeCourses", active);
+        stats.put("inactiveCourses", total - active);
+        stats.put("averageParticipants", active > 0 ? (double) activeCourseParticipants.get() / active : 0.0);
+        return stats;
+    }
+
+    public Map<String, Object> getCoursePerformanceStatistics() {
+        ensureInitialized();
+        long counted = coursesWithParticipants.get();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalCourses", totalCourses.get());
+        stats.put("averageParticipants", counted > 0 ? (double) totalParticipants.get() / counted : 0.0);
+        stats.put("highestEnrollment", highestEnrollment.get());
+        return stats;
+    }
+
+    public Map<String, Object> getAppointmentStatistics() {
+        ensureInitialized();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalAppointments", totalAppointments.get());
+        stats.put("completedAppointments", valueOf(appointmentsByStatus, "COMPLETED"));
+        stats.put("pendingAppointments", valueOf(appointmentsByStatus, "PENDING"));
+        stats.put("cancelledAppointments", valueOf(appointmentsByStatus, "CANCELLED"));
+        return stats;
+    }
+
+    public Map<String, Long> getAppointmentsByStatus() {
+        ensureInitialized();
+        return snapshot(appointmentsByStatus);
+    }
+
+    public Map<String, Object> getAssessmentStatistics() {
+        ensureInitialized();
+        long total = totalResults.get();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalAssessments", total);
+        stats.put("completedToday", 0);
+        stats.put("averageScore", total > 0 ? (double) totalResultScore.get() / total : 0.0);
+        return stats;
+    }
+
+    public Map<String, Long> getAssessmentResultsByRiskLevel() {
+        ensureInitialized();
+        return snapshot(resultsByRiskLevel);
+    }
+
+    // ===== RECONCILIATION =====
+
+    @Scheduled(initialDelayString = "${statistics.reconcile-interval-ms:300000}",
+               fixedDelayString = "${statistics.reconcile-interval-ms:300000}")
+    public void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            logger.error("Statistics reconciliation failed: {}", e.getMessage());
+        }
+    }
+
+    public void reconcile() {
+        reconcileLock.lock();
+        try {
+            reconcileUsers();
+            reconcileAppointments();
+            reconcileAssessmentResults();
+            reconcileCourses();
+            initialized = true;
+            logger.debug("Statistics reconciled: users={}, appointments={}, results={}, courses={}",
+                    totalUsers.get(), totalAppointments.get(), totalResults.get(), totalCourses.get());
+        } finally {
+            reconcileLock.unlock();
+        }
+    }
+
+    private void reconcileUsers() {
+        Map<String, AtomicLong> byRole = new ConcurrentHashMap<>();
+        long withRole = 0;
+        for (Object[] row : userRepository.countUsersByRole()) {
+            long count = ((Number) row[1]).longValue();
+            byRole.put((String) row[0], new AtomicLong(count));
+            withRole += count;
+        }
+        long total = userRepository.count();
+        if (total > withRole) {
+            byRole.put(UNKNOWN, new AtomicLong(total - withRole));
+        }
+        Long consultants = userRepository.countActiveConsultants();
+
+        usersByRole = byRole;
+        totalUsers.set(total);
+        activeConsultants.set(consultants != null ? consultants : 0L);
+    }
+
+    private void reconcileAppointments() {
+        Map<String, AtomicLong> byStatus = new ConcurrentHashMap<>();
+        long total = 0;
+        for (Object[] row : appointmentRepository.countAppointmentsByStatus()) {
+            long count = ((Number) row[1]).longValue();
+            byStatus.merge(keyOf((String) row[0]), new AtomicLong(count), (a, b) -> new AtomicLong(a.get() + b.get()));
+            total += count;
+        }
+        appointmentsByStatus = byStatus;
+        totalAppointments.set(total);
+    }
+
+    private void reconcileAssessmentResults() {
+        Map<String, AtomicLong> byRisk = new ConcurrentHashMap<>();
+        long total = 0;
+        long scoreSum = 0;
+        for (Object[] row : assessmentResultRepository.summarizeByRiskLevel()) {
+            long count = ((Number) row[1]).longValue();
+            byRisk.merge(keyOf((String) row[0]), new AtomicLong(count), (a, b) -> new AtomicLong(a.get() + b.get()));
+            total += count;
+            scoreSum += row[2] != null ? ((Number) row[2]).longValue() : 0L;
+        }
+        resultsByRiskLevel = byRisk;
+        totalResults.set(total);
+        totalResultScore.set(scoreSum);
+    }
+
+    private void reconcileCourses() {
+        List<Object[]> rows = courseRepository.summarizeCourses();
+        if (rows.isEmpty()) {
+            return;
+        }
+        Object[] row = rows.get(0);
+        totalCourses.set(longOf(row[0]));
+        activeCourses.set(longOf(row[1]));
+        activeCourseParticipants.set(longOf(row[2]));
+        coursesWithParticipants.set(longOf(row[3]));
+        totalParticipants.set(longOf(row[4]));
+        highestEnrollment.set(longOf(row[5]));
+    }
+
+    // ===== HELPERS =====
+
+    private void ensureInitialized() {
+        if (!initialized) {
+            reconcile();
+        }
+    }
+
+    private static void increment(Map<String, AtomicLong> counters, String key) {
+        counters.computeIfAbsent(keyOf(key), k -> new AtomicLong()).incrementAndGet();
+    }
+
+    private static void decrement(Map<String, AtomicLong> counters, String key) {
+        counters.computeIfAbsent(keyOf(key), k -> new AtomicLong()).decrementAndGet();
+    }
+
+    private static void add(Map<String, AtomicLong> counters, String key, long delta) {
+        counters.computeIfAbsent(keyOf(key), k -> new AtomicLong()).addAndGet(delta);
+    }
+
+    private static long valueOf(Map<String, AtomicLong> counters, String key) {
+        AtomicLong counter = counters.get(key);
+        return counter != null ? counter.get() : 0L;
+    }
+
+    private static Map<String, Long> snapshot(Map<String, AtomicLong> counters) {
+        Map<String, Long> result = new HashMap<>();
+        counters.forEach((key, counter) -> {
+            if (counter.get() != 0) {
+                result.put(key, counter.get());
+            }
+        });
+        return result;
+    }
+
+    private static String keyOf(String value) {
+        return value != null ? value : UNKNOWN;
+    }
+
+    private static long longOf(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+}
@@ -3,6 +3,8 @@ package com.drugprevention.drugbe.service;
 import com.drugprevention.drugbe.dto.UserDTO;
 import com.drugprevention.drugbe.entity.User;
 import com.drugprevention.drugbe.repository.UserRepository;
+import com.drugprevention.drugbe.dto.CursorPage;
+import com.drugprevention.drugbe.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -16,6 +18,9 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private JwtPrincipalCache jwtPrincipalCache;
+
     public UserDTO convertToDTO(User user) {
         UserDTO dto = new UserDTO();
         dto.setUserID(user.getId());
@@ -55,6 +60,12 @@ public class UserService {
         return convertToDTOList(userRepository.findAll());
     }
 
+    public CursorPage<UserDTO> getUsersDTOPage(String cursor, Integer limit) {
+        int pageSize = KeysetCursor.limit(limit);
+        List<User> rows = userRepository.findByIdLessThanOrderByIdDesc(KeysetCursor.afterId(cursor), KeysetCursor.fetch(pageSize));
+        return KeysetCursor.page(rows, pageSize, User::getId).map(this::convertToDTOList);
+    }
+
     public Optional<UserDTO> getUserByIdDTO(Long id) {
         return userRepository.findById(id)
                 .map(this::convertToDTO);
@@ -85,7 +96,10 @@ public class UserService {
     }
 
     public User saveUser(User user) {
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        // Cached principals may carry stale authorities or a deactivated account
+        jwtPrincipalCache.evictUser(savedUser.getUsername());
+        return savedUser;
     }
 
     public boolean existsByUsername(String username) {
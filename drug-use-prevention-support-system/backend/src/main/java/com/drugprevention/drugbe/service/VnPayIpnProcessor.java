@@ -0,0 +1,294 @@
+package com.drugprevention.drugbe.service;
+
+import com.drugprevention.drugbe.config.ThreadingConfig;
+import com.drugprevention.drugbe.entity.Payment;
+import com.drugprevention.drugbe.entity.PaymentIpnEvent;
+import com.drugprevention.drugbe.repository.PaymentIpnEventRepository;
+import com.drugprevention.drugbe.repository.PaymentRepository;
+import com.drugprevention.drugbe.service.PaymentOrderRegistry.OrderReference;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous VNPay payment event processing.
+ * Webhook threads only validate the signature, dedupe the event on (vnp_TxnRef, vnp_TransactionNo)
+ * against an in-memory idempotency cache and enqueue it. A writer thread applies queued events
+ * in batches, one transaction per batch. The payment_ipn_events unique key backs the in-memory
+ * cache across restarts and instances.
+ */
+@Service
+public class VnPayIpnProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(VnPayIpnProcessor.class);
+
+    public enum IngestResult { ACCEPTED, DUPLICATE, INVALID_SIGNATURE, BUSY }
+
+    @Autowired
+    private VnPayService vnPayService;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private PaymentIpnEventRepository paymentIpnEventRepository;
+
+    @Autowired
+    private PaymentOrderRegistry paymentOrderRegistry;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private ThreadingConfig threadingConfig;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${vnpay.ipn.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${vnpay.ipn.batch-size:100}")
+    private int batchSize;
+
+    @Value("${vnpay.ipn.dedupe-ttl-ms:86400000}")
+    private long dedupeTtlMs;
+
+    @Value("${vnpay.ipn.dedupe-max-entries:100000}")
+    private int dedupeMaxEntries;
+
+    private TransactionTemplate transactionTemplate;
+
+    private BlockingQueue<IpnEvent> queue;
+
+    private Thread writer;
+
+    private volatile boolean running;
+
+    // Event key -> time first seen
+    private final Map<String, Long> seen = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void start() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        writer = threadingConfig.newThread("vnpay-ipn-writer", this::drainLoop);
+        writer.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        writer.interrupt();
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ===== INGESTION =====
+
+    public IngestResult ingest(Map<String, String> params) {
+        if (!vnPayService.validateVnPayResponse(params, params.get("vnp_SecureHash"))) {
+            return IngestResult.INVALID_SIGNATURE;
+        }
+
+        IpnEvent event = new IpnEvent(params);
+        long now = System.currentTimeMillis();
+        if (seen.size() >= dedupeMaxEntries) {
+            seen.values().removeIf(seenAt -> seenAt + dedupeTtlMs <= now);
+            if (seen.size() >= dedupeMaxEntries) {
+                seen.clear(); // the database key still rejects replays
+            }
+        }
+        Long seenAt = seen.putIfAbsent(event.key, now);
+        if (seenAt != null && seenAt + dedupeTtlMs > now) {
+            return IngestResult.DUPLICATE;
+        }
+        seen.put(event.key, now);
+
+        if (!queue.offer(event)) {
+            seen.remove(event.key);
+            return IngestResult.BUSY;
+        }
+        return IngestResult.ACCEPTED;
+    }
+
+    // ===== WRITER =====
+
+    private void drainLoop() {
+        List<IpnEvent> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                IpnEvent first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                process(batch);
+            } catch (InterruptedException e) {
+                if (!running) {
+                    queue.drainTo(batch);
+                    process(batch);
+                    return;
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void process(List<IpnEvent> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> applyBatch(batch));
+        } catch (Exception e) {
+            // Retry one by one so a single bad event does not hold back the rest
+            logger.warn("Payment event batch of {} failed, retrying individually: {}", batch.size(), e.getMessage());
+            for (IpnEvent event : batch) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> applyBatch(List.of(event)));
+                } catch (Exception single) {
+                    seen.remove(event.key); // let a VNPay retry through
+                    logger.error("Failed to apply payment event {}: {}", event.key, single.getMessage());
+                }
+            }
+        }
+    }
+
+    private void applyBatch(List<IpnEvent> batch) {
+        Set<String> txnRefs = new HashSet<>();
+        Map<String, OrderReference> references = new HashMap<>();
+        Set<Long> legacyPaymentIds = new HashSet<>();
+        for (IpnEvent event : batch) {
+            txnRefs.add(event.txnRef);
+            OrderReference reference = paymentOrderRegistry.resolve(event.txnRef);
+            if (reference != null) {
+                references.put(event.txnRef, reference);
+                if (reference.getPaymentId() != null) {
+                    legacyPaymentIds.add(reference.getPaymentId());
+                }
+            }
+        }
+
+        Set<String> recorded = new HashSet<>();
+        for (PaymentIpnEvent existing : paymentIpnEventRepository.findByTxnRefIn(txnRefs)) {
+            recorded.add(existing.getTxnRef() + ":" + existing.getTransactionNo());
+        }
+        Map<String, Payment> payments = new HashMap<>();
+        for (Payment payment : paymentRepository.findByTxnRefIn(txnRefs)) {
+            payments.put(payment.getTxnRef(), payment);
+        }
+        if (!legacyPaymentIds.isEmpty()) {
+            // Payments created before txn_ref existed use their id as the reference
+            for (Payment payment : paymentRepository.findAllById(legacyPaymentIds)) {
+                payments.putIfAbsent(payment.getId().toString(), payment);
+            }
+        }
+
+        List<PaymentIpnEvent> records = new ArrayList<>(batch.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (IpnEvent event : batch) {
+            if (!recorded.add(event.key)) {
+                continue; // replay of an event that was already applied
+            }
+            OrderReference reference = references.get(event.txnRef);
+            Payment payment = reference != null ? payments.get(event.txnRef) : null;
+            PaymentIpnEvent record = new PaymentIpnEvent(event.txnRef, event.transactionNo, event.responseCode,
+                    event.gatewayResponse, event.receivedAt);
+            record.setStatus(payment != null ? apply(event, reference, payment, now) : "IGNORED");
+            record.setProcessedAt(now);
+            records.add(record);
+        }
+        paymentIpnEventRepository.saveAll(records);
+    }
+
+    // Apply the status transition together with its target; a successful payment is never downgraded.
+    // Returns the event status: APPLIED, IGNORED, or REFUND_REQUIRED when the money was captured but
+    // the target can no longer be fulfilled; the payment is recorded as SUCCESS either way
+    private String apply(IpnEvent event, OrderReference reference, Payment payment, LocalDateTime now) {
+        if ("SUCCESS".equals(payment.getStatus())) {
+            return "IGNORED";
+        }
+        Long userId = payment.getUser() != null ? payment.getUser().getId() : null;
+        if (event.success) {
+            payment.setStatus("SUCCESS");
+            payment.setTransactionId(event.transactionNo.isEmpty() ? null : event.transactionNo);
+            payment.setGatewayResponse(event.gatewayResponse);
+            payment.setPaidAt(now);
+            payment.setUpdatedAt(now);
+            paymentOrderRegistry.complete(event.txnRef);
+            if (reference.getType() == PaymentOrderRegistry.OrderType.APPOINTMENT && reference.getTargetId() != null
+                    && !appointmentService.confirmPaidAppointment(reference.getTargetId())) {
+                // Open refund: refund_reason set, refunded_at still empty
+                payment.setRefundReason("Appointment #" + reference.getTargetId()
+                        + " could not be confirmed after payment; refund required");
+                logger.error("Payment {} succeeded but appointment {} can no longer be confirmed; refund required",
+                        payment.getId(), reference.getTargetId());
+                notificationService.publish(userId, "PAYMENT_REFUND_REQUIRED", "Payment will be refunded",
+                        "Payment #" + payment.getId() + " was received but the appointment is no longer available; "
+                                + "it will be refunded", payment.getId());
+                return "REFUND_REQUIRED";
+            }
+            notificationService.publish(userId, "PAYMENT_SUCCESS", "Payment successful",
+                    "Payment #" + payment.getId() + " was successful", payment.getId());
+            return "APPLIED";
+        }
+        if ("FAILED".equals(payment.getStatus())) {
+            return "IGNORED";
+        }
+        payment.setStatus("FAILED");
+        payment.setGatewayResponse(event.gatewayResponse);
+        payment.setUpdatedAt(now);
+        paymentOrderRegistry.complete(event.txnRef);
+        notificationService.publish(userId, "PAYMENT_FAILED", "Payment failed",
+                "Payment #" + payment.getId() + " failed", payment.getId());
+        return "APPLIED";
+    }
+
+    private static final class IpnEvent {
+        private final String txnRef;
+        private final String transactionNo;
+        private final String key;
+        private final String responseCode;
+        private final boolean success;
+        private final String gatewayResponse;
+        private final LocalDateTime receivedAt;
+
+        private IpnEvent(Map<String, String> params) {
+            this.txnRef = params.getOrDefault("vnp_TxnRef", "");
+            this.transactionNo = params.getOrDefault("vnp_TransactionNo", "");
+            this.key = txnRef + ":" + transactionNo;
+            this.responseCode = params.get("vnp_ResponseCode");
+            this.success = "00".equals(responseCode);
+            this.gatewayResponse = params.toString();
+            this.receivedAt = LocalDateTime.now();
+        }
+    }
+}
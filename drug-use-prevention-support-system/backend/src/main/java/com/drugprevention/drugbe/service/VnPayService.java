@@ -1,18 +1,25 @@
 package com.drugprevention.drugbe.service;
 
 import com.drugprevention.drugbe.config.VnPayConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
 
 @Service
 public class VnPayService {
+    private static final Logger logger = LoggerFactory.getLogger(VnPayService.class);
+
+    private static final DateTimeFormatter CREATE_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
     @Autowired
     private VnPayConfig vnPayConfig;
+    @Autowired
+    private VnPaySigner vnPaySigner;
 
     // Sinh URL thanh toán VNPay
     public String createPaymentUrl(Map<String, String> params) {
@@ -25,7 +32,7 @@ public class VnPayService {
             params.put("vnp_Locale", "vn");
             params.put("vnp_ReturnUrl", vnPayConfig.getReturnUrl());
             params.put("vnp_IpAddr", "127.0.0.1");
-            params.put("vnp_CreateDate", new java.text.SimpleDateFormat("yyyyMMddHHmmss").format(new Date()));
+            params.put("vnp_CreateDate", LocalDateTime.now().format(CREATE_DATE_FORMAT));
             
             // Đảm bảo có OrderInfo và OrderType
             if (!params.containsKey("vnp_OrderInfo")) {
@@ -35,96 +42,25 @@ public class VnPayService {
                 params.put("vnp_OrderType", "other");
             }
 
-            // Sắp xếp tham số theo thứ tự alphabet
-            List<String> fieldNames = new ArrayList<>(params.keySet());
-            Collections.sort(fieldNames);
-            StringBuilder hashData = new StringBuilder();
-            StringBuilder query = new StringBuilder();
-            
-            System.out.println("📋 All VNPay parameters:");
-            for (String key : fieldNames) {
-                System.out.println("   " + key + " = " + params.get(key));
-            }
-            
-            for (int i = 0; i < fieldNames.size(); i++) {
-                String name = fieldNames.get(i);
-                String value = params.get(name);
-                if ((value != null) && (value.length() > 0)) {
-                    // Build hash data (không encode)
-                    hashData.append(name).append('=').append(value);
-                    if (i < fieldNames.size() - 1) {
-                        hashData.append('&');
-                    }
-                    
-                    // Build query string (có encode)
-                    query.append(URLEncoder.encode(name, StandardCharsets.UTF_8)).append('=')
-                         .append(URLEncoder.encode(value, StandardCharsets.UTF_8));
-                    if (i < fieldNames.size() - 1) {
-                        query.append('&');
-                    }
-                }
-            }
+            // Sắp xếp tham số theo thứ tự alphabet; hash data không encode, query string có encode
+            String hashData = vnPaySigner.canonicalQuery(params, false);
+            String query = vnPaySigner.canonicalQuery(params, true);
             
             // Tạo chữ ký HMAC SHA512
-            String secureHash = hmacSHA512(vnPayConfig.getHashSecret(), hashData.toString());
-            query.append("&vnp_SecureHash=").append(secureHash);
-            
-            String finalUrl = vnPayConfig.getPaymentUrl() + "?" + query.toString();
-            System.out.println("🔗 VNPay URL generated: " + finalUrl);
-            System.out.println("🔑 Hash data: " + hashData.toString());
-            System.out.println("🔐 Secure hash: " + secureHash);
-            System.out.println("🔑 Hash secret: " + vnPayConfig.getHashSecret());
+            String secureHash = vnPaySigner.sign(hashData);
+            String finalUrl = vnPayConfig.getPaymentUrl() + "?" + query + "&vnp_SecureHash=" + secureHash;
+            logger.debug("VNPay URL generated for txnRef {}", params.get("vnp_TxnRef"));
             
             return finalUrl;
         } catch (Exception e) {
-            System.out.println("❌ Error creating VNPay URL: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Error creating VNPay URL: {}", e.getMessage());
             throw new RuntimeException("Error creating VNPay payment URL", e);
         }
     }
 
     // Xác thực callback từ VNPay
     public boolean validateVnPayResponse(Map<String, String> params, String receivedHash) {
-        List<String> fieldNames = new ArrayList<>(params.keySet());
-        Collections.sort(fieldNames);
-        StringBuilder hashData = new StringBuilder();
-        for (String name : fieldNames) {
-            if (name.equals("vnp_SecureHash") || name.equals("vnp_SecureHashType")) continue;
-            String value = params.get(name);
-            if ((value != null) && (value.length() > 0)) {
-                hashData.append(name).append('=').append(value).append('&');
-            }
-        }
-        if (hashData.length() > 0) hashData.setLength(hashData.length() - 1); // remove last &
-        String calculatedHash = hmacSHA512(vnPayConfig.getHashSecret(), hashData.toString());
-        return calculatedHash.equalsIgnoreCase(receivedHash);
-    }
-
-    // Hàm tạo HMAC SHA512
-    private String hmacSHA512(String key, String data) {
-        try {
-            javax.crypto.Mac hmac512 = javax.crypto.Mac.getInstance("HmacSHA512");
-            javax.crypto.spec.SecretKeySpec secretKey = new javax.crypto.spec.SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), "HmacSHA512");
-            hmac512.init(secretKey);
-            byte[] bytes = hmac512.doFinal(data.getBytes(StandardCharsets.UTF_8));
-            
-            // Convert to hex string (lowercase)
-            StringBuilder hash = new StringBuilder();
-            for (byte b : bytes) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1) hash.append('0');
-                hash.append(hex);
-            }
-            
-            System.out.println("🔐 HMAC input: " + data);
-            System.out.println("🔐 HMAC key: " + key);
-            System.out.println("🔐 HMAC result: " + hash.toString());
-            
-            return hash.toString();
-        } catch (Exception e) {
-            System.out.println("❌ HMAC SHA512 error: " + e.getMessage());
-            e.printStackTrace();
-            throw new RuntimeException("Error while calculating HMAC SHA512", e);
-        }
+        String hashData = vnPaySigner.canonicalQuery(params, false, "vnp_SecureHash", "vnp_SecureHashType");
+        return vnPaySigner.verify(hashData, receivedHash);
     }
-} 
\ No newline at end of file
+}
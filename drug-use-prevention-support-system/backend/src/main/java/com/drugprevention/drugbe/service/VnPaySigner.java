@@ -0,0 +1,143 @@
+package com.drugprevention.drugbe.service;
+
+import com.drugprevention.drugbe.config.VnPayConfig;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * HMAC-SHA512 signing for VNPay requests and responses.
+ * Initialized Macs are kept in a small shared pool rather than per thread: virtual threads are
+ * created per request and never reused, so a thread-local Mac would be rebuilt on every call.
+ * Borrowing from the pool avoids the provider lookup and key setup either way. Hashes are
+ * compared in constant time.
+ */
+@Component
+public class VnPaySigner {
+
+    private static final String ALGORITHM = "HmacSHA512";
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    // Rough size of one "name=value&" pair, used to pre-size builders
+    private static final int ESTIMATED_PAIR_LENGTH = 48;
+
+    @Autowired
+    private VnPayConfig vnPayConfig;
+
+    private SecretKeySpec secretKey;
+
+    // Idle initialized Macs; a borrower finding it empty builds a new one, and extras are dropped on return
+    private final BlockingQueue<Mac> macs =
+            new ArrayBlockingQueue<>(Math.max(4, Runtime.getRuntime().availableProcessors() * 2));
+
+    @PostConstruct
+    void init() {
+        secretKey = new SecretKeySpec(vnPayConfig.getHashSecret().getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        macs.offer(newMac()); // fail at startup rather than on the first payment
+    }
+
+    // Lowercase hex HMAC-SHA512 of the data
+    public String sign(String data) {
+        return toHex(mac(data));
+    }
+
+    // Compare the received hex hash with the expected one without leaking timing
+    public boolean verify(String data, String receivedHash) {
+        byte[] received = fromHex(receivedHash);
+        return received != null && MessageDigest.isEqual(mac(data), received);
+    }
+
+    /**
+     * Canonical "name=value" pairs joined with '&', sorted by name, skipping empty values
+     * and the given excluded names. Values are URL-encoded when encode is true.
+     */
+    public String canonicalQuery(Map<String, String> params, boolean encode, String... excluded) {
+        String[] names = params.keySet().toArray(new String[0]);
+        Arrays.sort(names);
+        StringBuilder builder = new StringBuilder(names.length * ESTIMATED_PAIR_LENGTH);
+        for (String name : names) {
+            String value = params.get(name);
+            if (value == null || value.isEmpty() || isExcluded(name, excluded)) {
+                continue;
+            }
+            if (builder.length() > 0) {
+                builder.append('&');
+            }
+            if (encode) {
+                builder.append(URLEncoder.encode(name, StandardCharsets.UTF_8)).append('=')
+                       .append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+            } else {
+                builder.append(name).append('=').append(value);
+            }
+        }
+        return builder.toString();
+    }
+
+    private byte[] mac(String data) {
+        Mac mac = macs.poll();
+        if (mac == null) {
+            mac = newMac();
+        }
+        byte[] result = mac.doFinal(data.getBytes(StandardCharsets.UTF_8)); // doFinal resets the Mac for reuse
+        macs.offer(mac);
+        return result;
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(secretKey);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException("Error while initializing HMAC SHA512", e);
+        }
+    }
+
+    private static boolean isExcluded(String name, String[] excluded) {
+        for (String candidate : excluded) {
+            if (candidate.equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String toHex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            int b = bytes[i] & 0xff;
+            chars[i * 2] = HEX[b >>> 4];
+            chars[i * 2 + 1] = HEX[b & 0x0f];
+        }
+        return new String(chars);
+    }
+
+    // Case-insensitive hex decode; null if the input is not valid hex
+    private static byte[] fromHex(String hex) {
+        if (hex == null || (hex.length() & 1) != 0) {
+            return null;
+        }
+        byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            int high = Character.digit(hex.charAt(i * 2), 16);
+            int low = Character.digit(hex.charAt(i * 2 + 1), 16);
+            if (high < 0 || low < 0) {
+                return null;
+            }
+            bytes[i] = (byte) ((high << 4) | low);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,66 @@
+package com.drugprevention.drugbe.util;
+
+import com.drugprevention.drugbe.dto.CursorPage;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset (seek) pagination over identity ids, newest first.
+ * Ids are assigned in insert order, so "id < last id, ORDER BY id DESC" walks rows in
+ * creation order using the primary key index, and stays stable while rows are inserted.
+ * Cursors are opaque to clients; only this class reads or writes them.
+ */
+public class KeysetCursor {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    private static final String PREFIX = "id:";
+
+    // Id to seek below for the given cursor; the first page starts above every id
+    public static long afterId(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return Long.MAX_VALUE;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(PREFIX)) {
+                throw new IllegalArgumentException();
+            }
+            return Long.parseLong(decoded.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+
+    public static String encode(Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static int limit(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(requested, MAX_LIMIT);
+    }
+
+    // Fetch one row more than the page size to learn whether another page exists
+    public static Pageable fetch(int limit) {
+        return PageRequest.of(0, limit + 1);
+    }
+
+    // Build a page from rows fetched with fetch(limit)
+    public static <T> CursorPage<T> page(List<T> rows, int limit, Function<T, Long> idOf) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new CursorPage<>(items, encode(idOf.apply(items.get(limit - 1))));
+    }
+}
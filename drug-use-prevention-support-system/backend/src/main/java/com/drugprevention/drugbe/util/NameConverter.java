@@ -21,8 +21,7 @@ public class NameConverter {
         }
 
         // Remove diacritics and convert to ASCII
-        String normalized = Normalizer.normalize(vietnameseName, Normalizer.Form.NFD);
-        String withoutDiacritics = DIACRITICS_PATTERN.matcher(normalized).replaceAll("");
+        String withoutDiacritics = removeDiacritics(vietnameseName);
         
         // Convert to uppercase first letter of each word
         String[] words = withoutDiacritics.trim().split("\\s+");
@@ -43,6 +42,19 @@ public class NameConverter {
         return result.toString();
     }
 
+    /**
+     * Strip Vietnamese diacritics, keeping case
+     * Example: "Phòng chống ma túy" -> "Phong chong ma tuy", "Đà Nẵng" -> "Da Nang"
+     */
+    public static String removeDiacritics(String text) {
+        if (text == null) {
+            return "";
+        }
+        // NFD does not decompose đ/Đ, so map them explicitly
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return DIACRITICS_PATTERN.matcher(normalized).replaceAll("").replace('đ', 'd').replace('Đ', 'D');
+    }
+
     /**
      * Validate if name contains Vietnamese characters
      */
@@ -0,0 +1,184 @@
+package com.drugprevention.drugbe.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Hierarchical timing wheel of keyed deadlines.
+ * The lowest wheel has wheelSize buckets of tickMs each; a deadline beyond its span goes to an
+ * overflow wheel whose tick is the whole span of the wheel below, created on demand. Scheduling
+ * and cancelling are O(1); only non-empty buckets are queued by expiration, and when a bucket of
+ * an upper wheel comes due its timers cascade into the finer wheels. Timers never fire early:
+ * deadlines are rounded up to the next tick. Not thread-safe; callers synchronize.
+ */
+public class TimingWheel<K> {
+
+    private final long tickMs;
+
+    private final int wheelSize;
+
+    private final Level root;
+
+    private final Map<K, Timer<K>> timers = new HashMap<>();
+
+    // Non-empty buckets of all wheels, soonest first
+    private final PriorityQueue<Bucket<K>> queue =
+            new PriorityQueue<>((a, b) -> Long.compare(a.expiration, b.expiration));
+
+    public TimingWheel(long tickMs, int wheelSize, long startMs) {
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.root = new Level(tickMs, startMs);
+    }
+
+    // Schedule or move the timer of key
+    public void schedule(K key, long deadlineMs) {
+        cancel(key);
+        Timer<K> timer = new Timer<>(key, roundUp(deadlineMs));
+        timers.put(key, timer);
+        if (!root.add(timer)) {
+            root.addDue(timer);
+        }
+    }
+
+    // Schedule key only if it has no timer yet
+    public boolean scheduleIfAbsent(K key, long deadlineMs) {
+        if (timers.containsKey(key)) {
+            return false;
+        }
+        schedule(key, deadlineMs);
+        return true;
+    }
+
+    public boolean cancel(K key) {
+        Timer<K> timer = timers.remove(key);
+        if (timer == null) {
+            return false;
+        }
+        if (timer.bucket != null) {
+            timer.bucket.timers.remove(timer);
+            timer.bucket = null;
+        }
+        return true;
+    }
+
+    // Move the clock to nowMs and return the keys whose deadlines have passed
+    public List<K> advance(long nowMs) {
+        List<K> due = new ArrayList<>();
+        while (!queue.isEmpty() && queue.peek().expiration <= nowMs) {
+            Bucket<K> bucket = queue.poll();
+            root.advanceClock(bucket.expiration);
+            List<Timer<K>> flushed = new ArrayList<>(bucket.timers);
+            bucket.timers.clear();
+            bucket.expiration = -1;
+            for (Timer<K> timer : flushed) {
+                timer.bucket = null;
+                if (!root.add(timer)) {
+                    timers.remove(timer.key);
+                    due.add(timer.key);
+                }
+            }
+        }
+        root.advanceClock(nowMs);
+        return due;
+    }
+
+    public int size() {
+        return timers.size();
+    }
+
+    // A flushed bucket is not queued; a queued one only changes expiration once its timers are due
+    private void requeue(Bucket<K> bucket, long expiration) {
+        if (bucket.expiration != -1) {
+            queue.remove(bucket);
+        }
+        bucket.expiration = expiration;
+        queue.offer(bucket);
+    }
+
+    private long roundUp(long deadlineMs) {
+        long remainder = Math.floorMod(deadlineMs, tickMs);
+        return remainder == 0 ? deadlineMs : deadlineMs - remainder + tickMs;
+    }
+
+    private final class Level {
+        private final long levelTickMs;
+        private final long intervalMs;
+        private final List<Bucket<K>> buckets;
+        private long currentTime;
+        private Level overflow;
+
+        private Level(long levelTickMs, long startMs) {
+            this.levelTickMs = levelTickMs;
+            this.intervalMs = levelTickMs * wheelSize;
+            this.buckets = new ArrayList<>(wheelSize);
+            for (int i = 0; i < wheelSize; i++) {
+                buckets.add(new Bucket<>());
+            }
+            this.currentTime = startMs - Math.floorMod(startMs, levelTickMs);
+        }
+
+        // False if the timer is already due
+        private boolean add(Timer<K> timer) {
+            long expiration = timer.expiration;
+            if (expiration < currentTime + levelTickMs) {
+                return false;
+            }
+            if (expiration < currentTime + intervalMs) {
+                long virtualId = expiration / levelTickMs;
+                Bucket<K> bucket = buckets.get((int) (virtualId % wheelSize));
+                bucket.timers.add(timer);
+                timer.bucket = bucket;
+                long bucketExpiration = virtualId * levelTickMs;
+                if (bucket.expiration != bucketExpiration) {
+                    requeue(bucket, bucketExpiration);
+                }
+                return true;
+            }
+            if (overflow == null) {
+                overflow = new Level(intervalMs, currentTime);
+            }
+            return overflow.add(timer);
+        }
+
+        // A timer that is due on arrival fires with the next advance
+        private void addDue(Timer<K> timer) {
+            Bucket<K> bucket = buckets.get((int) ((currentTime / levelTickMs) % wheelSize));
+            bucket.timers.add(timer);
+            timer.bucket = bucket;
+            if (bucket.expiration != currentTime) {
+                requeue(bucket, currentTime);
+            }
+        }
+
+        private void advanceClock(long timeMs) {
+            if (timeMs >= currentTime + levelTickMs) {
+                currentTime = timeMs - Math.floorMod(timeMs, levelTickMs);
+                if (overflow != null) {
+                    overflow.advanceClock(currentTime);
+                }
+            }
+        }
+    }
+
+    private static final class Bucket<K> {
+        private final Set<Timer<K>> timers = new LinkedHashSet<>();
+        private long expiration = -1;
+    }
+
+    private static final class Timer<K> {
+        private final K key;
+        private final long expiration;
+        private Bucket<K> bucket;
+
+        private Timer(K key, long expiration) {
+            this.key = key;
+            this.expiration = expiration;
+        }
+    }
+}
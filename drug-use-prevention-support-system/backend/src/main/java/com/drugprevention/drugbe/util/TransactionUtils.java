@@ -0,0 +1,44 @@
+package com.drugprevention.drugbe.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Helpers for running side effects relative to the current Spring transaction
+ */
+public class TransactionUtils {
+
+    /**
+     * Run the action once the current transaction commits, or immediately if there is none.
+     * The action is dropped when the transaction rolls back.
+     */
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Run the action once the current transaction finishes, whether it commits or rolls back,
+     * or immediately if there is none.
+     */
+    public static void afterCompletion(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.drugprevention.drugbe.repository;
+
+import com.drugprevention.drugbe.entity.Answer;
+import com.drugprevention.drugbe.entity.AssessmentQuestion;
+import com.drugprevention.drugbe.entity.AssessmentResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MSSQLServerContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Assessment submissions per second against a real SQL Server, with the answers written by the
+ * multi-row insertAll and, as the baseline, by saveAll (one INSERT round trip per answer).
+ * Each submission saves a result and its answers in one transaction, as submitAssessment does.
+ * Opt-in: tagged "benchmark" and excluded from the default build; run it with
+ * {@code mvn test -Pbenchmark}. Needs Docker; skipped without it.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+class AnswerRepositoryBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnswerRepositoryBenchmarkTest.class);
+
+    private static final int THREADS = 16;
+    private static final int WARMUP_SUBMISSIONS = 200;
+    private static final int SUBMISSIONS = 2000;
+    private static final int ANSWERS_PER_SUBMISSION = 10;
+
+    @Container
+    static final MSSQLServerContainer<?> SQL_SERVER =
+            new MSSQLServerContainer<>("mcr.microsoft.com/mssql/server:2022-latest").acceptLicense();
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", SQL_SERVER::getJdbcUrl);
+        registry.add("spring.datasource.username", SQL_SERVER::getUsername);
+        registry.add("spring.datasource.password", SQL_SERVER::getPassword);
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> THREADS);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+    }
+
+    @Autowired
+    private AnswerRepository answerRepository;
+
+    @Autowired
+    private AssessmentResultRepository assessmentResultRepository;
+
+    @Autowired
+    private AssessmentQuestionRepository assessmentQuestionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Long> questionIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        answerRepository.deleteAll();
+        assessmentResultRepository.deleteAll();
+        if (questionIds.isEmpty()) {
+            for (int i = 0; i < ANSWERS_PER_SUBMISSION; i++) {
+                AssessmentQuestion question = new AssessmentQuestion();
+                question.setQuestion("Benchmark question " + i);
+                question.setOrderIndex(i);
+                questionIds.add(assessmentQuestionRepository.save(question).getId());
+            }
+        }
+    }
+
+    @Test
+    void multiRowInsertSubmissionsPerSecond() throws Exception {
+        double perSecond = measure("insertAll", answerRepository::insertAll);
+
+        assertEquals((long) (WARMUP_SUBMISSIONS + SUBMISSIONS) * ANSWERS_PER_SUBMISSION, answerRepository.count());
+        logger.info("insertAll: {} submissions/s", String.format("%.1f", perSecond));
+    }
+
+    @Test
+    void rowByRowInsertSubmissionsPerSecond() throws Exception {
+        double perSecond = measure("saveAll", answerRepository::saveAll);
+
+        assertEquals((long) (WARMUP_SUBMISSIONS + SUBMISSIONS) * ANSWERS_PER_SUBMISSION, answerRepository.count());
+        logger.info("saveAll: {} submissions/s", String.format("%.1f", perSecond));
+    }
+
+    // Runs the warmup, then times SUBMISSIONS submissions from THREADS threads; submissions per second
+    private double measure(String label, Consumer<List<Answer>> insert) throws Exception {
+        run(WARMUP_SUBMISSIONS, insert);
+        long started = System.nanoTime();
+        run(SUBMISSIONS, insert);
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        logger.info("{}: {} submissions of {} answers in {} s", label, SUBMISSIONS, ANSWERS_PER_SUBMISSION,
+                String.format("%.2f", seconds));
+        return SUBMISSIONS / seconds;
+    }
+
+    private void run(int submissions, Consumer<List<Answer>> insert) throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < submissions; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    transactionTemplate.executeWithoutResult(status -> insert.accept(submit()));
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.MINUTES);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // Saves a result as submitAssessment does and returns its answers, still to be inserted
+    private List<Answer> submit() {
+        LocalDateTime now = LocalDateTime.now();
+        AssessmentResult result = new AssessmentResult();
+        result.setTotalScore(12);
+        result.setRiskLevel("MODERATE");
+        result.setCompletedAt(now);
+        result.setCreatedAt(now);
+        result = assessmentResultRepository.save(result);
+
+        List<Answer> answers = new ArrayList<>(ANSWERS_PER_SUBMISSION);
+        for (int i = 0; i < ANSWERS_PER_SUBMISSION; i++) {
+            Answer answer = new Answer();
+            answer.setAssessmentResultId(result.getId());
+            answer.setAssessmentQuestionId(questionIds.get(i));
+            answer.setAnswerValue(i % 4);
+            answer.setAnswerText("Option " + (i % 4));
+            answer.setCreatedAt(now);
+            answers.add(answer);
+        }
+        return answers;
+    }
+}
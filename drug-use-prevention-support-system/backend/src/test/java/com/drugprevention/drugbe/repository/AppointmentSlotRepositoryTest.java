@@ -0,0 +1,167 @@
+package com.drugprevention.drugbe.repository;
+
+import com.drugprevention.drugbe.entity.Appointment;
+import com.drugprevention.drugbe.service.AppointmentSlotReservationService;
+import com.drugprevention.drugbe.service.ConsultantAvailabilityIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MSSQLServerContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+/**
+ * Double-booking checks of the database guarantee: the (consultant_id, slot_start) unique key of
+ * appointment_slots, exercised through AppointmentSlotReservationService.record() against a real
+ * SQL Server. Thousands of bookings race for a few hot slots from many threads, as if each thread
+ * were a separate application instance whose in-memory claims see nothing of the others.
+ * Needs Docker; skipped without it.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(AppointmentSlotReservationService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+class AppointmentSlotRepositoryTest {
+
+    private static final int THREADS = 32;
+    private static final int ATTEMPTS = 4000;
+    private static final int HOT_SLOTS = 20;
+
+    private static final LocalDateTime FIRST_SLOT = LocalDateTime.of(2030, 1, 15, 8, 0);
+
+    @Container
+    static final MSSQLServerContainer<?> SQL_SERVER =
+            new MSSQLServerContainer<>("mcr.microsoft.com/mssql/server:2022-latest").acceptLicense();
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", SQL_SERVER::getJdbcUrl);
+        registry.add("spring.datasource.username", SQL_SERVER::getUsername);
+        registry.add("spring.datasource.password", SQL_SERVER::getPassword);
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> THREADS);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+    }
+
+    @Autowired
+    private AppointmentSlotReservationService reservationService;
+
+    @Autowired
+    private AppointmentSlotRepository appointmentSlotRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private ConsultantAvailabilityIndex availabilityIndex;
+
+    private final AtomicInteger nextAppointmentId = new AtomicInteger(1);
+
+    @BeforeEach
+    void setUp() {
+        appointmentSlotRepository.deleteAll();
+        when(availabilityIndex.getBookedHours(anyLong(), any(LocalDate.class)))
+                .thenReturn(ConsultantAvailabilityIndex.NOT_INDEXED);
+    }
+
+    @Test
+    void uniqueKeyAdmitsOneBookingPerSlot() throws Exception {
+        // record() only, as on instances whose in-memory claims do not see each other
+        int booked = book(attempt -> reservationService.record(appointment(FIRST_SLOT.plusHours(attempt % HOT_SLOTS))));
+
+        assertEquals(HOT_SLOTS, booked);
+        assertEquals(HOT_SLOTS, appointmentSlotRepository.count());
+    }
+
+    @Test
+    void claimAndRecordOnTwoInstancesAdmitOneBookingPerSlot() throws Exception {
+        AppointmentSlotReservationService otherInstance = new AppointmentSlotReservationService();
+        ReflectionTestUtils.setField(otherInstance, "appointmentSlotRepository", appointmentSlotRepository);
+        ReflectionTestUtils.setField(otherInstance, "appointmentRepository", appointmentRepository);
+        ReflectionTestUtils.setField(otherInstance, "availabilityIndex", availabilityIndex);
+
+        int booked = book(attempt -> {
+            AppointmentSlotReservationService instance = attempt % 2 == 0 ? reservationService : otherInstance;
+            Appointment appointment = appointment(FIRST_SLOT.plusHours(attempt % HOT_SLOTS));
+            instance.claim(appointment.getConsultantId(), appointment.getAppointmentDate());
+            instance.record(appointment);
+        });
+
+        assertEquals(HOT_SLOTS, booked);
+        assertEquals(HOT_SLOTS, appointmentSlotRepository.count());
+    }
+
+    // Runs every attempt in its own transaction from a pool of threads; returns how many committed
+    private int book(Booking booking) throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger committed = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < ATTEMPTS; i++) {
+                int attempt = i;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> booking.run(attempt));
+                        committed.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        assertEquals(AppointmentSlotReservationService.SLOT_TAKEN_MESSAGE, e.getMessage());
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return committed.get();
+    }
+
+    private Appointment appointment(LocalDateTime slot) {
+        Appointment appointment = new Appointment();
+        appointment.setId((long) nextAppointmentId.getAndIncrement());
+        appointment.setConsultantId(7L);
+        // Minutes vary but truncate to the same hour
+        appointment.setAppointmentDate(slot.plusMinutes(nextAppointmentId.get() % 60));
+        return appointment;
+    }
+
+    private interface Booking {
+        void run(int attempt);
+    }
+}
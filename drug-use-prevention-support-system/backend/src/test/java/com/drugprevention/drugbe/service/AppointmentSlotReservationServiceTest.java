@@ -0,0 +1,198 @@
+package com.drugprevention.drugbe.service;
+
+import com.drugprevention.drugbe.entity.Appointment;
+import com.drugprevention.drugbe.entity.AppointmentSlot;
+import com.drugprevention.drugbe.repository.AppointmentSlotRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Double-booking checks of the in-memory claim path (lock stripes and in-flight slots), without a database.
+ * Each worker thread opens transaction synchronization so its claim stays in flight until the
+ * test completes the "transaction".
+ */
+class AppointmentSlotReservationServiceTest {
+
+    private static final int THREADS = 32;
+    private static final int ROUNDS = 50;
+
+    private static final LocalDateTime SLOT = LocalDateTime.of(2030, 1, 15, 9, 0);
+
+    private AppointmentSlotReservationService service;
+    private ConsultantAvailabilityIndex availabilityIndex;
+    private AppointmentSlotRepository appointmentSlotRepository;
+    private ExecutorService pool;
+
+    @BeforeEach
+    void setUp() {
+        availabilityIndex = mock(ConsultantAvailabilityIndex.class);
+        when(availabilityIndex.getBookedHours(anyLong(), any(LocalDate.class)))
+                .thenReturn(ConsultantAvailabilityIndex.NOT_INDEXED);
+        service = new AppointmentSlotReservationService();
+        ReflectionTestUtils.setField(service, "availabilityIndex", availabilityIndex);
+        appointmentSlotRepository = mock(AppointmentSlotRepository.class);
+        ReflectionTestUtils.setField(service, "appointmentSlotRepository", appointmentSlotRepository);
+        pool = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void concurrentClaimsOfOneSlotAdmitExactlyOne() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            LocalDateTime slot = SLOT.plusHours(round);
+            // Minutes differ per thread but truncate to the same hour
+            List<Boolean> outcomes = claimConcurrently(i -> () -> {
+                service.claim(7L, slot.plusMinutes(i % 60));
+                return null;
+            });
+            assertEquals(1, outcomes.stream().filter(won -> won).count(), "round " + round);
+        }
+    }
+
+    @Test
+    void claimsOfDifferentConsultantsDoNotConflict() throws Exception {
+        // Consultant ids 64 apart share a lock stripe
+        List<Boolean> outcomes = claimConcurrently(i -> () -> {
+            service.claim(1L + i * 64L, SLOT);
+            return null;
+        });
+        assertEquals(THREADS, outcomes.stream().filter(won -> won).count());
+    }
+
+    @Test
+    void claimsOfDifferentHoursDoNotConflict() throws Exception {
+        List<Boolean> outcomes = claimConcurrently(i -> () -> {
+            service.claim(7L, SLOT.plusHours(i));
+            return null;
+        });
+        assertEquals(THREADS, outcomes.stream().filter(won -> won).count());
+    }
+
+    @Test
+    void slotIsReleasedWhenTheTransactionCompletes() throws Exception {
+        claimConcurrently(i -> () -> {
+            service.claim(7L, SLOT);
+            return null;
+        });
+        // Outside a transaction the claim is released immediately, so it can be repeated
+        assertDoesNotThrow(() -> service.claim(7L, SLOT));
+        assertDoesNotThrow(() -> service.claim(7L, SLOT));
+    }
+
+    @Test
+    void slotBookedInTheIndexIsRejected() {
+        when(availabilityIndex.getBookedHours(eq(7L), eq(SLOT.toLocalDate())))
+                .thenReturn(ConsultantAvailabilityIndex.bitOf(SLOT.getHour()));
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> service.claim(7L, SLOT));
+        assertEquals(AppointmentSlotReservationService.SLOT_TAKEN_MESSAGE, e.getMessage());
+        assertDoesNotThrow(() -> service.claim(7L, SLOT.plusHours(1)));
+    }
+
+    @Test
+    void rescheduleMovesTheSlotRowToTheNewHour() {
+        Appointment appointment = appointment(SLOT.plusHours(2), "RESCHEDULED");
+        service.move(appointment, "CONFIRMED", SLOT);
+
+        verify(appointmentSlotRepository).deleteByAppointmentId(5L);
+        ArgumentCaptor<AppointmentSlot> recorded = ArgumentCaptor.forClass(AppointmentSlot.class);
+        verify(appointmentSlotRepository).saveAndFlush(recorded.capture());
+        assertEquals(SLOT.plusHours(2), recorded.getValue().getSlotStart());
+        assertTrue(AppointmentSlotReservationService.needsNewSlot("CONFIRMED", SLOT, SLOT.plusHours(2)));
+    }
+
+    @Test
+    void rescheduleWithinTheHourKeepsTheSlotRow() {
+        service.move(appointment(SLOT.plusMinutes(30), "RESCHEDULED"), "PENDING", SLOT);
+
+        verify(appointmentSlotRepository, never()).deleteByAppointmentId(anyLong());
+        verify(appointmentSlotRepository, never()).saveAndFlush(any());
+        assertFalse(AppointmentSlotReservationService.needsNewSlot("PENDING", SLOT, SLOT.plusMinutes(30)));
+        assertTrue(AppointmentSlotReservationService.needsNewSlot("NO_SHOW", SLOT, SLOT.plusMinutes(30)));
+    }
+
+    // Runs one claim per thread, all started together and all held open until every claim was
+    // attempted; true for each claim that succeeded
+    private List<Boolean> claimConcurrently(ClaimFactory factory) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch attempted = new CountDownLatch(THREADS);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            Callable<Void> claim = factory.create(i);
+            futures.add(pool.submit(() -> {
+                TransactionSynchronizationManager.initSynchronization();
+                try {
+                    start.await();
+                    boolean won;
+                    try {
+                        claim.call();
+                        won = true;
+                    } catch (RuntimeException e) {
+                        assertEquals(AppointmentSlotReservationService.SLOT_TAKEN_MESSAGE, e.getMessage());
+                        won = false;
+                    }
+                    attempted.countDown();
+                    attempted.await(10, TimeUnit.SECONDS);
+                    return won;
+                } finally {
+                    for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                        synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+                    }
+                    TransactionSynchronizationManager.clearSynchronization();
+                }
+            }));
+        }
+        start.countDown();
+        List<Boolean> outcomes = new ArrayList<>();
+        for (Future<Boolean> future : futures) {
+            outcomes.add(future.get(30, TimeUnit.SECONDS));
+        }
+        return outcomes;
+    }
+
+    private static Appointment appointment(LocalDateTime date, String status) {
+        Appointment appointment = new Appointment();
+        appointment.setId(5L);
+        appointment.setConsultantId(7L);
+        appointment.setAppointmentDate(date);
+        appointment.setStatus(status);
+        return appointment;
+    }
+
+    private interface ClaimFactory {
+        Callable<Void> create(int thread);
+    }
+}
@@ -0,0 +1,164 @@
+package com.drugprevention.drugbe.service;
+
+import com.drugprevention.drugbe.dto.AssessmentSubmissionDTO.AnswerDTO;
+import com.drugprevention.drugbe.entity.Assessment;
+import com.drugprevention.drugbe.entity.AssessmentType;
+import com.drugprevention.drugbe.repository.AssessmentRepository;
+import com.drugprevention.drugbe.repository.AssessmentTypeRepository;
+import com.drugprevention.drugbe.service.AssessmentScoringEngine.CompiledAssessment;
+import com.drugprevention.drugbe.service.AssessmentScoringEngine.ScoreResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AssessmentScoringEngineTest {
+
+    private static final long CRAFFT = 1, ASSIST = 2, AUDIT = 3, DAST_10 = 4, GENERAL = 5, MISSING_TYPE = 6;
+
+    private AssessmentScoringEngine engine;
+    private AssessmentRepository assessmentRepository;
+    private AssessmentTypeRepository assessmentTypeRepository;
+
+    @BeforeEach
+    void setUp() {
+        assessmentRepository = mock(AssessmentRepository.class);
+        assessmentTypeRepository = mock(AssessmentTypeRepository.class);
+        when(assessmentTypeRepository.findAll()).thenReturn(List.of(
+                type(1L, "CRAFFT"), type(2L, "assist"), type(3L, "AUDIT"), type(4L, "DAST-10"), type(5L, "Wellbeing")));
+        when(assessmentRepository.findAll()).thenReturn(List.of(
+                assessment(CRAFFT, 1L), assessment(ASSIST, 2L), assessment(AUDIT, 3L),
+                assessment(DAST_10, 4L), assessment(GENERAL, 5L), assessment(MISSING_TYPE, 99L)));
+        engine = new AssessmentScoringEngine();
+        ReflectionTestUtils.setField(engine, "assessmentRepository", assessmentRepository);
+        ReflectionTestUtils.setField(engine, "assessmentTypeRepository", assessmentTypeRepository);
+    }
+
+    @Test
+    void crafftBands() {
+        assertRisk(CRAFFT, "LOW", 0, 0, 0, 0);
+        assertRisk(CRAFFT, "MEDIUM", 1, 1, 0, 0);
+        assertRisk(CRAFFT, "HIGH", 2, 1, 1, 0);
+    }
+
+    @Test
+    void auditBandUpperBoundsAreInclusive() {
+        assertRisk(AUDIT, "LOW", 7, 4, 3);
+        assertRisk(AUDIT, "MEDIUM", 8, 4, 4);
+        assertRisk(AUDIT, "MEDIUM", 15, 4, 4, 4, 3);
+        assertRisk(AUDIT, "HIGH", 19, 4, 4, 4, 4, 3);
+        assertRisk(AUDIT, "VERY HIGH", 20, 4, 4, 4, 4, 4);
+    }
+
+    @Test
+    void dastBands() {
+        assertRisk(DAST_10, "LOW", 1, 1, 0);
+        assertRisk(DAST_10, "MEDIUM", 3, 1, 1, 1);
+        assertRisk(DAST_10, "HIGH", 5, 1, 1, 1, 1, 1);
+        assertRisk(DAST_10, "VERY HIGH", 6, 1, 1, 1, 1, 1, 1);
+    }
+
+    @Test
+    void assistDistinguishesPastAndRecentUse() {
+        assertRisk(ASSIST, "LOW", 0, 0, 0, 0);
+        assertRisk(ASSIST, "LOW", 2, 2, 0, 0);
+        assertRisk(ASSIST, "MEDIUM", 3, 3, 0, 0);
+        assertRisk(ASSIST, "MEDIUM", 6, 3, 3, 0);
+        assertRisk(ASSIST, "HIGH", 18, 3, 3, 3, 3, 3, 3);
+
+        ScoreResult medium = score(ASSIST, 3, 2, 0);
+        assertEquals("Medium risk. You have used 2 types of substances, of which 1 types were used recently.",
+                medium.getRiskDescription());
+    }
+
+    @Test
+    void unknownInstrumentUsesTheGeneralTable() {
+        CompiledAssessment general = engine.getCompiledAssessment(GENERAL);
+        assertEquals("Wellbeing", general.getTypeName());
+        assertRisk(GENERAL, "TOTAL", 42, 40, 2);
+    }
+
+    @Test
+    void nullAnswerValuesCountAsZero() {
+        assertRisk(AUDIT, "LOW", 5, null, 5, null);
+    }
+
+    @Test
+    void emptyAnswersAreRejected() {
+        CompiledAssessment crafft = engine.getCompiledAssessment(CRAFFT);
+        assertThrows(RuntimeException.class, () -> crafft.score(List.of()));
+        assertThrows(RuntimeException.class, () -> crafft.score(null));
+    }
+
+    @Test
+    void assessmentsWithAMissingTypeAreNotScored() {
+        when(assessmentRepository.findById(MISSING_TYPE)).thenReturn(Optional.of(assessment(MISSING_TYPE, 99L)));
+        when(assessmentTypeRepository.findById(99L)).thenReturn(Optional.empty());
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> engine.getCompiledAssessment(MISSING_TYPE));
+        assertEquals("Assessment type not found", e.getMessage());
+        assertThrows(RuntimeException.class, () -> engine.getCompiledAssessment(null));
+    }
+
+    @Test
+    void tablesAreLoadedOnceAndReloadedAfterInvalidation() {
+        engine.getCompiledAssessment(CRAFFT);
+        engine.getCompiledAssessment(AUDIT);
+        verify(assessmentRepository, times(1)).findAll();
+
+        // Outside a transaction invalidation applies immediately
+        engine.invalidate();
+        engine.getCompiledAssessment(CRAFFT);
+        verify(assessmentRepository, times(2)).findAll();
+    }
+
+    @Test
+    void assessmentCreatedAfterLoadingIsCompiledOnDemand() {
+        engine.getCompiledAssessment(CRAFFT);
+        when(assessmentRepository.findById(50L)).thenReturn(Optional.of(assessment(50L, 3L)));
+        when(assessmentTypeRepository.findById(3L)).thenReturn(Optional.of(type(3L, "AUDIT")));
+
+        assertEquals("AUDIT", engine.getCompiledAssessment(50L).getTypeName());
+        assertEquals("MEDIUM", score(50L, 4, 4).getRiskLevel());
+        verify(assessmentRepository, times(1)).findById(50L);
+    }
+
+    private void assertRisk(long assessmentId, String riskLevel, int totalScore, Integer... values) {
+        ScoreResult result = score(assessmentId, values);
+        assertEquals(riskLevel, result.getRiskLevel());
+        assertEquals(totalScore, result.getTotalScore());
+    }
+
+    private ScoreResult score(long assessmentId, Integer... values) {
+        List<AnswerDTO> answers = new ArrayList<>();
+        for (int i = 0; i < values.length; i++) {
+            answers.add(new AnswerDTO((long) i + 1, values[i], null));
+        }
+        return engine.getCompiledAssessment(assessmentId).score(answers);
+    }
+
+    private static Assessment assessment(long id, Long typeId) {
+        Assessment assessment = new Assessment();
+        assessment.setId(id);
+        assessment.setTitle("Assessment " + id);
+        assessment.setAssessmentTypeId(typeId);
+        return assessment;
+    }
+
+    private static AssessmentType type(Long id, String name) {
+        AssessmentType type = new AssessmentType();
+        type.setId(id);
+        type.setName(name);
+        return type;
+    }
+}
@@ -0,0 +1,98 @@
+package com.drugprevention.drugbe.service;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of signing and validating tokens with JwtService. The perCall* methods repeat the
+ * old behaviour (decode the secret and build the key / parser for every token) as the baseline.
+ * Not picked up by surefire; run it with {@code mvn test-compile} and then {@link #main} from the
+ * IDE, or with {@code java -cp target/test-classes:target/classes:<test classpath>
+ * org.openjdk.jmh.Main JwtServiceBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "ThisIsAReallyLongAndSecureSecretKeyForJwtToken123456";
+    private static final long EXPIRATION = 86_400_000L;
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", EXPIRATION);
+        jwtService.init();
+        token = jwtService.generateToken("benchmark.user", "MEMBER");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken("benchmark.user", "MEMBER");
+    }
+
+    @Benchmark
+    public Claims validateToken() {
+        return jwtService.validateToken(token);
+    }
+
+    @Benchmark
+    public String perCallKeyGenerateToken() {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setClaims(Map.of("role", "MEMBER"))
+                .setSubject("benchmark.user")
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + EXPIRATION))
+                .signWith(perCallKey(), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    @Benchmark
+    public Claims perCallParserValidateToken() {
+        return Jwts.parserBuilder()
+                .setSigningKey(perCallKey())
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    private static Key perCallKey() {
+        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtServiceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
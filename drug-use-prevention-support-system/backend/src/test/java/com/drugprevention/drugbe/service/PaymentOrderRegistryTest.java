@@ -0,0 +1,45 @@
+package com.drugprevention.drugbe.service;
+
+import com.drugprevention.drugbe.service.PaymentOrderRegistry.OrderReference;
+import com.drugprevention.drugbe.service.PaymentOrderRegistry.OrderType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PaymentOrderRegistryTest {
+
+    @Test
+    void decodesTypeAndTarget() {
+        OrderReference reference = OrderReference.decode("A152T37");
+
+        assertEquals(OrderType.APPOINTMENT, reference.getType());
+        assertEquals(37L, reference.getTargetId());
+        assertNull(reference.getPaymentId());
+    }
+
+    @Test
+    void decodesReferenceWithoutTarget() {
+        OrderReference reference = OrderReference.decode("O99");
+
+        assertEquals(OrderType.OTHER, reference.getType());
+        assertNull(reference.getTargetId());
+    }
+
+    @Test
+    void encodeRoundTrips() {
+        for (String txnRef : new String[] {"A152T37", "C1T9000000000", "O99", "A9223372036854775807T1"}) {
+            OrderReference reference = OrderReference.decode(txnRef);
+            long orderNumber = Long.parseLong(txnRef.substring(1).split("T")[0]);
+            assertEquals(txnRef, reference.encode(orderNumber));
+        }
+    }
+
+    @Test
+    void rejectsTextNotInTheFormat() {
+        // Plain numeric references predate the format and are resolved from the payment row instead
+        for (String txnRef : new String[] {"123456", "X1T2", "A", "AT5", "A12T", "A12Tx", "Ax1T2", "A1T2T3"}) {
+            assertNull(OrderReference.decode(txnRef), txnRef);
+        }
+    }
+}
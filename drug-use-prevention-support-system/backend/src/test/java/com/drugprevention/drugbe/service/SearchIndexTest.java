@@ -0,0 +1,119 @@
+package com.drugprevention.drugbe.service;
+
+import com.drugprevention.drugbe.dto.SearchResultDTO;
+import com.drugprevention.drugbe.entity.Blog;
+import com.drugprevention.drugbe.entity.Course;
+import com.drugprevention.drugbe.repository.BlogRepository;
+import com.drugprevention.drugbe.repository.CourseContentRepository;
+import com.drugprevention.drugbe.repository.CourseLessonRepository;
+import com.drugprevention.drugbe.repository.CourseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SearchIndexTest {
+
+    private SearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        CourseRepository courseRepository = mock(CourseRepository.class);
+        BlogRepository blogRepository = mock(BlogRepository.class);
+        when(courseRepository.findAll()).thenReturn(List.of(
+                course(1L, "Phòng chống ma túy học đường", "Kiến thức cơ bản về ma túy", true),
+                course(2L, "Kỹ năng sống", "Từ chối áp lực bạn bè", true),
+                course(3L, "Ma túy tổng hợp", "Khóa học đã ngừng", false)));
+        when(blogRepository.findAll()).thenReturn(List.of(
+                blog(10L, "Tác hại của rượu bia", "Rượu bia ảnh hưởng sức khỏe và ma túy", "published"),
+                blog(11L, "Bản nháp về ma túy", "Chưa đăng", "draft")));
+        searchIndex = new SearchIndex();
+        ReflectionTestUtils.setField(searchIndex, "courseRepository", courseRepository);
+        ReflectionTestUtils.setField(searchIndex, "blogRepository", blogRepository);
+        ReflectionTestUtils.setField(searchIndex, "courseLessonRepository", mock(CourseLessonRepository.class));
+        ReflectionTestUtils.setField(searchIndex, "courseContentRepository", mock(CourseContentRepository.class));
+    }
+
+    @Test
+    void tokenizeFoldsCaseAndDiacriticsAndDropsDuplicates() {
+        assertEquals(List.of("ma", "tuy", "duong", "pho"), SearchIndex.tokenize("Ma túy, MA TUY! đường-phố"));
+        assertEquals(List.of("covid", "19"), SearchIndex.tokenize("  COVID-19  "));
+        assertEquals(List.of(), SearchIndex.tokenize("  ...  "));
+        assertEquals(List.of(), SearchIndex.tokenize(null));
+    }
+
+    @Test
+    void queryWithoutDiacriticsFindsAccentedText() {
+        assertEquals(List.of(1L), searchIndex.searchIds(SearchIndex.COURSE, "phong chong", null));
+    }
+
+    @Test
+    void everyTermMustMatch() {
+        assertEquals(List.of(), searchIndex.searchIds(SearchIndex.COURSE, "ma tuy ky nang", null));
+        assertEquals(List.of(2L), searchIndex.searchIds(SearchIndex.COURSE, "ky nang", null));
+    }
+
+    @Test
+    void termsMatchAsPrefixesOfTwoOrMoreCharacters() {
+        assertEquals(List.of(2L), searchIndex.searchIds(SearchIndex.COURSE, "nan", null));
+        assertEquals(List.of(), searchIndex.searchIds(SearchIndex.COURSE, "n", null));
+    }
+
+    @Test
+    void titleHitsOutrankBodyHits() {
+        List<SearchResultDTO> results = searchIndex.search("ma tuy", null, 10);
+
+        assertEquals(List.of(1L, 10L), results.stream().map(SearchResultDTO::getId).toList());
+        assertEquals(SearchIndex.COURSE, results.get(0).getType());
+    }
+
+    @Test
+    void searchSkipsUnpublishedButSearchIdsDoesNot() {
+        assertEquals(List.of(10L), searchIndex.search("ma tuy", SearchIndex.BLOG, 10).stream()
+                .map(SearchResultDTO::getId).toList());
+        assertEquals(Set.of(1L, 3L), new HashSet<>(searchIndex.searchIds(SearchIndex.COURSE, "ma tuy", null)));
+    }
+
+    @Test
+    void updatesAndRemovalsApplyToTheBuiltIndex() {
+        searchIndex.searchIds(SearchIndex.COURSE, "ma", null);
+        searchIndex.indexCourse(course(4L, "Ma túy và pháp luật", null, true));
+        searchIndex.remove(SearchIndex.COURSE, 1L);
+
+        assertEquals(List.of(4L), searchIndex.search("phap luat", SearchIndex.COURSE, 10).stream()
+                .map(SearchResultDTO::getId).toList());
+        assertEquals(List.of(), searchIndex.searchIds(SearchIndex.COURSE, "phong chong", null));
+    }
+
+    @Test
+    void limitCapsTheResults() {
+        assertEquals(1, searchIndex.search("ma tuy", null, 1).size());
+        assertEquals(List.of(), searchIndex.search("ma tuy", null, 0));
+    }
+
+    private static Course course(Long id, String title, String description, boolean active) {
+        Course course = new Course();
+        course.setId(id);
+        course.setTitle(title);
+        course.setDescription(description);
+        course.setIsActive(active);
+        return course;
+    }
+
+    private static Blog blog(Long id, String title, String content, String status) {
+        Blog blog = new Blog();
+        blog.setId(id);
+        blog.setTitle(title);
+        blog.setContent(content);
+        blog.setStatus(status);
+        blog.setIsActive(true);
+        return blog;
+    }
+}
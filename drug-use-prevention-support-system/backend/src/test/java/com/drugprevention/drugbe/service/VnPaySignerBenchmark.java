@@ -0,0 +1,141 @@
+package com.drugprevention.drugbe.service;
+
+import com.drugprevention.drugbe.config.VnPayConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of VNPay payment URL creation and callback validation through VnPayService and
+ * VnPaySigner. The perCallMac* methods repeat the old signing (Mac.getInstance and a new key per
+ * hash, Integer.toHexString per byte, string comparison) as the baseline; the old stdout prints
+ * are left out so only the signing cost is compared.
+ * Not picked up by surefire; run it with {@code mvn test-compile} and then {@link #main} from the
+ * IDE, or with {@code org.openjdk.jmh.Main VnPaySignerBenchmark} on the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VnPaySignerBenchmark {
+
+    private VnPayConfig vnPayConfig;
+    private VnPayService vnPayService;
+    private Map<String, String> orderParams;
+    private Map<String, String> callbackParams;
+    private String callbackHash;
+
+    @Setup
+    public void setUp() {
+        vnPayConfig = new VnPayConfig();
+        VnPaySigner signer = new VnPaySigner();
+        ReflectionTestUtils.setField(signer, "vnPayConfig", vnPayConfig);
+        signer.init();
+        vnPayService = new VnPayService();
+        ReflectionTestUtils.setField(vnPayService, "vnPayConfig", vnPayConfig);
+        ReflectionTestUtils.setField(vnPayService, "vnPaySigner", signer);
+
+        orderParams = new HashMap<>();
+        orderParams.put("vnp_Amount", "15000000");
+        orderParams.put("vnp_TxnRef", "A1042T98231");
+        orderParams.put("vnp_OrderInfo", "Thanh toan lich hen tu van #1042");
+        orderParams.put("vnp_OrderType", "other");
+
+        callbackParams = new HashMap<>();
+        callbackParams.put("vnp_Amount", "15000000");
+        callbackParams.put("vnp_BankCode", "NCB");
+        callbackParams.put("vnp_BankTranNo", "VNP14226112");
+        callbackParams.put("vnp_CardType", "ATM");
+        callbackParams.put("vnp_OrderInfo", "Thanh toan lich hen tu van #1042");
+        callbackParams.put("vnp_PayDate", "20301015093012");
+        callbackParams.put("vnp_ResponseCode", "00");
+        callbackParams.put("vnp_TmnCode", vnPayConfig.getTmnCode());
+        callbackParams.put("vnp_TransactionNo", "14226112");
+        callbackParams.put("vnp_TransactionStatus", "00");
+        callbackParams.put("vnp_TxnRef", "A1042T98231");
+        callbackHash = signer.sign(signer.canonicalQuery(callbackParams, false));
+        callbackParams.put("vnp_SecureHash", callbackHash);
+        callbackParams.put("vnp_SecureHashType", "HmacSHA512");
+    }
+
+    @Benchmark
+    public String createPaymentUrl() {
+        // createPaymentUrl adds the fixed parameters to the map it is given
+        return vnPayService.createPaymentUrl(new HashMap<>(orderParams));
+    }
+
+    @Benchmark
+    public boolean validateCallback() {
+        return vnPayService.validateVnPayResponse(callbackParams, callbackHash);
+    }
+
+    @Benchmark
+    public String perCallMacSignOrder() {
+        List<String> fieldNames = new ArrayList<>(orderParams.keySet());
+        Collections.sort(fieldNames);
+        StringBuilder hashData = new StringBuilder();
+        for (String name : fieldNames) {
+            hashData.append(name).append('=').append(orderParams.get(name)).append('&');
+        }
+        hashData.setLength(hashData.length() - 1);
+        return perCallMacHex(hashData.toString());
+    }
+
+    @Benchmark
+    public boolean perCallMacValidateCallback() {
+        List<String> fieldNames = new ArrayList<>(callbackParams.keySet());
+        Collections.sort(fieldNames);
+        StringBuilder hashData = new StringBuilder();
+        for (String name : fieldNames) {
+            if (name.equals("vnp_SecureHash") || name.equals("vnp_SecureHashType")) continue;
+            hashData.append(name).append('=').append(callbackParams.get(name)).append('&');
+        }
+        hashData.setLength(hashData.length() - 1);
+        return perCallMacHex(hashData.toString()).equalsIgnoreCase(callbackHash);
+    }
+
+    private String perCallMacHex(String data) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA512");
+            mac.init(new SecretKeySpec(vnPayConfig.getHashSecret().getBytes(StandardCharsets.UTF_8), "HmacSHA512"));
+            StringBuilder hash = new StringBuilder();
+            for (byte b : mac.doFinal(data.getBytes(StandardCharsets.UTF_8))) {
+                String hex = Integer.toHexString(0xff & b);
+                if (hex.length() == 1) hash.append('0');
+                hash.append(hex);
+            }
+            return hash.toString();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(VnPaySignerBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
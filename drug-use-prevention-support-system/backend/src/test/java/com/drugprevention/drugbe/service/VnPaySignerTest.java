@@ -0,0 +1,92 @@
+package com.drugprevention.drugbe.service;
+
+import com.drugprevention.drugbe.config.VnPayConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class VnPaySignerTest {
+
+    // HMAC-SHA512 test vector for key "key"
+    private static final String FOX = "The quick brown fox jumps over the lazy dog";
+    private static final String FOX_HMAC = "b42af09057bac1e2d41708e48a902e09b5ff7f12ab428a4fe86653c73dd248fb"
+            + "82f948a549f7b791a5b41915ee4d1ec3935357e4e2317250d0372afa2ebeeb3a";
+
+    private VnPaySigner signer;
+
+    @BeforeEach
+    void setUp() {
+        VnPayConfig config = mock(VnPayConfig.class);
+        when(config.getHashSecret()).thenReturn("key");
+        signer = new VnPaySigner();
+        ReflectionTestUtils.setField(signer, "vnPayConfig", config);
+        signer.init();
+    }
+
+    @Test
+    void signsWithHmacSha512() {
+        assertEquals(FOX_HMAC, signer.sign(FOX));
+        // The pooled Mac is reset between uses
+        assertEquals(FOX_HMAC, signer.sign(FOX));
+    }
+
+    @Test
+    void verifiesCaseInsensitiveHex() {
+        assertTrue(signer.verify(FOX, FOX_HMAC));
+        assertTrue(signer.verify(FOX, FOX_HMAC.toUpperCase()));
+    }
+
+    @Test
+    void rejectsWrongOrMalformedHashes() {
+        assertFalse(signer.verify(FOX + ".", FOX_HMAC));
+        assertFalse(signer.verify(FOX, FOX_HMAC.substring(1)));
+        assertFalse(signer.verify(FOX, FOX_HMAC.substring(2)));
+        assertFalse(signer.verify(FOX, "zz" + FOX_HMAC.substring(2)));
+        assertFalse(signer.verify(FOX, null));
+    }
+
+    @Test
+    void canonicalQuerySortsSkipsEmptyAndExcluded() {
+        Map<String, String> params = new LinkedHashMap<>();
+        params.put("vnp_TxnRef", "A1T2");
+        params.put("vnp_Amount", "1000000");
+        params.put("vnp_OrderInfo", "Thanh toan lich hen");
+        params.put("vnp_BankCode", "");
+        params.put("vnp_SecureHash", "abc");
+
+        assertEquals("vnp_Amount=1000000&vnp_OrderInfo=Thanh+toan+lich+hen&vnp_TxnRef=A1T2",
+                signer.canonicalQuery(params, true, "vnp_SecureHash"));
+        assertEquals("vnp_Amount=1000000&vnp_OrderInfo=Thanh toan lich hen&vnp_SecureHash=abc&vnp_TxnRef=A1T2",
+                signer.canonicalQuery(params, false));
+    }
+
+    @Test
+    void concurrentSigningAgrees() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 2000; i++) {
+                results.add(pool.submit(() -> FOX_HMAC.equals(signer.sign(FOX))));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
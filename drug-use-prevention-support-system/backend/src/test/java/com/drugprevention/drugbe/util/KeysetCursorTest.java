@@ -0,0 +1,87 @@
+package com.drugprevention.drugbe.util;
+
+import com.drugprevention.drugbe.dto.CursorPage;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KeysetCursorTest {
+
+    @Test
+    void encodedCursorSeeksBelowItsId() {
+        assertEquals(42L, KeysetCursor.afterId(KeysetCursor.encode(42L)));
+        assertEquals(Long.MAX_VALUE - 1, KeysetCursor.afterId(KeysetCursor.encode(Long.MAX_VALUE - 1)));
+    }
+
+    @Test
+    void firstPageStartsAboveEveryId() {
+        assertEquals(Long.MAX_VALUE, KeysetCursor.afterId(null));
+        assertEquals(Long.MAX_VALUE, KeysetCursor.afterId(""));
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        String notPrefixed = Base64.getUrlEncoder().encodeToString("42".getBytes(StandardCharsets.UTF_8));
+        String notNumeric = Base64.getUrlEncoder().encodeToString("id:abc".getBytes(StandardCharsets.UTF_8));
+        for (String cursor : List.of("!!not base64!!", notPrefixed, notNumeric)) {
+            RuntimeException e = assertThrows(RuntimeException.class, () -> KeysetCursor.afterId(cursor));
+            assertEquals("Invalid cursor", e.getMessage());
+        }
+    }
+
+    @Test
+    void limitDefaultsAndCaps() {
+        assertEquals(KeysetCursor.DEFAULT_LIMIT, KeysetCursor.limit(null));
+        assertEquals(KeysetCursor.DEFAULT_LIMIT, KeysetCursor.limit(0));
+        assertEquals(KeysetCursor.DEFAULT_LIMIT, KeysetCursor.limit(-5));
+        assertEquals(7, KeysetCursor.limit(7));
+        assertEquals(KeysetCursor.MAX_LIMIT, KeysetCursor.limit(KeysetCursor.MAX_LIMIT + 1));
+    }
+
+    @Test
+    void fetchAsksForOneRowMoreThanThePage() {
+        Pageable pageable = KeysetCursor.fetch(20);
+        assertEquals(0, pageable.getPageNumber());
+        assertEquals(21, pageable.getPageSize());
+    }
+
+    @Test
+    void fullFetchYieldsACursorAtTheLastItem() {
+        CursorPage<Long> page = KeysetCursor.page(List.of(10L, 9L, 8L, 7L), 3, Function.identity());
+
+        assertEquals(List.of(10L, 9L, 8L), page.getItems());
+        assertTrue(page.isHasMore());
+        assertEquals(8L, KeysetCursor.afterId(page.getNextCursor()));
+    }
+
+    @Test
+    void shortFetchIsTheLastPage() {
+        CursorPage<Long> exact = KeysetCursor.page(List.of(10L, 9L, 8L), 3, Function.identity());
+        CursorPage<Long> empty = KeysetCursor.page(List.<Long>of(), 3, Function.identity());
+
+        assertEquals(3, exact.getItems().size());
+        assertFalse(exact.isHasMore());
+        assertNull(exact.getNextCursor());
+        assertFalse(empty.isHasMore());
+    }
+
+    @Test
+    void mapKeepsTheCursor() {
+        CursorPage<Long> page = KeysetCursor.page(List.of(5L, 4L), 1, Function.identity());
+        CursorPage<String> mapped = page.map(ids -> ids.stream().map(String::valueOf).toList());
+
+        assertEquals(List.of("5"), mapped.getItems());
+        assertEquals(page.getNextCursor(), mapped.getNextCursor());
+        assertTrue(mapped.isHasMore());
+    }
+}
@@ -0,0 +1,115 @@
+package com.drugprevention.drugbe.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimingWheelTest {
+
+    private static final long TICK = 1000;
+    private static final int SIZE = 8;
+    private static final long START = 1_000_000;
+
+    @Test
+    void firesAtTheDeadlineAndNotBefore() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, SIZE, START);
+        wheel.schedule("a", START + 3000);
+
+        assertEquals(List.of(), wheel.advance(START + 2999));
+        assertEquals(List.of("a"), wheel.advance(START + 3000));
+        assertEquals(0, wheel.size());
+        assertEquals(List.of(), wheel.advance(START + 10_000));
+    }
+
+    @Test
+    void roundsDeadlinesUpToTheNextTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, SIZE, START);
+        wheel.schedule("a", START + 1001);
+
+        assertEquals(List.of(), wheel.advance(START + 1001));
+        assertEquals(List.of(), wheel.advance(START + 1999));
+        assertEquals(List.of("a"), wheel.advance(START + 2000));
+    }
+
+    @Test
+    void pastDeadlineFiresOnTheNextAdvance() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, SIZE, START);
+        wheel.advance(START + 5000);
+        wheel.schedule("late", START);
+
+        assertEquals(List.of("late"), wheel.advance(START + 5000));
+    }
+
+    @Test
+    void deadlinesBeyondTheWheelSpanCascade() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, SIZE, START);
+        // Span of the lowest wheel is 8 s; these land in the first and second overflow wheels
+        wheel.schedule("near", START + 20_000);
+        wheel.schedule("far", START + 200_000);
+
+        assertEquals(List.of(), wheel.advance(START + 19_999));
+        assertEquals(List.of("near"), wheel.advance(START + 20_000));
+        assertEquals(List.of(), wheel.advance(START + 199_999));
+        assertEquals(List.of("far"), wheel.advance(START + 200_000));
+    }
+
+    @Test
+    void rescheduleMovesAndCancelRemoves() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, SIZE, START);
+        wheel.schedule("moved", START + 2000);
+        wheel.schedule("moved", START + 50_000);
+        wheel.schedule("cancelled", START + 2000);
+
+        assertTrue(wheel.cancel("cancelled"));
+        assertFalse(wheel.cancel("cancelled"));
+        assertEquals(1, wheel.size());
+        assertEquals(List.of(), wheel.advance(START + 49_999));
+        assertEquals(List.of("moved"), wheel.advance(START + 50_000));
+    }
+
+    @Test
+    void scheduleIfAbsentKeepsTheExistingTimer() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, SIZE, START);
+        assertTrue(wheel.scheduleIfAbsent("a", START + 2000));
+        assertFalse(wheel.scheduleIfAbsent("a", START + 90_000));
+
+        assertEquals(List.of("a"), wheel.advance(START + 2000));
+        assertTrue(wheel.scheduleIfAbsent("a", START + 90_000));
+    }
+
+    @Test
+    void randomDeadlinesFireOnceAtTheirRoundedTick() {
+        Random random = new Random(42);
+        TimingWheel<Integer> wheel = new TimingWheel<>(TICK, SIZE, START);
+        Map<Integer, Long> deadlines = new HashMap<>();
+        for (int key = 0; key < 2000; key++) {
+            long deadline = START + random.nextInt(3_000_000);
+            deadlines.put(key, deadline);
+            wheel.schedule(key, deadline);
+        }
+
+        List<Integer> fired = new ArrayList<>();
+        for (long now = START; now <= START + 3_001_000; now += 250 + random.nextInt(5000)) {
+            for (Integer key : wheel.advance(now)) {
+                long due = deadlines.get(key);
+                long roundedDue = due % TICK == 0 ? due : due - due % TICK + TICK;
+                assertTrue(now >= roundedDue, "key " + key + " fired early");
+                fired.add(key);
+            }
+        }
+        fired.addAll(wheel.advance(START + 3_001_000));
+
+        assertEquals(deadlines.size(), fired.size());
+        assertEquals(deadlines.keySet(), new HashSet<>(fired));
+        assertEquals(0, wheel.size());
+    }
+}